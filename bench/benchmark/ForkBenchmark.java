@@ -0,0 +1,117 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import model.GameState;
+import model.MansionTemplate;
+import model.Room;
+import model.World;
+
+/**
+ * Measures what it costs to fork a game, take a snapshot of it and restore
+ * one, on generated mansions with a growing number of rooms and players.
+ * Every player has walked and picked up items before the game is measured.
+ *
+ * <p>Run with {@code java -cp <classes> benchmark.ForkBenchmark [rooms...]}.
+ */
+public class ForkBenchmark {
+  private static final int[] PLAYERS = {2, 8, 32};
+  private static final int WARMUP_OPS = 20000;
+  private static final int OPS = 50000;
+  private static final int RUNS = 5;
+
+  /**
+   * Entry point of the benchmark.
+   *
+   * @param args room counts of the generated mansions.
+   */
+  public static void main(String[] args) {
+    int[] sizes = args.length == 0
+        ? new int[] {100, 1000, 10000, 100000}
+        : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+    System.out.println("rooms,players,fork_us,snapshot_us,restore_us");
+    for (int size : sizes) {
+      MansionTemplate template = template(NeighborBenchmark.generate(size, new Random(size)));
+      for (int players : PLAYERS) {
+        World world = play(template, players);
+        GameState snapshot = world.snapshot();
+        World fork = world.fork(1);
+
+        double forkMicros = time(() -> world.fork(1));
+        double snapshotMicros = time(world::snapshot);
+        double restoreMicros = time(() -> {
+          fork.restore(snapshot);
+          return fork;
+        });
+        System.out.printf("%d,%d,%.3f,%.3f,%.3f%n", size, players,
+            forkMicros, snapshotMicros, restoreMicros);
+      }
+    }
+  }
+
+  /**
+   * A game on the template where every player has played a few turns.
+   */
+  private static World play(MansionTemplate template, int players) {
+    World world = new World(players);
+    world.initializeWorld(template);
+    world.setMaxTurn(Integer.MAX_VALUE);
+    world.startGame();
+    Random random = new Random(players);
+    for (int i = 0; i < players; i++) {
+      world.addPlayer("Player " + i, random.nextInt(template.getRoomCount()), false);
+    }
+    for (int i = 0; i < 10 * players && world.getTargetRemainingHealth() > 0; i++) {
+      world.playComputerTurn(world.getCurrentTurnPlayer());
+    }
+    return world;
+  }
+
+  private static MansionTemplate template(List<Room> roomList) {
+    String[] roomNames = new String[roomList.size()];
+    int[] locations = new int[4 * roomList.size()];
+    int side = 0;
+    for (int i = 0; i < roomNames.length; i++) {
+      roomNames[i] = roomList.get(i).getName();
+      System.arraycopy(roomList.get(i).getLocation(), 0, locations, 4 * i, 4);
+      side = Math.max(side, locations[4 * i + 2] + 1);
+    }
+    int itemCnt = (roomNames.length + 9) / 10;
+    String[] itemNames = new String[itemCnt];
+    int[] itemDamages = new int[itemCnt];
+    int[] itemRooms = new int[itemCnt];
+    for (int i = 0; i < itemCnt; i++) {
+      itemNames[i] = "Item " + i;
+      itemDamages[i] = i % 5 + 1;
+      itemRooms[i] = 10 * i;
+    }
+    return new MansionTemplate("Generated Mansion", side, side, "Doctor Lucky", 1000000,
+        "Fortune the Cat", roomNames, locations, itemNames, itemDamages, itemRooms);
+  }
+
+  /**
+   * Median time of one operation over a few runs after warming up, in microseconds.
+   */
+  private static double time(Supplier<Object> operation) {
+    Object sink = null;
+    for (int i = 0; i < WARMUP_OPS; i++) {
+      sink = operation.get();
+    }
+    double[] micros = new double[RUNS];
+    for (int run = 0; run < RUNS; run++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < OPS; i++) {
+        sink = operation.get();
+      }
+      micros[run] = (System.nanoTime() - start) / 1e3 / OPS;
+    }
+    if (sink == null) {
+      throw new IllegalStateException("Operation returned nothing.");
+    }
+    Arrays.sort(micros);
+    return micros[RUNS / 2];
+  }
+}
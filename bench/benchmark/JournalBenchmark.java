@@ -0,0 +1,160 @@
+package benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import model.ComputerStrategies;
+import model.GameJournal;
+import model.MansionTemplate;
+import model.MansionTemplateCache;
+import model.Player;
+import model.World;
+
+/**
+ * Measures what recording a game in a {@link GameJournal} adds to the time
+ * of a turn: computer players play on the mansion without a journal, with a
+ * journal committed in the background, and with a journal forced to disk
+ * after every turn, which is what group commit saves. The games with and
+ * without a journal take turns in short stretches, so that the machine
+ * slowing down or speeding up hits both alike. Besides the time of a turn,
+ * the processor time of the thread that plays is given, which leaves out
+ * the thread that commits: on a machine with one core the two share it.
+ *
+ * <p>Run with
+ * {@code java -cp <classes> benchmark.JournalBenchmark [turns [commit millis]]}.
+ */
+public class JournalBenchmark {
+  private static final String MAP = "res/map/mansion.txt";
+  private static final int STRETCH = 2000;
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+  /**
+   * Games played one after another, starting a new one whenever one ends.
+   */
+  private static final class Table {
+    private final MansionTemplate template;
+    private final GameJournal journal;
+    private World world;
+    private long games;
+    private long nanos;
+    private long cpuNanos;
+    private long turns;
+
+    Table(MansionTemplate template, GameJournal journal) {
+      this.template = template;
+      this.journal = journal;
+    }
+
+    void play(int count, boolean syncEveryTurn) {
+      long cpu = THREADS.getCurrentThreadCpuTime();
+      long start = System.nanoTime();
+      for (int i = 0; i < count; i++) {
+        if (world == null || world.getTargetRemainingHealth() <= 0) {
+          world = newGame();
+        }
+        Player player = world.getCurrentTurnPlayer();
+        int turn = world.getTurn();
+        world.playComputerTurn(player);
+        if (world.getTurn() == turn) {
+          world.updateTurn();
+        }
+        if (syncEveryTurn) {
+          journal.sync();
+        }
+      }
+      nanos += System.nanoTime() - start;
+      cpuNanos += THREADS.getCurrentThreadCpuTime() - cpu;
+      turns += count;
+    }
+
+    private World newGame() {
+      World game = new World(games++);
+      game.initializeWorld(template);
+      game.setJournal(journal);
+      game.setMaxTurn(Integer.MAX_VALUE);
+      game.addPlayer("Greedy", 0, ComputerStrategies.get("Greedy"));
+      game.addPlayer("Random", 7, false);
+      game.addPlayer("Intercept", 14, ComputerStrategies.get("Intercept"));
+      game.startGame();
+      return game;
+    }
+
+    double nanosPerTurn() {
+      return (double) nanos / turns;
+    }
+
+    double cpuNanosPerTurn() {
+      return (double) cpuNanos / turns;
+    }
+
+    void reset() {
+      nanos = 0;
+      cpuNanos = 0;
+      turns = 0;
+    }
+  }
+
+  /**
+   * Entry point of the benchmark.
+   *
+   * @param args the number of turns played with each journal, and the time
+   *     between two commits of the journal.
+   * @throws IOException if the map can not be read or the journal written.
+   */
+  public static void main(String[] args) throws IOException {
+    int turns = args.length == 0 ? 1000000 : Integer.parseInt(args[0]);
+    long commitMillis = args.length < 2
+        ? GameJournal.DEFAULT_COMMIT_MILLIS : Long.parseLong(args[1]);
+    MansionTemplate template = MansionTemplateCache.getShared().get(MAP);
+    Path file = Files.createTempFile("journal", ".bin");
+    Path syncedFile = Files.createTempFile("journal", ".bin");
+    Files.delete(file);
+    Files.delete(syncedFile);
+    try (GameJournal journal = GameJournal.open(file, commitMillis);
+        GameJournal synced = GameJournal.open(syncedFile, commitMillis)) {
+      Table plain = new Table(template, null);
+      Table grouped = new Table(template, journal);
+      Table syncing = new Table(template, synced);
+      // warm up
+      for (int i = 0; i < 50; i++) {
+        plain.play(STRETCH, false);
+        grouped.play(STRETCH, false);
+      }
+      syncing.play(STRETCH / 10, true);
+      plain.reset();
+      grouped.reset();
+      syncing.reset();
+      long flushes = journal.getFlushCount();
+      long syncs = synced.getFlushCount();
+
+      for (int played = 0; played < turns; played += STRETCH) {
+        plain.play(STRETCH, false);
+        grouped.play(STRETCH, false);
+      }
+      syncing.play(turns / 1000, true);
+
+      System.out.println("journal,turns,ns_per_turn,overhead_pct,"
+          + "cpu_ns_per_turn,cpu_overhead_pct,disk_flushes");
+      print("none", plain, plain, 0);
+      print("group_commit", grouped, plain, journal.getFlushCount() - flushes);
+      print("sync_every_turn", syncing, plain, synced.getFlushCount() - syncs);
+    } finally {
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(syncedFile);
+    }
+  }
+
+  private static void print(String name, Table table, Table plain, long flushes) {
+    System.out.printf(Locale.ROOT, "%s,%d,%.1f,%.1f,%.1f,%.1f,%d%n", name, table.turns,
+        table.nanosPerTurn(), percent(table.nanosPerTurn(), plain.nanosPerTurn()),
+        table.cpuNanosPerTurn(), percent(table.cpuNanosPerTurn(), plain.cpuNanosPerTurn()),
+        flushes);
+  }
+
+  private static double percent(double value, double base) {
+    return (value - base) * 100 / base;
+  }
+}
@@ -0,0 +1,97 @@
+package benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import model.BinaryMapFormat;
+import model.MansionTemplate;
+import model.Room;
+
+/**
+ * Compares loading a map from the text format with loading the same map
+ * compiled by {@link BinaryMapFormat}, on generated mansions of growing size.
+ *
+ * <p>Run with {@code java -cp <classes> benchmark.MapLoadBenchmark [rooms...]}.
+ */
+public class MapLoadBenchmark {
+  private static final int WARMUP = 3;
+  private static final int RUNS = 5;
+
+  /**
+   * Entry point of the benchmark.
+   *
+   * @param args room counts of the generated mansions.
+   * @throws IOException if the temporary map files can not be written.
+   */
+  public static void main(String[] args) throws IOException {
+    int[] sizes = args.length == 0
+        ? new int[] {1000, 10000, 100000}
+        : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+    System.out.println("rooms,text_kb,compiled_kb,text_ms,compiled_ms,speedup");
+    for (int size : sizes) {
+      Path text = Files.createTempFile("mansion", ".txt");
+      Path compiled = Files.createTempFile("mansion", ".map");
+      try {
+        writeText(NeighborBenchmark.generate(size, new Random(size)), text);
+        BinaryMapFormat.write(MansionTemplate.load(text.toString()), compiled.toString());
+
+        double textMillis = time(text.toString());
+        double compiledMillis = time(compiled.toString());
+        System.out.printf("%d,%d,%d,%.2f,%.2f,%.1f%n", size,
+            Files.size(text) / 1024, Files.size(compiled) / 1024,
+            textMillis, compiledMillis, textMillis / compiledMillis);
+      } finally {
+        Files.deleteIfExists(text);
+        Files.deleteIfExists(compiled);
+      }
+    }
+  }
+
+  /**
+   * Median wall time of loading a map a few times after warming up, in milliseconds.
+   */
+  private static double time(String pathToFile) throws IOException {
+    for (int i = 0; i < WARMUP; i++) {
+      MansionTemplate.load(pathToFile);
+    }
+    double[] millis = new double[RUNS];
+    for (int i = 0; i < RUNS; i++) {
+      long start = System.nanoTime();
+      MansionTemplate.load(pathToFile);
+      millis[i] = (System.nanoTime() - start) / 1e6;
+    }
+    Arrays.sort(millis);
+    return millis[RUNS / 2];
+  }
+
+  /**
+   * Write the rooms as a text map, with one item in every tenth room.
+   */
+  static void writeText(List<Room> roomList, Path path) throws IOException {
+    int side = 0;
+    for (Room room : roomList) {
+      side = Math.max(side, room.getLocation()[2] + 1);
+    }
+    try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      writer.write(side + " " + side + " Generated Mansion\n");
+      writer.write("50 Doctor Lucky\n");
+      writer.write("Fortune the Cat\n");
+      writer.write(roomList.size() + "\n");
+      for (Room room : roomList) {
+        int[] location = room.getLocation();
+        writer.write(String.format("%d %d %d %d %s\n",
+            location[0], location[1], location[2], location[3], room.getName()));
+      }
+      writer.write((roomList.size() + 9) / 10 + "\n");
+      for (int i = 0; i < roomList.size(); i += 10) {
+        writer.write(i + " " + (i % 5 + 1) + " Item " + i + "\n");
+      }
+    }
+  }
+}
@@ -0,0 +1,245 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import model.AdjacencyBuilder;
+import model.MansionTemplate;
+import model.Player;
+import model.Room;
+import model.World;
+
+/**
+ * Measures the time and the memory allocated by the hot paths of the model:
+ * parsing a map, setting up a world on it, finding the neighbors of the rooms,
+ * moving, looking around, checking whether an attack is seen, choosing the
+ * command of a computer player, drawing the map and listing the positions.
+ * It runs over the maps in {@code res/map} and over generated mansions of
+ * 1k, 10k and 100k rooms.
+ *
+ * <p>Allocation is read from the JVM's per-thread allocation counter, so the
+ * bytes per operation are exact up to the allocation buffers of the thread
+ * and need no profiler attached.
+ *
+ * <p>Run with {@code java -cp <classes> benchmark.ModelBenchmark [options] [rooms...]}.
+ * The options are {@code --maps <folder>}, {@code --baseline <csv>} to compare
+ * against the output of an earlier run, and {@code --tolerance <percent>},
+ * 25 by default, beyond which a slower or more allocating operation counts as
+ * a regression. With a baseline the benchmark exits with status 1 when any
+ * operation regressed.
+ */
+public class ModelBenchmark {
+  private static final long WARMUP_NANOS = 300_000_000L;
+  private static final long RUN_NANOS = 100_000_000L;
+  private static final int RUNS = 5;
+  private static final int PLAYERS = 4;
+  // drawing a mansion larger than this would take gigabytes of image
+  private static final int DRAW_LIMIT = 2000;
+  private static final String HEADER = "map,rooms,operation,ns_per_op,bytes_per_op";
+
+  private static final com.sun.management.ThreadMXBean THREADS = threads();
+  private static Object sink;
+
+  /**
+   * Entry point of the benchmark.
+   *
+   * @param args options and room counts of the generated mansions.
+   * @throws IOException if a map can not be read or written.
+   */
+  public static void main(String[] args) throws IOException {
+    String mapFolder = "res/map";
+    String baseline = null;
+    double tolerance = 25;
+    List<Integer> sizes = new ArrayList<>();
+    for (int i = 0; i < args.length; i++) {
+      if ("--maps".equals(args[i])) {
+        mapFolder = args[++i];
+      } else if ("--baseline".equals(args[i])) {
+        baseline = args[++i];
+      } else if ("--tolerance".equals(args[i])) {
+        tolerance = Double.parseDouble(args[++i]);
+      } else {
+        sizes.add(Integer.parseInt(args[i]));
+      }
+    }
+    if (sizes.isEmpty()) {
+      sizes = Arrays.asList(1000, 10000, 100000);
+    }
+    Map<String, double[]> expected = baseline == null ? null : readBaseline(baseline);
+
+    System.out.println(expected == null ? HEADER : HEADER + ",regression");
+    boolean regressed = false;
+    List<Path> maps;
+    try (Stream<Path> files = Files.list(Paths.get(mapFolder))) {
+      maps = files.filter(p -> p.toString().endsWith(".txt")).sorted()
+          .collect(Collectors.toList());
+    }
+    for (Path map : maps) {
+      regressed |= measureMap(map.getFileName().toString(), map, expected, tolerance);
+    }
+    for (int size : sizes) {
+      Path text = Files.createTempFile("mansion", ".txt");
+      try {
+        MapLoadBenchmark.writeText(NeighborBenchmark.generate(size, new Random(size)), text);
+        regressed |= measureMap("generated-" + size, text, expected, tolerance);
+      } finally {
+        Files.deleteIfExists(text);
+      }
+    }
+    if (regressed) {
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Measure every operation on one map and print a line for each.
+   *
+   * @return Whether any operation regressed against the baseline.
+   */
+  private static boolean measureMap(String name, Path path, Map<String, double[]> expected,
+                                    double tolerance) throws IOException {
+    String text = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    MansionTemplate template = MansionTemplate.parse(text);
+    World world = game(template);
+    List<Room> roomList = world.getMansion().getRoomList();
+
+    Map<String, Supplier<Object>> operations = new LinkedHashMap<>();
+    operations.put("parse", () -> MansionTemplate.parse(text));
+    operations.put("initializeWorld", () -> {
+      World fresh = new World(1);
+      fresh.initializeWorld(template);
+      return fresh;
+    });
+    operations.put("calculateNeighbor", () -> AdjacencyBuilder.sweep(roomList));
+    operations.put("movePlayer", () -> {
+      Player player = world.getCurrentTurnPlayer();
+      int[] neighbors = world.getNeighbors(player.getCurrentRoom());
+      return world.movePlayer(player, neighbors.length == 0 ? -1 : neighbors[0]);
+    });
+    operations.put("lookAround", () -> world.lookAround(world.getCurrentTurnPlayer()));
+    operations.put("attackCheck", () -> world.attackCheck(world.getCurrentTurnPlayer()));
+    operations.put("computerPlayerAction",
+        () -> world.computerPlayerAction(world.getCurrentTurnPlayer()));
+    if (template.getRoomCount() <= DRAW_LIMIT) {
+      operations.put("drawMap", world::drawMap);
+    }
+    operations.put("getPositions", world::getPositions);
+
+    boolean regressed = false;
+    for (Map.Entry<String, Supplier<Object>> operation : operations.entrySet()) {
+      double[] result = measure(operation.getValue());
+      StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%s,%d,%s,%.1f,%.1f",
+          name, template.getRoomCount(), operation.getKey(), result[0], result[1]));
+      if (expected != null) {
+        double[] before = expected.get(name + "," + operation.getKey());
+        boolean worse = before != null
+            && (result[0] > before[0] * (1 + tolerance / 100)
+            || result[1] > before[1] * (1 + tolerance / 100) + 16);
+        line.append(worse ? ",yes" : ",no");
+        regressed |= worse;
+      }
+      System.out.println(line);
+    }
+    return regressed;
+  }
+
+  /**
+   * A game on the template with computer players spread over the mansion and
+   * no turn limit.
+   */
+  private static World game(MansionTemplate template) {
+    World world = new World(PLAYERS);
+    world.initializeWorld(template);
+    world.setMaxTurn(Integer.MAX_VALUE);
+    world.startGame();
+    for (int i = 0; i < PLAYERS; i++) {
+      world.addPlayer("Player " + i, i * template.getRoomCount() / PLAYERS, false);
+    }
+    return world;
+  }
+
+  /**
+   * Median time and allocation of one operation over a few runs after
+   * warming up.
+   *
+   * @return The nanoseconds and bytes per operation.
+   */
+  private static double[] measure(Supplier<Object> operation) {
+    long ops = 0;
+    long start = System.nanoTime();
+    while (System.nanoTime() - start < WARMUP_NANOS) {
+      sink = operation.get();
+      ops++;
+    }
+    long opsPerRun = Math.max(1, ops * RUN_NANOS / WARMUP_NANOS);
+
+    double[] nanos = new double[RUNS];
+    double[] bytes = new double[RUNS];
+    long thread = Thread.currentThread().getId();
+    for (int run = 0; run < RUNS; run++) {
+      long allocated = allocatedBytes(thread);
+      long runStart = System.nanoTime();
+      for (long i = 0; i < opsPerRun; i++) {
+        sink = operation.get();
+      }
+      nanos[run] = (double) (System.nanoTime() - runStart) / opsPerRun;
+      bytes[run] = (double) (allocatedBytes(thread) - allocated) / opsPerRun;
+    }
+    if (sink == null) {
+      throw new IllegalStateException("Operation returned nothing.");
+    }
+    Arrays.sort(nanos);
+    Arrays.sort(bytes);
+    return new double[] {nanos[RUNS / 2], bytes[RUNS / 2]};
+  }
+
+  private static long allocatedBytes(long thread) {
+    return THREADS == null ? 0 : THREADS.getThreadAllocatedBytes(thread);
+  }
+
+  private static com.sun.management.ThreadMXBean threads() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+      if (threads.isThreadAllocatedMemorySupported()) {
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+      }
+    }
+    System.err.println("Allocation can not be measured on this JVM, it is reported as 0.");
+    return null;
+  }
+
+  /**
+   * Read the output of an earlier run, keyed by map and operation.
+   */
+  private static Map<String, double[]> readBaseline(String path) throws IOException {
+    Map<String, double[]> expected = new HashMap<>();
+    try (BufferedReader reader = Files.newBufferedReader(Paths.get(path))) {
+      String line = reader.readLine();
+      while ((line = reader.readLine()) != null) {
+        String[] fields = line.split(",");
+        if (fields.length >= 5) {
+          expected.put(fields[0] + "," + fields[2], new double[] {
+              Double.parseDouble(fields[3]), Double.parseDouble(fields[4])});
+        }
+      }
+    }
+    return expected;
+  }
+}
@@ -0,0 +1,106 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import model.AdjacencyBuilder;
+import model.Room;
+
+/**
+ * Compares the pairwise and the sweep neighbor builders on generated mansions
+ * of growing size, and checks that both find the same neighbors.
+ *
+ * <p>Run with {@code java -cp <classes> benchmark.NeighborBenchmark [rooms...]}.
+ */
+public class NeighborBenchmark {
+  private static final int WARMUP = 3;
+  private static final int RUNS = 5;
+  // the pairwise builder is only timed up to this size, it is too slow beyond
+  private static final int PAIRWISE_LIMIT = 20000;
+
+  /**
+   * Entry point of the benchmark.
+   *
+   * @param args room counts of the generated mansions.
+   */
+  public static void main(String[] args) {
+    int[] sizes = args.length == 0
+        ? new int[] {1000, 5000, 20000, 100000}
+        : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+    System.out.println("rooms,pairwise_ms,sweep_ms,speedup");
+    for (int size : sizes) {
+      List<Room> roomList = generate(size, new Random(size));
+
+      double sweep = time(() -> AdjacencyBuilder.sweep(roomList));
+      if (size > PAIRWISE_LIMIT) {
+        System.out.printf("%d,-,%.2f,-%n", size, sweep);
+        continue;
+      }
+      double pairwise = time(() -> AdjacencyBuilder.pairwise(roomList));
+      if (!Arrays.deepEquals(AdjacencyBuilder.pairwise(roomList),
+          AdjacencyBuilder.sweep(roomList))) {
+        throw new IllegalStateException("Builders disagree on " + size + " rooms");
+      }
+      System.out.printf("%d,%.2f,%.2f,%.1f%n", size, pairwise, sweep, pairwise / sweep);
+    }
+  }
+
+  /**
+   * Median wall time of a few runs after warming up, in milliseconds.
+   */
+  private static double time(Runnable task) {
+    for (int i = 0; i < WARMUP; i++) {
+      task.run();
+    }
+    double[] millis = new double[RUNS];
+    for (int i = 0; i < RUNS; i++) {
+      long start = System.nanoTime();
+      task.run();
+      millis[i] = (System.nanoTime() - start) / 1e6;
+    }
+    Arrays.sort(millis);
+    return millis[RUNS / 2];
+  }
+
+  /**
+   * Tile a square grid with the given number of rooms by repeatedly cutting
+   * the largest room in two along its longer side.
+   */
+  static List<Room> generate(int roomCnt, Random random) {
+    int side = (int) Math.ceil(Math.sqrt(roomCnt * 16.0));
+    PriorityQueue<int[]> queue = new PriorityQueue<>(
+        (a, b) -> Integer.compare(area(b), area(a)));
+    queue.add(new int[] {0, 0, side - 1, side - 1});
+
+    while (queue.size() < roomCnt) {
+      int[] r = queue.poll();
+      boolean cutRows = r[2] - r[0] >= r[3] - r[1];
+      int span = cutRows ? r[2] - r[0] : r[3] - r[1];
+      if (span == 0) {
+        queue.add(r);
+        break;
+      }
+      int cut = random.nextInt(span);
+      if (cutRows) {
+        queue.add(new int[] {r[0], r[1], r[0] + cut, r[3]});
+        queue.add(new int[] {r[0] + cut + 1, r[1], r[2], r[3]});
+      } else {
+        queue.add(new int[] {r[0], r[1], r[2], r[1] + cut});
+        queue.add(new int[] {r[0], r[1] + cut + 1, r[2], r[3]});
+      }
+    }
+
+    List<Room> roomList = new ArrayList<>();
+    for (int[] r : queue) {
+      roomList.add(new Room("Room " + roomList.size(), r, roomList.size()));
+    }
+    return roomList;
+  }
+
+  private static int area(int[] r) {
+    return (r[2] - r[0] + 1) * (r[3] - r[1] + 1);
+  }
+}
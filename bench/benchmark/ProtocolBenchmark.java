@@ -0,0 +1,56 @@
+package benchmark;
+
+import controller.server.ProtocolClient;
+import controller.server.ProtocolServer;
+import java.io.IOException;
+
+/**
+ * Measures how many commands per second a bot gets through the line protocol
+ * over loopback, waiting for every reply before the next command against
+ * sending the commands in batches of a growing size.
+ *
+ * <p>Run with {@code java -cp <classes> benchmark.ProtocolBenchmark [commands]}.
+ */
+public class ProtocolBenchmark {
+  private static final int[] BATCHES = {1, 8, 64, 512};
+
+  /**
+   * Entry point of the benchmark.
+   *
+   * @param args the number of commands sent for every batch size.
+   * @throws IOException if the server can not be reached.
+   */
+  public static void main(String[] args) throws IOException {
+    int commands = args.length == 0 ? 20000 : Integer.parseInt(args[0]);
+    System.out.println("batch,commands,commands_per_s,writes");
+    try (ProtocolServer server = new ProtocolServer(0)) {
+      server.start();
+      for (int batch : BATCHES) {
+        try (ProtocolClient client = new ProtocolClient(server.getPort())) {
+          client.call("map " + Integer.MAX_VALUE + " res/map/mansion.txt");
+          client.call("add human 1 Bot");
+          client.call("start");
+          // warm up
+          play(client, commands / 4, batch);
+          long writes = server.getWriteCount();
+          long start = System.nanoTime();
+          play(client, commands, batch);
+          double seconds = (System.nanoTime() - start) / 1e9;
+          System.out.printf("%d,%d,%.0f,%d%n", batch, commands, commands / seconds,
+              server.getWriteCount() - writes);
+        }
+      }
+    }
+  }
+
+  private static void play(ProtocolClient client, int commands, int batch) throws IOException {
+    for (int sent = 0; sent < commands; sent += batch) {
+      for (int i = 0; i < batch; i++) {
+        client.send("look around");
+      }
+      while (client.getPending() > 0) {
+        client.receive();
+      }
+    }
+  }
+}
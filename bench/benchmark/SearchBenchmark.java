@@ -0,0 +1,73 @@
+package benchmark;
+
+import java.util.Arrays;
+import model.MonteCarloSearch;
+import model.SearchStrategy;
+import model.World;
+
+/**
+ * Measures how many playouts per second {@link MonteCarloSearch} makes with a
+ * growing number of workers, to size the machines that run computer players.
+ *
+ * <p>Run with {@code java -cp <classes> benchmark.SearchBenchmark [map [budgetMillis]]}.
+ */
+public class SearchBenchmark {
+  private static final int PLAYERS = 4;
+  private static final int WARMUP_TURNS = 3;
+  private static final int TURNS = 10;
+
+  /**
+   * Entry point of the benchmark.
+   *
+   * @param args the map to play on and the time budget of a turn.
+   */
+  public static void main(String[] args) {
+    String map = args.length > 0 ? args[0] : "res/map/mansion.txt";
+    long budgetMillis = args.length > 1 ? Long.parseLong(args[1]) : 100;
+    int cores = Runtime.getRuntime().availableProcessors();
+
+    System.out.println("workers,playouts_per_second,playouts_per_second_per_worker");
+    for (int workers = 1; ; workers = Math.min(2 * workers, cores)) {
+      double perSecond = measure(map, budgetMillis, workers);
+      System.out.printf("%d,%.0f,%.0f%n", workers, perSecond, perSecond / workers);
+      if (workers == cores) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Playouts per second over a few turns played by searching computer players.
+   */
+  private static double measure(String map, long budgetMillis, int workers) {
+    MonteCarloSearch search = new MonteCarloSearch(budgetMillis, 0, workers, workers);
+    try {
+      World world = new World(workers);
+      world.initializeWorld(map);
+      world.setMaxTurn(Integer.MAX_VALUE);
+      world.startGame();
+      for (int i = 0; i < PLAYERS; i++) {
+        world.addPlayer("Player " + i, i * 3 % world.getRoomCnt(), new SearchStrategy(search));
+      }
+
+      double[] perSecond = new double[TURNS];
+      int measured = 0;
+      for (int turn = -WARMUP_TURNS; turn < TURNS; turn++) {
+        if (world.getTargetRemainingHealth() <= 0) {
+          break;
+        }
+        world.playComputerTurn(world.getCurrentTurnPlayer());
+        if (turn >= 0) {
+          perSecond[measured++] = search.getLastPlayoutsPerSecond();
+        }
+      }
+      if (measured == 0) {
+        throw new IllegalStateException("Target died before any turn was measured.");
+      }
+      Arrays.sort(perSecond, 0, measured);
+      return perSecond[measured / 2];
+    } finally {
+      search.shutdown();
+    }
+  }
+}
@@ -1,9 +1,11 @@
-import controller.Controller;
 import controller.GameController;
+import controller.metrics.ConsoleMetricsReporter;
+import controller.metrics.CsvMetricsReporter;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.file.Paths;
 import java.util.Scanner;
 import model.World;
 import model.WorldModel;
@@ -20,6 +22,10 @@ public class Driver {
    *
    * @param args          Game's playing mode is given through args.
    *                      For example, the CMD mode or the GUI mode.
+   *                      An optional second argument reports the timings of
+   *                      the game when it ends: "console" prints them, any
+   *                      other value is a CSV file to add them to, with the
+   *                      optional third argument as the label of the rows.
    */
   public static void main(String[] args) {
 
@@ -31,7 +37,12 @@ public class Driver {
     View view = viewFactory.createView(args[0], model);
 
     // initialize controller
-    Controller controller = new GameController(model, view);
+    GameController controller = new GameController(model, view);
+    if (args.length > 1) {
+      controller.setMetricsReporter("console".equals(args[1])
+          ? new ConsoleMetricsReporter()
+          : new CsvMetricsReporter(Paths.get(args[1]), args.length > 2 ? args[2] : "local"));
+    }
 
     controller.playGame();
   }
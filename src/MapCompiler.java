@@ -0,0 +1,45 @@
+import java.io.IOException;
+import model.BinaryMapFormat;
+import model.MansionTemplate;
+
+/**
+ * This class converts maps in the text format into compiled maps, which load
+ * without any parsing. The game accepts either kind of file as a map.
+ */
+public class MapCompiler {
+  /**
+   * Compiles each text map given into a file next to it with the
+   * {@code .map} extension, or into the path given after {@code -o}.
+   *
+   * @param args The text maps, for example {@code res/map/mansion.txt}, each
+   *             optionally followed by {@code -o <compiled map>}.
+   */
+  public static void main(String[] args) {
+    if (args.length == 0) {
+      System.out.println("Usage: MapCompiler <text map> [-o <compiled map>] ...");
+      return;
+    }
+
+    for (int i = 0; i < args.length; i++) {
+      String source = args[i];
+      String destination = source.replaceFirst("\\.txt$", "") + ".map";
+      if (i + 1 < args.length && "-o".equals(args[i + 1])) {
+        if (i + 2 >= args.length) {
+          System.out.println("Missing output path after -o");
+          return;
+        }
+        destination = args[i + 2];
+        i += 2;
+      }
+
+      try {
+        MansionTemplate template = MansionTemplate.load(source);
+        BinaryMapFormat.write(template, destination);
+        System.out.println(source + " -> " + destination + " ("
+            + template.getRoomCount() + " rooms, " + template.getItemCount() + " items)");
+      } catch (IOException | RuntimeException e) {
+        System.out.println("Failed to compile " + source + ": " + e.getMessage());
+      }
+    }
+  }
+}
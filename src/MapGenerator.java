@@ -0,0 +1,71 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import model.MansionGenerator;
+
+/**
+ * This class writes generated mansions in the text format, for trying the
+ * game and the benchmarks on maps of any size.
+ */
+public class MapGenerator {
+  /**
+   * Writes one generated mansion.
+   *
+   * @param args The number of rooms and the map file to write, followed by
+   *             any of {@code -seed <n>}, {@code -grid <rows> <columns>},
+   *             {@code -size <min side> <max side> <skew>},
+   *             {@code -items <items per room>} and
+   *             {@code -connectivity <chance>}.
+   */
+  public static void main(String[] args) {
+    if (args.length < 2) {
+      System.out.println("Usage: MapGenerator <rooms> <text map> [-seed <n>]"
+          + " [-grid <rows> <columns>] [-size <min> <max> <skew>] [-items <per room>]"
+          + " [-connectivity <chance>]");
+      return;
+    }
+
+    try {
+      long seed = 0;
+      for (int i = 2; i < args.length; i++) {
+        if ("-seed".equals(args[i])) {
+          seed = Long.parseLong(args[i + 1]);
+        }
+      }
+      MansionGenerator generator = new MansionGenerator(seed)
+          .withRoomCount(Integer.parseInt(args[0]));
+      for (int i = 2; i < args.length; i++) {
+        switch (args[i]) {
+          case "-seed":
+            i += 1;
+            break;
+          case "-grid":
+            generator.withGrid(Integer.parseInt(args[i + 1]), Integer.parseInt(args[i + 2]));
+            i += 2;
+            break;
+          case "-size":
+            generator.withRoomSize(Integer.parseInt(args[i + 1]),
+                Integer.parseInt(args[i + 2]), Double.parseDouble(args[i + 3]));
+            i += 3;
+            break;
+          case "-items":
+            generator.withItemDensity(Double.parseDouble(args[i + 1]));
+            i += 1;
+            break;
+          case "-connectivity":
+            generator.withConnectivity(Double.parseDouble(args[i + 1]));
+            i += 1;
+            break;
+          default:
+            throw new IllegalArgumentException("Unknown option " + args[i]);
+        }
+      }
+
+      long start = System.nanoTime();
+      generator.write(Paths.get(args[1]));
+      System.out.printf("%s (%s rooms) written in %d ms%n", args[1], args[0],
+          (System.nanoTime() - start) / 1_000_000);
+    } catch (IOException | RuntimeException e) {
+      System.out.println("Failed to generate " + args[1] + ": " + e.getMessage());
+    }
+  }
+}
@@ -56,6 +56,18 @@ public interface Controller {
    */
   boolean addPlayerGui(String name, int position, int capacity, boolean isHuman);
 
+  /**
+   * Add a computer player that chooses its commands with a named strategy to
+   * the GUI game version.
+   *
+   * @param name      name of the player
+   * @param position  initial position of the player
+   * @param capacity  the capacity of the player
+   * @param strategy  name of the strategy, as registered in ComputerStrategies
+   * @return          whether player successfully added
+   */
+  boolean addPlayerGui(String name, int position, int capacity, String strategy);
+
   /**
    * Start GUI game.
    */
@@ -5,17 +5,20 @@ import controller.command.LookAround;
 import controller.command.MovePet;
 import controller.command.MovePlayer;
 import controller.command.PickItem;
+import controller.metrics.GameMetrics;
+import controller.metrics.GameMetrics.Phase;
+import controller.metrics.MetricsReporter;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Scanner;
 import java.util.function.Function;
 import javax.imageio.ImageIO;
+import model.ComputerAction;
+import model.ComputerStrategies;
 import model.Player;
 import model.Room;
 import model.WorldModel;
@@ -35,8 +38,12 @@ public class GameController implements Controller {
   private Scanner humanInputScan;
   private Appendable out;
   private boolean isCmd;
+  // whether the game owns the console, and may save map.png and exit the program
+  private boolean isConsole;
   private final String reEnterPrompt = "Please enter again: ";
   private Map<String, Function<Scanner, Command>> knownCommands = new HashMap<>();
+  private final GameMetrics metrics = new GameMetrics();
+  private MetricsReporter reporter;
 
   /**
    * Game controller, control over the flow of the game.
@@ -45,34 +52,92 @@ public class GameController implements Controller {
    * @param view View.
    */
   public GameController(WorldModel model, View view) {
-    // validate world model
-    if (model == null) {
-      throw new IllegalArgumentException("Invalid model.");
-    }
-
     // validate view
     if (view == null) {
       throw new IllegalArgumentException("Invalid view.");
     }
 
-    this.model = model;
-    this.view = view;
-
-    knownCommands.put("look around", s -> new LookAround(out));
-    knownCommands.put("move", s -> new MovePlayer(scan, out));
-    knownCommands.put("move pet", s -> new MovePet(scan, out));
-    knownCommands.put("attack", s -> new Attack(scan, out));
-    knownCommands.put("pick item", s -> new PickItem(scan, out));
+    initialize(model, view);
 
     if (this.view instanceof NullView) {
       this.out = System.out;
       this.humanInputScan = new Scanner(System.in);
       this.scan = humanInputScan;
       this.isCmd = true;
+      this.isConsole = true;
     } else {
       view.connect(this);
       view.makeVisible();
-      view.refresh();
+      refresh();
+    }
+  }
+
+  /**
+   * Game controller for a game under command line that reads its input from
+   * and writes its output to the given streams instead of the console, so
+   * that many games can run at once in one program. It does not save the
+   * map to map.png.
+   *
+   * @param model World model.
+   * @param in    Where the commands of the players are read from.
+   * @param out   Where the prompts and the state of the game are written to.
+   */
+  public GameController(WorldModel model, Readable in, Appendable out) {
+    initialize(model, new NullView());
+    if (in == null || out == null) {
+      throw new IllegalArgumentException("Invalid input or output.");
+    }
+    this.out = out;
+    this.humanInputScan = new Scanner(in);
+    this.scan = humanInputScan;
+    this.isCmd = true;
+    this.isConsole = false;
+  }
+
+  /**
+   * Set up what every controller shares, without touching the console.
+   */
+  private void initialize(WorldModel model, View view) {
+    // validate world model
+    if (model == null) {
+      throw new IllegalArgumentException("Invalid model.");
+    }
+
+    this.model = model;
+    this.view = view;
+
+    knownCommands.put("look around", s -> new LookAround(out));
+    knownCommands.put("move", s -> new MovePlayer(scan, out));
+    knownCommands.put("move pet", s -> new MovePet(scan, out));
+    knownCommands.put("attack", s -> new Attack(scan, out));
+    knownCommands.put("pick item", s -> new PickItem(scan, out));
+  }
+
+  /**
+   * Gets the metrics of the games this controller played, which are always
+   * measured.
+   *
+   * @return The metrics.
+   */
+  public GameMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Set where the metrics are reported when a game ends.
+   *
+   * @param reporter The reporter, or null to not report them.
+   */
+  public void setMetricsReporter(MetricsReporter reporter) {
+    this.reporter = reporter;
+  }
+
+  /**
+   * Report the metrics as they are now, if a reporter is set.
+   */
+  public void reportMetrics() {
+    if (reporter != null) {
+      reporter.report(metrics);
     }
   }
 
@@ -181,19 +246,44 @@ public class GameController implements Controller {
     // add player to the game
     model.addPlayer(name, position - 1, isHuman);
 
-    view.refresh();
+    refresh();
+
+    return true;
+  }
+
+  @Override
+  public boolean addPlayerGui(String name, int position, int capacity, String strategy) {
+    try {
+      model.addPlayer(name, position - 1, ComputerStrategies.get(strategy));
+    } catch (IllegalArgumentException iae) {
+      return false;
+    }
+
+    refresh();
 
     return true;
   }
 
   /**
-   * Update current turn.
+   * Update current turn, timing the check. A game under the GUI reports its
+   * metrics once it is over.
    *
    * @return Whether turn runs up and game should exit.
    */
   private boolean checkTurn() {
+    long start = metrics.start();
+    metrics.turnReached(model.getTurn());
+    boolean over = checkTurnUsedUp();
+    metrics.record(Phase.CHECK_TURN, start);
+    if (over && !isCmd) {
+      reportMetrics();
+    }
+    return over;
+  }
+
+  private boolean checkTurnUsedUp() {
     if (model.checkTurnUsedUp()) {
-      System.out.append("Maximum turn reached! Doctor lucky escaped!");
+      print("Maximum turn reached! Doctor lucky escaped!");
       if (!(view instanceof NullView)) {
         view.gameOverHint("Maximum turn reached! Doctor lucky escaped!");
       }
@@ -204,7 +294,7 @@ public class GameController implements Controller {
           .append("Player ")
           .append(model.getCurrentTurnPlayer().getName())
           .append(" win the game!");
-      System.out.println(prompt.toString());
+      print(prompt.toString() + "\n");
       if (!(view instanceof NullView)) {
         view.gameOverHint(prompt.toString());
       }
@@ -214,6 +304,31 @@ public class GameController implements Controller {
     }
   }
 
+  /**
+   * Print a message to the output of a game under command line, or to the
+   * console under the GUI.
+   */
+  private void print(String message) {
+    if (!isCmd) {
+      System.out.print(message);
+      return;
+    }
+    try {
+      out.append(message);
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Append failed", ioe);
+    }
+  }
+
+  /**
+   * Redraw the view, timing it.
+   */
+  private void refresh() {
+    long start = metrics.start();
+    view.refresh();
+    metrics.record(Phase.REFRESH, start);
+  }
+
   /**
    * Save map when exit the game.
    */
@@ -232,6 +347,15 @@ public class GameController implements Controller {
    * Also displays the information of the room that the player current inside.
    */
   private void printTurnInfo() {
+    long start = metrics.start();
+    try {
+      appendTurnInfo();
+    } finally {
+      metrics.record(Phase.TURN_INFO, start);
+    }
+  }
+
+  private void appendTurnInfo() {
     try {
       out.append("\nTurn ")
           .append(String.valueOf(model.getTurn() + 1))
@@ -246,11 +370,8 @@ public class GameController implements Controller {
 
       Player player = model.getCurrentTurnPlayer();
       if (player.isHuman()) {
-        scan = humanInputScan;
         out.append("\nInformation of the current turn's human player: \n");
       } else {
-        Readable computerInput = model.computerPlayerAction(player);
-        scan = new Scanner(computerInput);
         out.append("\nInformation of the current turn's computer player: \n");
       }
       out.append(player.toString())
@@ -302,6 +423,41 @@ public class GameController implements Controller {
     }
   }
 
+  /**
+   * Turn the decision of a computer player into the matching command,
+   * which carries it out without reading any input.
+   *
+   * @param action The decision of the computer player.
+   * @return The command to apply.
+   */
+  private Command computerCommand(ComputerAction action) {
+    return commandFor(action, out);
+  }
+
+  /**
+   * Turn a command that is already decided, such as the decision of a
+   * computer player, into the matching command, which carries it out without
+   * reading any input.
+   *
+   * @param action The decided command.
+   * @param out    Where the command writes what happened.
+   * @return The command to apply.
+   */
+  public static Command commandFor(ComputerAction action, Appendable out) {
+    switch (action.getType()) {
+      case LOOK_AROUND:
+        return new LookAround(out);
+      case MOVE:
+        return new MovePlayer(action.getArgument(), out);
+      case MOVE_PET:
+        return new MovePet(action.getArgument(), out);
+      case PICK_ITEM:
+        return new PickItem(action.getArgument(), out);
+      default:
+        return new Attack(action.getArgument(), out);
+    }
+  }
+
   /**
    * Check if user input quit or q, if so, return true to tell caller
    * to exit the game.
@@ -327,30 +483,30 @@ public class GameController implements Controller {
    */
   public void playGameUnderCmd() {
 
-    Readable input = new InputStreamReader(System.in);
-    Appendable output = System.out;
+    Appendable output = out;
 
     // read user input: the mansion file, or direct string input
-    Reader fileReader;
     String pathToFile;
 
-    System.out.println("Please input path to the file: ");
-    pathToFile = new Scanner(System.in).nextLine();
-    model.initializeWorld(pathToFile);
-
     try {
-      fileReader = new FileReader(pathToFile);
+      output.append("Please input path to the file: \n");
+      if (!scan.hasNextLine()) {
+        return;
+      }
+      pathToFile = scan.nextLine();
+
+      // fail early on a path that can not be read
+      new FileReader(pathToFile).close();
       model.initializeWorld(pathToFile);
 
-      System.out.println("Successfully read in the file!\n\n"
-          + "Here are detailed information:");
+      output.append("Successfully read in the file!\n\n"
+          + "Here are detailed information:\n");
 
       output.append(model.toString());
 
       // read in max turn
       int maxTurn = 0;
       String inputString;
-      Scanner scan = new Scanner(System.in);
 
       output.append("What is the max turn of the game?\n");
       while (scan.hasNextLine()) {
@@ -375,8 +531,11 @@ public class GameController implements Controller {
       setMaxTurn(maxTurn);
 
     } catch (IOException e) {
-      System.out.println("There are problems with path to file, exit now.");
-      System.exit(1);
+      print("There are problems with path to file, exit now.\n");
+      if (isConsole) {
+        System.exit(1);
+      }
+      return;
     }
 
     // add player
@@ -384,8 +543,10 @@ public class GameController implements Controller {
       String inputLine;
 
       // auto save map
-      saveMap();
-      out.append("The graphical representation of the world is saved to map.png.\n");
+      if (isConsole) {
+        saveMap();
+        out.append("The graphical representation of the world is saved to map.png.\n");
+      }
 
       out.append("\nStart game by adding a player? "
           + "Enter y to add player and start, anything else to quit.\n");
@@ -447,24 +608,35 @@ public class GameController implements Controller {
       printTurnInfo();
       upDateCommands(model, knownCommands);
 
-      // handle user input command
-      while (scan.hasNextLine()) {
+      // handle user input command, computer players decide by themselves
+      while (true) {
         Command command;
-        String in = scan.nextLine();
+        Player player = model.getCurrentTurnPlayer();
 
-        if (quitCheck(in)) {
-          return;
-        }
+        if (player.isHuman()) {
+          if (!scan.hasNextLine()) {
+            return;
+          }
+          String in = scan.nextLine();
 
-        Function<Scanner, Command> cmd = knownCommands.getOrDefault(in, null);
-        if (cmd == null) {
-          out.append("Invalid input. Commands like [look around], [move], [pick item] expected.\n");
-          out.append(reEnterPrompt);
-          continue;
-        } else {
+          if (quitCheck(in)) {
+            return;
+          }
+
+          Function<Scanner, Command> cmd = knownCommands.getOrDefault(in, null);
+          if (cmd == null) {
+            out.append("Invalid input. "
+                + "Commands like [look around], [move], [pick item] expected.\n");
+            out.append(reEnterPrompt);
+            continue;
+          }
           command = cmd.apply(scan);
-          command.act(model);
+        } else {
+          command = computerCommand(model.computerPlayerAction(player));
         }
+        long start = metrics.start();
+        command.act(model);
+        metrics.recordCommand(command.getClass().getSimpleName(), start);
 
         // update turn returns whether turn runs up
         if (checkTurn()) {
@@ -480,11 +652,15 @@ public class GameController implements Controller {
   }
 
   /**
-   * Play game under command line.
+   * Play game under command line, and report the metrics when it ends.
    */
   public void playGame() {
     if (isCmd) {
-      playGameUnderCmd();
+      try {
+        playGameUnderCmd();
+      } finally {
+        reportMetrics();
+      }
     }
   }
 
@@ -502,7 +678,10 @@ public class GameController implements Controller {
 
     Player player = model.getCurrentTurnPlayer();
     StringBuilder stringBuilder = new StringBuilder();
-    if (!model.movePlayer(player, room.getId())) {
+    long start = metrics.start();
+    boolean moved = model.movePlayer(player, room.getId());
+    metrics.recordCommand("MovePlayer", start);
+    if (!moved) {
       stringBuilder.append("\nCan not move to room ")
           .append(room.getName())
           .append(", not neighbor of current room.\nPlease select again: ");
@@ -512,7 +691,7 @@ public class GameController implements Controller {
       stringBuilder.append("\nSuccessfully moved to room ")
           .append(room.getName()).append("!");
       System.out.println(stringBuilder.toString());
-      view.refresh();
+      refresh();
       if (checkTurn()) {
         model.gameOver();
         return;
@@ -530,6 +709,7 @@ public class GameController implements Controller {
 
     Function<Scanner, Command> cmd;
     StringBuilder output;
+    long start;
 
     Map<String, Integer> highestDamageItem;
     String itemName = "";
@@ -541,8 +721,11 @@ public class GameController implements Controller {
 
       case 'l':
         System.out.println("You choose to look around.");
-        System.out.println(model.lookAround(model.getCurrentTurnPlayer()));
-        view.refresh();
+        start = metrics.start();
+        String neighbors = model.lookAround(model.getCurrentTurnPlayer());
+        metrics.recordCommand("LookAround", start);
+        System.out.println(neighbors);
+        refresh();
         if (checkTurn()) {
           model.gameOver();
           return;
@@ -568,10 +751,12 @@ public class GameController implements Controller {
           itemIdx = entry.getValue();
         }
         output.append(itemName);
+        start = metrics.start();
         model.pickUpItem(model.getCurrentTurnPlayer(), itemIdx);
+        metrics.recordCommand("PickItem", start);
 
         System.out.println(output.toString());
-        view.refresh();
+        refresh();
         if (checkTurn()) {
           model.gameOver();
           return;
@@ -590,7 +775,9 @@ public class GameController implements Controller {
         if ("[Empty]".equals(items)) {
           output.append("\nYou hold no item, so you poke him in the eye.\n");
 
+          start = metrics.start();
           boolean isSuccess = model.attackWithHand();
+          metrics.recordCommand("Attack", start);
           if (!isSuccess) {
             output.append("Oops! Your attack was seen by others, attack failed.\n");
             return;
@@ -612,7 +799,9 @@ public class GameController implements Controller {
           }
           output.append(itemName);
 
+          start = metrics.start();
           boolean[] result = model.attackWithItem(model.getCurrentTurnPlayer(), itemIdx);
+          metrics.recordCommand("Attack", start);
           if (result[0]) {
             if (result[1]) {
               output.append("Oops! Your attack was seen by other, attack failed.\n");
@@ -629,7 +818,7 @@ public class GameController implements Controller {
           System.out.println(output);
         }
 
-        view.refresh();
+        refresh();
         if (checkTurn()) {
           model.gameOver();
           return;
@@ -645,7 +834,7 @@ public class GameController implements Controller {
   @Override
   public void initializeWorld(String pathToFile) {
     model.initializeWorld(pathToFile);
-    view.refresh();
+    refresh();
   }
 
 
@@ -659,7 +848,7 @@ public class GameController implements Controller {
     upDateCommands(model, knownCommands);
     printTurnInfo();
 
-    view.refresh();
+    refresh();
   }
 
   @Override
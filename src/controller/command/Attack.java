@@ -12,6 +12,7 @@ public class Attack implements Command {
 
   private final Scanner scan;
   private final Appendable out;
+  private final int index;
 
   /**
    * Default constructor.
@@ -22,6 +23,20 @@ public class Attack implements Command {
   public Attack(Scanner scan, Appendable out) {
     this.scan = scan;
     this.out = out;
+    this.index = -1;
+  }
+
+  /**
+   * Constructor for an attack that is already decided, such as a computer
+   * player's attack, so nothing needs to be read.
+   *
+   * @param index zero based index of the held item to use, -1 to attack with bare hand.
+   * @param out   where to append output.
+   */
+  public Attack(int index, Appendable out) {
+    this.scan = null;
+    this.out = out;
+    this.index = index;
   }
 
   @Override
@@ -31,32 +46,29 @@ public class Attack implements Command {
     }
 
     try {
-      String items = m.showItemsHold(m.getCurrentTurnPlayer());
-      if ("[Empty]".equals(items)) {
-        out.append("\nYou hold no item, so you poke him in the eye.\n");
-
-        boolean isSuccess = m.attackWithHand();
-        if (!isSuccess) {
-          out.append("Oops! Your attack was seen by others, attack failed.\n");
+      if (scan != null) {
+        String items = m.showItemsHold(m.getCurrentTurnPlayer());
+        if ("[Empty]".equals(items)) {
+          attackWithHand(m);
           return;
         }
-
-        out.append("Attack success! Target's remaining health: ")
-            .append(String.valueOf(m.getTargetRemainingHealth()))
-            .append("\n");
-        return;
-      } else  {
         out.append("\nHere are the items you hold: ")
             .append(items)
             .append("\nWhich one you want to use, enter index of item: ");
+      } else if (index < 0) {
+        attackWithHand(m);
+        return;
+      } else {
+        attackWithItem(m, index + 1);
+        return;
       }
 
       String next;
-      int index;
+      int itemIndex;
       while (scan.hasNextLine()) {
         next = scan.nextLine();
         try {
-          index = Integer.parseInt(next);
+          itemIndex = Integer.parseInt(next);
         } catch (NumberFormatException nfe) {
           out.append("Invalid index: ")
               .append(next)
@@ -64,23 +76,44 @@ public class Attack implements Command {
           continue;
         }
 
-        boolean[] result = m.attackWithItem(m.getCurrentTurnPlayer(), index - 1);
-        if (result[0]) {
-          if (result[1]) {
-            out.append("Oops! Your attack was seen by other, attack failed.\n");
-            return;
-          }
-          out.append("Attack success! Target's remaining health: ")
-              .append(String.valueOf(m.getTargetRemainingHealth()))
-              .append("\n");
+        if (attackWithItem(m, itemIndex)) {
           break;
-        } else {
-          out.append("Index out of bound.\n")
-              .append("Please enter again: ");
         }
+        out.append("Please enter again: ");
       }
     } catch (IOException ioe) {
       throw new IllegalStateException("Append failed", ioe);
     }
   }
+
+  private void attackWithHand(WorldModel m) throws IOException {
+    out.append("\nYou hold no item, so you poke him in the eye.\n");
+
+    boolean isSuccess = m.attackWithHand();
+    if (!isSuccess) {
+      out.append("Oops! Your attack was seen by others, attack failed.\n");
+      return;
+    }
+
+    out.append("Attack success! Target's remaining health: ")
+        .append(String.valueOf(m.getTargetRemainingHealth()))
+        .append("\n");
+  }
+
+  // returns whether the one based index points to a held item
+  private boolean attackWithItem(WorldModel m, int index) throws IOException {
+    boolean[] result = m.attackWithItem(m.getCurrentTurnPlayer(), index - 1);
+    if (!result[0]) {
+      out.append("Index out of bound.\n");
+      return false;
+    }
+    if (result[1]) {
+      out.append("Oops! Your attack was seen by other, attack failed.\n");
+      return true;
+    }
+    out.append("Attack success! Target's remaining health: ")
+        .append(String.valueOf(m.getTargetRemainingHealth()))
+        .append("\n");
+    return true;
+  }
 }
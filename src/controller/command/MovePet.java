@@ -11,6 +11,7 @@ import model.WorldModel;
 public class MovePet implements Command {
   private final Scanner scan;
   private final Appendable out;
+  private final int targetRoomId;
 
   /**
    * Default constructor.
@@ -21,6 +22,20 @@ public class MovePet implements Command {
   public MovePet(Scanner scan, Appendable out) {
     this.scan = scan;
     this.out = out;
+    this.targetRoomId = -1;
+  }
+
+  /**
+   * Constructor for a pet move that is already decided, such as a computer
+   * player's move, so nothing needs to be read.
+   *
+   * @param targetRoomId zero based id of the room to move the pet to.
+   * @param out          where to append output.
+   */
+  public MovePet(int targetRoomId, Appendable out) {
+    this.scan = null;
+    this.out = out;
+    this.targetRoomId = targetRoomId;
   }
 
   @Override
@@ -31,6 +46,10 @@ public class MovePet implements Command {
 
     int targetRoomId;
     try {
+      if (scan == null) {
+        move(m, this.targetRoomId + 1);
+        return;
+      }
       out.append("\nPlease enter the index of the room you want the pet move to: ");
       String next;
 
@@ -38,14 +57,9 @@ public class MovePet implements Command {
         next = scan.nextLine();
         try {
           targetRoomId = Integer.parseInt(next);
-          if (!m.movePet(targetRoomId - 1)) {
-            out.append("\nCan not move to room ")
-                .append(String.valueOf(targetRoomId))
-                .append(", index out of bound.\nPlease enter again: ");
+          if (!move(m, targetRoomId)) {
+            out.append("\nPlease enter again: ");
           } else {
-            out.append("\nSuccessfully moved pet to room ")
-                .append(String.valueOf(targetRoomId))
-                .append(".\n");
             break;
           }
 
@@ -57,4 +71,17 @@ public class MovePet implements Command {
       throw new IllegalStateException("Append failed", ioe);
     }
   }
+
+  private boolean move(WorldModel m, int targetRoomId) throws IOException {
+    if (!m.movePet(targetRoomId - 1)) {
+      out.append("\nCan not move to room ")
+          .append(String.valueOf(targetRoomId))
+          .append(", index out of bound.");
+      return false;
+    }
+    out.append("\nSuccessfully moved pet to room ")
+        .append(String.valueOf(targetRoomId))
+        .append(".\n");
+    return true;
+  }
 }
@@ -13,6 +13,7 @@ import model.WorldModel;
 public class MovePlayer implements Command {
   private final Scanner scan;
   private final Appendable out;
+  private final int targetRoomId;
 
   /**
    * Default constructor.
@@ -23,6 +24,20 @@ public class MovePlayer implements Command {
   public MovePlayer(Scanner scan, Appendable out) {
     this.scan = scan;
     this.out = out;
+    this.targetRoomId = -1;
+  }
+
+  /**
+   * Constructor for a move that is already decided, such as a computer
+   * player's move, so nothing needs to be read.
+   *
+   * @param targetRoomId zero based id of the room to move to.
+   * @param out          where to append output.
+   */
+  public MovePlayer(int targetRoomId, Appendable out) {
+    this.scan = null;
+    this.out = out;
+    this.targetRoomId = targetRoomId;
   }
 
   /**
@@ -38,6 +53,10 @@ public class MovePlayer implements Command {
 
     int targetRoomId;
     try {
+      if (scan == null) {
+        move(m, this.targetRoomId + 1);
+        return;
+      }
       out.append("Please select on map or enter the index of the room you want to move to: ");
       String next;
 
@@ -45,14 +64,9 @@ public class MovePlayer implements Command {
         next = scan.nextLine();
         try {
           targetRoomId = Integer.parseInt(next);
-          if (!m.movePlayer(m.getCurrentTurnPlayer(), targetRoomId - 1)) {
-            out.append("\nCan not move to room ")
-                .append(String.valueOf(targetRoomId))
-                .append(", not neighbor of current room.\nPlease select again: ");
+          if (!move(m, targetRoomId)) {
+            out.append("\nPlease select again: ");
           } else {
-            out.append("\nSuccessfully moved to room ")
-                .append(String.valueOf(targetRoomId))
-                .append(".\n");
             break;
           }
 
@@ -65,4 +79,16 @@ public class MovePlayer implements Command {
     }
   }
 
+  private boolean move(WorldModel m, int targetRoomId) throws IOException {
+    if (!m.movePlayer(m.getCurrentTurnPlayer(), targetRoomId - 1)) {
+      out.append("\nCan not move to room ")
+          .append(String.valueOf(targetRoomId))
+          .append(", not neighbor of current room.");
+      return false;
+    }
+    out.append("\nSuccessfully moved to room ")
+        .append(String.valueOf(targetRoomId))
+        .append(".\n");
+    return true;
+  }
 }
@@ -14,6 +14,7 @@ import model.WorldModel;
 public class PickItem implements Command {
   private final Scanner scan;
   private final Appendable out;
+  private final int index;
 
   /**
    * Default constructor.
@@ -24,6 +25,20 @@ public class PickItem implements Command {
   public PickItem(Scanner scan, Appendable out) {
     this.out = out;
     this.scan = scan;
+    this.index = -1;
+  }
+
+  /**
+   * Constructor for a pick that is already decided, such as a computer
+   * player's pick, so nothing needs to be read.
+   *
+   * @param index zero based index of the item in the room.
+   * @param out   where to append output.
+   */
+  public PickItem(int index, Appendable out) {
+    this.out = out;
+    this.scan = null;
+    this.index = index;
   }
 
   /**
@@ -37,6 +52,14 @@ public class PickItem implements Command {
     }
     Player player = m.getCurrentTurnPlayer();
     try {
+      if (scan == null) {
+        if (m.pickUpItem(player, this.index)) {
+          out.append("Successfully picked up item.\n");
+        } else {
+          out.append("Index out of bound.\n");
+        }
+        return;
+      }
       out.append("Here are available items: ")
           .append(m.showItemsInRoom(player))
           .append("\nWhich one you want to pick, enter index of item: ");
@@ -65,9 +88,5 @@ public class PickItem implements Command {
     } catch (IOException ioe) {
       throw new IllegalStateException("Append failed", ioe);
     }
-
-
-
-
   }
 }
@@ -0,0 +1,57 @@
+package controller.metrics;
+
+import controller.metrics.GameMetrics.Phase;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * The {@code ConsoleMetricsReporter} class writes metrics as a table meant to
+ * be read by people, with the durations in microseconds.
+ */
+public class ConsoleMetricsReporter implements MetricsReporter {
+  private final Appendable out;
+
+  /**
+   * Constructs a reporter that writes to standard output.
+   */
+  public ConsoleMetricsReporter() {
+    this(System.out);
+  }
+
+  /**
+   * Constructs a reporter.
+   *
+   * @param out Where to write.
+   * @throws IllegalArgumentException if out is null.
+   */
+  public ConsoleMetricsReporter(Appendable out) {
+    if (out == null) {
+      throw new IllegalArgumentException("Output can not be null.");
+    }
+    this.out = out;
+  }
+
+  @Override
+  public void report(GameMetrics metrics) {
+    try {
+      out.append(String.format("%nTurns: %d (%.1f per second)%n", metrics.getTurns(),
+          metrics.getTurnsPerSecond()));
+      out.append(String.format("%-14s %8s %10s %10s %10s %10s%n",
+          "", "count", "mean us", "p50 us", "p99 us", "max us"));
+      for (Phase phase : Phase.values()) {
+        row(phase.name().toLowerCase(Locale.ROOT), metrics.getHistogram(phase));
+      }
+      for (String type : metrics.getCommandTypes()) {
+        row("  " + type, metrics.getCommandHistogram(type));
+      }
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Append failed", ioe);
+    }
+  }
+
+  private void row(String name, LatencyHistogram histogram) throws IOException {
+    out.append(String.format("%-14s %8d %10.1f %10.1f %10.1f %10.1f%n", name,
+        histogram.getCount(), histogram.getMean() / 1e3, histogram.getPercentile(50) / 1e3,
+        histogram.getPercentile(99) / 1e3, histogram.getMax() / 1e3));
+  }
+}
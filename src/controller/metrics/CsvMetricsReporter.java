@@ -0,0 +1,114 @@
+package controller.metrics;
+
+import controller.metrics.GameMetrics.Phase;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * The {@code CsvMetricsReporter} class writes metrics as CSV rows, one for
+ * each phase of a turn, one for each type of command and one for the turns,
+ * all tagged with a label such as the release, so that the reports of many
+ * runs can be put in one file and charted. The header is written before the
+ * first report only, or for a file, only while the file is empty.
+ *
+ * <p>The columns are {@code label,metric,count,mean_us,p50_us,p90_us,p99_us,max_us};
+ * the row of the turns has the turns per second as its mean. Numbers are
+ * written the same in every locale, with a point before the decimals.
+ */
+public class CsvMetricsReporter implements MetricsReporter {
+  /**
+   * The first line of the output.
+   */
+  public static final String HEADER = "label,metric,count,mean_us,p50_us,p90_us,p99_us,max_us";
+
+  private final Appendable out;
+  private final Path file;
+  private final String label;
+  private boolean headerWritten;
+
+  /**
+   * Constructs a reporter.
+   *
+   * @param out          Where to write.
+   * @param label        The label of every row.
+   * @param writeHeader  Whether to write the header first, false when adding
+   *                     to a file that already has one.
+   * @throws IllegalArgumentException if out or label is null, or the label
+   *                                  holds a comma or line break.
+   */
+  public CsvMetricsReporter(Appendable out, String label, boolean writeHeader) {
+    this(out, null, label);
+    this.headerWritten = !writeHeader;
+  }
+
+  /**
+   * Constructs a reporter that adds every report to the end of a file,
+   * creating the file when it does not exist.
+   *
+   * @param file  The file to add to.
+   * @param label The label of every row.
+   * @throws IllegalArgumentException if file or label is null, or the label
+   *                                  holds a comma or line break.
+   */
+  public CsvMetricsReporter(Path file, String label) {
+    this(null, file, label);
+  }
+
+  private CsvMetricsReporter(Appendable out, Path file, String label) {
+    if (out == null && file == null || label == null) {
+      throw new IllegalArgumentException("Output and label can not be null.");
+    }
+    if (label.contains(",") || label.contains("\n")) {
+      throw new IllegalArgumentException("Label can not hold commas or line breaks.");
+    }
+    this.out = out;
+    this.file = file;
+    this.label = label;
+  }
+
+  @Override
+  public void report(GameMetrics metrics) {
+    if (file == null) {
+      write(out, metrics);
+      return;
+    }
+    try (Writer writer = Files.newBufferedWriter(file, StandardOpenOption.CREATE,
+        StandardOpenOption.APPEND)) {
+      headerWritten = Files.size(file) > 0;
+      write(writer, metrics);
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Can not write to " + file, ioe);
+    }
+  }
+
+  private void write(Appendable out, GameMetrics metrics) {
+    try {
+      if (!headerWritten) {
+        out.append(HEADER).append("\n");
+        headerWritten = true;
+      }
+      for (Phase phase : Phase.values()) {
+        row(out, phase.name().toLowerCase(Locale.ROOT), metrics.getHistogram(phase));
+      }
+      for (String type : metrics.getCommandTypes()) {
+        row(out, "command:" + type, metrics.getCommandHistogram(type));
+      }
+      out.append(String.format(Locale.ROOT, "%s,turns,%d,%.3f,,,,\n", label, metrics.getTurns(),
+          metrics.getTurnsPerSecond()));
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Append failed", ioe);
+    }
+  }
+
+  private void row(Appendable out, String metric, LatencyHistogram histogram)
+      throws IOException {
+    out.append(String.format(Locale.ROOT, "%s,%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f\n", label, metric,
+        histogram.getCount(), histogram.getMean() / 1e3, histogram.getPercentile(50) / 1e3,
+        histogram.getPercentile(90) / 1e3, histogram.getPercentile(99) / 1e3,
+        histogram.getMax() / 1e3));
+  }
+}
@@ -0,0 +1,190 @@
+package controller.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code GameMetrics} class measures where the controller spends its time
+ * while a game is played: a {@link LatencyHistogram} for each {@link Phase} of
+ * a turn, how many commands of each type were carried out and how long they
+ * took, and how many turns were played per second.
+ *
+ * <p>Measuring takes two reads of {@link System#nanoTime()} and a few array
+ * updates, so the metrics are always on. Like the controller, they are meant
+ * to be recorded into by one thread at a time.
+ */
+public final class GameMetrics {
+
+  /**
+   * The parts of a turn that are timed.
+   */
+  public enum Phase {
+    /**
+     * Carrying out the command of a player.
+     */
+    COMMAND,
+    /**
+     * Checking whether the game is over.
+     */
+    CHECK_TURN,
+    /**
+     * Printing the information of the next turn.
+     */
+    TURN_INFO,
+    /**
+     * Redrawing the view.
+     */
+    REFRESH
+  }
+
+  private final LatencyHistogram[] phases = new LatencyHistogram[Phase.values().length];
+  private final Map<String, LatencyHistogram> commands = new LinkedHashMap<>();
+  private long startNanos;
+  private long lastTurnNanos;
+  private int lastTurn;
+  private long turns;
+
+  /**
+   * Constructs metrics with nothing measured yet.
+   */
+  public GameMetrics() {
+    for (int i = 0; i < phases.length; i++) {
+      phases[i] = new LatencyHistogram();
+    }
+    reset();
+  }
+
+  /**
+   * Reads the clock at the start of something to be timed.
+   *
+   * @return The start time to pass to one of the record methods.
+   */
+  public long start() {
+    return System.nanoTime();
+  }
+
+  /**
+   * Counts the time from a start until now for a phase of a turn.
+   *
+   * @param phase      The phase.
+   * @param startNanos The time returned by {@link #start()}.
+   */
+  public void record(Phase phase, long startNanos) {
+    phases[phase.ordinal()].record(System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Counts a command carried out from a start until now, both as the
+   * {@link Phase#COMMAND} phase and under the type of the command.
+   *
+   * @param type       The type of the command.
+   * @param startNanos The time returned by {@link #start()}.
+   */
+  public void recordCommand(String type, long startNanos) {
+    long nanos = System.nanoTime() - startNanos;
+    phases[Phase.COMMAND.ordinal()].record(nanos);
+    LatencyHistogram histogram = commands.get(type);
+    if (histogram == null) {
+      histogram = new LatencyHistogram();
+      commands.put(type, histogram);
+    }
+    histogram.record(nanos);
+  }
+
+  /**
+   * Notes the turn the game is at, counting every turn passed since the
+   * turn noted before.
+   *
+   * @param turn The current turn.
+   */
+  public void turnReached(int turn) {
+    if (lastTurn < 0) {
+      // turns per second are counted from the first turn noted
+      startNanos = System.nanoTime();
+      lastTurnNanos = startNanos;
+      lastTurn = turn;
+    } else if (turn > lastTurn) {
+      turns += turn - lastTurn;
+      lastTurn = turn;
+      lastTurnNanos = System.nanoTime();
+    }
+  }
+
+  /**
+   * Gets the histogram of a phase.
+   *
+   * @param phase The phase.
+   * @return The histogram, which keeps counting.
+   */
+  public LatencyHistogram getHistogram(Phase phase) {
+    return phases[phase.ordinal()];
+  }
+
+  /**
+   * Gets the types of command carried out so far.
+   *
+   * @return The types, in the order they were first carried out.
+   */
+  public List<String> getCommandTypes() {
+    return Collections.unmodifiableList(new ArrayList<>(commands.keySet()));
+  }
+
+  /**
+   * Gets the histogram of a type of command.
+   *
+   * @param type The type of the command.
+   * @return The histogram, empty if no such command was carried out.
+   */
+  public LatencyHistogram getCommandHistogram(String type) {
+    LatencyHistogram histogram = commands.get(type);
+    return histogram == null ? new LatencyHistogram() : histogram;
+  }
+
+  /**
+   * Gets the number of commands of a type carried out.
+   *
+   * @param type The type of the command.
+   * @return The count.
+   */
+  public long getCommandCount(String type) {
+    LatencyHistogram histogram = commands.get(type);
+    return histogram == null ? 0 : histogram.getCount();
+  }
+
+  /**
+   * Gets the number of turns played.
+   *
+   * @return The number of turns.
+   */
+  public long getTurns() {
+    return turns;
+  }
+
+  /**
+   * Gets the turns played per second, from the first turn noted until the
+   * last turn was played.
+   *
+   * @return The turns per second, 0 before a turn was played.
+   */
+  public double getTurnsPerSecond() {
+    long nanos = lastTurnNanos - startNanos;
+    return turns == 0 || nanos <= 0 ? 0 : turns * 1e9 / nanos;
+  }
+
+  /**
+   * Forgets everything measured.
+   */
+  public void reset() {
+    for (LatencyHistogram histogram : phases) {
+      histogram.reset();
+    }
+    commands.clear();
+    startNanos = System.nanoTime();
+    lastTurnNanos = startNanos;
+    lastTurn = -1;
+    turns = 0;
+  }
+}
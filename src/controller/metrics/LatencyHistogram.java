@@ -0,0 +1,159 @@
+package controller.metrics;
+
+import java.util.Arrays;
+
+/**
+ * The {@code LatencyHistogram} class counts durations in buckets that grow
+ * with the duration, so that it takes a fixed, small array however long the
+ * durations are, and recording one is a few shifts and an array increment
+ * without any allocation or boxing.
+ *
+ * <p>Durations below {@value #SUB_BUCKETS} nanoseconds have a bucket each.
+ * Longer ones share every power of two between {@value #SUB_BUCKETS} buckets,
+ * so a percentile read back is at most 1/{@value #SUB_BUCKETS} off.
+ *
+ * <p>The buckets are only allocated once the first duration is counted, so a
+ * histogram that is never recorded into costs a few fields.
+ *
+ * <p>A histogram is meant to be recorded into by one thread. Other threads
+ * may read it at any time and see a recent count.
+ */
+public final class LatencyHistogram {
+  /**
+   * The number of buckets each power of two is split into.
+   */
+  public static final int SUB_BUCKETS = 16;
+  private static final int SUB_BITS = 4;
+  private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+  private long[] counts;
+  private long count;
+  private long total;
+  private long min = Long.MAX_VALUE;
+  private long max;
+
+  /**
+   * Counts a duration. Negative durations, which a clock going backwards can
+   * give, count as 0.
+   *
+   * @param nanos The duration in nanoseconds.
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    if (counts == null) {
+      counts = new long[BUCKETS];
+    }
+    counts[bucketOf(value)]++;
+    count++;
+    total += value;
+    if (value < min) {
+      min = value;
+    }
+    if (value > max) {
+      max = value;
+    }
+  }
+
+  /**
+   * Gets the number of durations counted.
+   *
+   * @return The count.
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Gets the sum of the durations counted.
+   *
+   * @return The total in nanoseconds.
+   */
+  public long getTotal() {
+    return total;
+  }
+
+  /**
+   * Gets the shortest duration counted.
+   *
+   * @return The minimum in nanoseconds, 0 if none was counted.
+   */
+  public long getMin() {
+    return count == 0 ? 0 : min;
+  }
+
+  /**
+   * Gets the longest duration counted.
+   *
+   * @return The maximum in nanoseconds.
+   */
+  public long getMax() {
+    return max;
+  }
+
+  /**
+   * Gets the average duration.
+   *
+   * @return The mean in nanoseconds, 0 if none was counted.
+   */
+  public double getMean() {
+    return count == 0 ? 0 : (double) total / count;
+  }
+
+  /**
+   * Gets the duration that a share of the counted durations do not exceed.
+   *
+   * @param percentile The share, from 0 to 100.
+   * @return The upper end of the bucket holding the percentile, no more than
+   *         the maximum, in nanoseconds; 0 if none was counted.
+   * @throws IllegalArgumentException if the percentile is out of range.
+   */
+  public long getPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile should be between 0 and 100.");
+    }
+    long[] buckets = counts;
+    if (count == 0 || buckets == null) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      seen += buckets[bucket];
+      if (seen >= rank) {
+        return Math.min(max, upperBoundOf(bucket));
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Forgets every duration counted.
+   */
+  public void reset() {
+    if (counts != null) {
+      Arrays.fill(counts, 0);
+    }
+    count = 0;
+    total = 0;
+    min = Long.MAX_VALUE;
+    max = 0;
+  }
+
+  static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int shift = exponent - SUB_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  static long upperBoundOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lower + (1L << shift) - 1;
+  }
+}
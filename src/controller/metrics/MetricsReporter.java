@@ -0,0 +1,16 @@
+package controller.metrics;
+
+/**
+ * The {@code MetricsReporter} interface is where the controller sends its
+ * {@link GameMetrics} when a game ends, or whenever it is asked to.
+ */
+public interface MetricsReporter {
+
+  /**
+   * Reports the metrics as they are now.
+   *
+   * @param metrics The metrics.
+   * @throws IllegalStateException if the report can not be written.
+   */
+  void report(GameMetrics metrics);
+}
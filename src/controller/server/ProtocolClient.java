@@ -0,0 +1,167 @@
+package controller.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code ProtocolClient} class plays a game on a {@link ProtocolServer},
+ * for bots and tests. Requests are sent in batches: {@link #send(String)}
+ * only queues a request, and the queue goes out in one write when a reply is
+ * asked for, so a bot can send a whole round of commands and then read all
+ * the replies, waiting for the server once.
+ */
+public class ProtocolClient implements Closeable {
+  private final Socket socket;
+  private final Writer out;
+  private final BufferedReader in;
+  private int pending;
+
+  /**
+   * The reply to one request.
+   */
+  public static final class Reply {
+    private final boolean ok;
+    private final String text;
+
+    Reply(boolean ok, String text) {
+      this.ok = ok;
+      this.text = text;
+    }
+
+    /**
+     * Tells whether the request went through.
+     *
+     * @return Whether the reply is {@code ok}.
+     */
+    public boolean isOk() {
+      return ok;
+    }
+
+    /**
+     * Gets the text of the reply.
+     *
+     * @return The lines of text, each ending with a line break.
+     */
+    public String getText() {
+      return text;
+    }
+
+    @Override
+    public String toString() {
+      return (ok ? "ok\n" : "error\n") + text;
+    }
+  }
+
+  /**
+   * Connects to a server on this machine.
+   *
+   * @param port The port of the server.
+   * @throws IOException if it can not connect.
+   */
+  public ProtocolClient(int port) throws IOException {
+    this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+    socket.setTcpNoDelay(true);
+    this.out = new BufferedWriter(
+        new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), 1 << 16);
+    this.in = new BufferedReader(
+        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8), 1 << 16);
+  }
+
+  /**
+   * Queues a request without waiting for its reply.
+   *
+   * @param request The request line.
+   * @throws IOException if sending fails.
+   * @throws IllegalArgumentException if the request holds a line break.
+   */
+  public void send(String request) throws IOException {
+    if (request.indexOf('\n') >= 0 || request.indexOf('\r') >= 0) {
+      throw new IllegalArgumentException("Request should be one line.");
+    }
+    out.write(request);
+    out.write('\n');
+    pending++;
+  }
+
+  /**
+   * Sends the queued requests without waiting for their replies.
+   *
+   * @throws IOException if sending fails.
+   */
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  /**
+   * Gets the number of requests sent whose replies were not read yet.
+   *
+   * @return The number of requests.
+   */
+  public int getPending() {
+    return pending;
+  }
+
+  /**
+   * Sends the queued requests and reads the reply to the oldest request not
+   * answered yet.
+   *
+   * @return The reply.
+   * @throws IOException if the connection fails or was closed.
+   * @throws IllegalStateException if no request waits for a reply.
+   */
+  public Reply receive() throws IOException {
+    if (pending == 0) {
+      throw new IllegalStateException("No request waits for a reply.");
+    }
+    out.flush();
+    String status = in.readLine();
+    if (status == null) {
+      throw new EOFException("Server closed the connection.");
+    }
+    int space = status.indexOf(' ');
+    if (space < 0) {
+      throw new IOException("Unexpected reply: " + status);
+    }
+    int lines = Integer.parseInt(status.substring(space + 1));
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < lines; i++) {
+      String line = in.readLine();
+      if (line == null) {
+        throw new EOFException("Server closed the connection.");
+      }
+      text.append(line).append('\n');
+    }
+    pending--;
+    return new Reply(status.startsWith("ok"), text.toString());
+  }
+
+  /**
+   * Sends one request and waits for its reply.
+   *
+   * @param request The request line.
+   * @return The reply.
+   * @throws IOException if the connection fails or was closed.
+   */
+  public Reply call(String request) throws IOException {
+    send(request);
+    Reply reply = null;
+    while (pending > 0) {
+      reply = receive();
+    }
+    return reply;
+  }
+
+  @Override
+  public void close() throws IOException {
+    socket.close();
+  }
+}
@@ -0,0 +1,374 @@
+package controller.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import model.World;
+import model.WorldModel;
+
+/**
+ * The {@code ProtocolServer} class plays games with programs rather than
+ * people, over a line protocol on a local TCP port. Every connection plays a
+ * game of its own. Requests and replies are UTF-8 lines:
+ * <pre>
+ * map &lt;max turn&gt; &lt;path to map&gt;   start a new game
+ * add human|computer &lt;room&gt; &lt;name&gt;
+ * start                              end adding players, computer players play
+ * look around
+ * move &lt;room&gt;
+ * move pet &lt;room&gt;
+ * pick item &lt;item&gt;                  as listed in the room
+ * attack [&lt;item&gt;]                   as held, none for bare hand
+ * turn                               whose turn it is and where everyone is
+ * quit                               close the connection after the reply
+ * </pre>
+ * Rooms and items are numbered from 1, as in the game under command line.
+ * Every request gets one reply, {@code ok <n>} or {@code error <n>} followed
+ * by {@code n} lines of text, in the order the requests came.
+ *
+ * <p>A client may send any number of requests without waiting for replies.
+ * One thread serves every connection with a selector: it reads what a client
+ * sent and hands every whole request line in it to a thread that plays the
+ * game, so that a long run of computer turns holds up no other connection.
+ * Once they are carried out, the selector sends all their replies in one
+ * write. Until then, and while a client does not take its replies, nothing
+ * more is read from it.
+ */
+public class ProtocolServer implements Closeable {
+  /**
+   * The port the server listens on when none is given.
+   */
+  public static final int DEFAULT_PORT = 5011;
+  /**
+   * The longest request line, in bytes.
+   */
+  public static final int MAX_LINE = 4096;
+
+  private final ServerSocketChannel serverChannel;
+  private final Selector selector;
+  private final Supplier<WorldModel> models;
+  // plays the requests of a connection, one batch at a time for each
+  private final ExecutorService games;
+  // connections whose requests were carried out, for the selector to answer
+  private final Queue<SelectionKey> played = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger connections = new AtomicInteger();
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong writes = new AtomicLong();
+  private Thread loop;
+  private volatile boolean closed;
+
+  /**
+   * The buffers and the game of one connection. While a thread plays its
+   * requests, the selector leaves the connection alone.
+   */
+  private static final class Connection {
+    private final ByteBuffer input = ByteBuffer.allocate(MAX_LINE);
+    private final StringBuilder replies = new StringBuilder();
+    private final ProtocolSession session;
+    private ByteBuffer output;
+
+    Connection(ProtocolSession session) {
+      this.session = session;
+    }
+  }
+
+  /**
+   * Constructs a server where every game is played on a new {@link World}.
+   *
+   * @param port The port to listen on, 0 for any free port.
+   * @throws IOException if the port can not be opened.
+   */
+  public ProtocolServer(int port) throws IOException {
+    this(port, World::new);
+  }
+
+  /**
+   * Constructs a server. It does not accept clients until started.
+   *
+   * @param port   The port to listen on, 0 for any free port.
+   * @param models Makes the model of every new game.
+   * @throws IOException if the port can not be opened.
+   */
+  public ProtocolServer(int port, Supplier<WorldModel> models) throws IOException {
+    if (models == null) {
+      throw new IllegalArgumentException("Invalid model supplier.");
+    }
+    this.models = models;
+    this.selector = Selector.open();
+    this.serverChannel = ServerSocketChannel.open();
+    serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    serverChannel.configureBlocking(false);
+    serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    ExecutorService virtual = SessionServer.newVirtualThreadExecutor();
+    this.games = virtual != null
+        ? virtual : Executors.newCachedThreadPool(SessionServer.platformThreads("protocol-game-"));
+  }
+
+  /**
+   * Starts serving clients on a thread of the server's own.
+   *
+   * @throws IllegalStateException if the server was started or closed before.
+   */
+  public synchronized void start() {
+    if (loop != null || closed) {
+      throw new IllegalStateException("Server was already started.");
+    }
+    loop = new Thread(this::serve, "protocol-server");
+    loop.setDaemon(true);
+    loop.start();
+  }
+
+  private void serve() {
+    try {
+      while (!closed) {
+        selector.select();
+        answerPlayed();
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          if (!key.isValid()) {
+            continue;
+          }
+          if (key.isAcceptable()) {
+            accept();
+            continue;
+          }
+          try {
+            if (key.isReadable()) {
+              read(key);
+            }
+            if (key.isValid() && key.isWritable()) {
+              write(key);
+            }
+          } catch (IOException ioe) {
+            // the client went away, which only ends its game
+            disconnect(key);
+          }
+        }
+      }
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Selector failed", ioe);
+    } finally {
+      for (SelectionKey key : selector.keys()) {
+        if (key.attachment() != null) {
+          disconnect(key);
+        }
+      }
+    }
+  }
+
+  private void accept() throws IOException {
+    SocketChannel channel = serverChannel.accept();
+    if (channel == null) {
+      return;
+    }
+    channel.configureBlocking(false);
+    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    channel.register(selector, SelectionKey.OP_READ, new Connection(new ProtocolSession(models)));
+    connections.incrementAndGet();
+  }
+
+  /**
+   * Hand every whole request line the client sent to a thread that plays
+   * them, reading nothing more from the client until they are answered.
+   */
+  private void read(SelectionKey key) throws IOException {
+    Connection connection = (Connection) key.attachment();
+    ByteBuffer input = connection.input;
+    if (((SocketChannel) key.channel()).read(input) < 0) {
+      disconnect(key);
+      return;
+    }
+
+    byte[] bytes = input.array();
+    int start = 0;
+    int end = input.position();
+    List<String> lines = new ArrayList<>();
+    for (int i = 0; i < end; i++) {
+      if (bytes[i] == '\n') {
+        int length = i > start && bytes[i - 1] == '\r' ? i - start - 1 : i - start;
+        lines.add(new String(bytes, start, length, StandardCharsets.UTF_8));
+        start = i + 1;
+      }
+    }
+    if (lines.isEmpty() && end == input.capacity()) {
+      connection.session.refuse("Request longer than " + MAX_LINE + " bytes.",
+          connection.replies);
+      input.clear();
+      send(key);
+      return;
+    }
+    input.limit(end).position(start);
+    input.compact();
+
+    if (!lines.isEmpty()) {
+      key.interestOps(0);
+      games.execute(() -> play(key, connection, lines));
+    }
+  }
+
+  /**
+   * Carry out requests of a connection, then let the selector send their
+   * replies. Requests after the one that ends the session are dropped.
+   */
+  private void play(SelectionKey key, Connection connection, List<String> lines) {
+    for (String line : lines) {
+      if (connection.session.isQuit()) {
+        break;
+      }
+      connection.session.handle(line, connection.replies);
+      requests.incrementAndGet();
+    }
+    played.add(key);
+    selector.wakeup();
+  }
+
+  private void answerPlayed() {
+    SelectionKey key;
+    while ((key = played.poll()) != null) {
+      if (!key.isValid()) {
+        continue;
+      }
+      try {
+        send(key);
+      } catch (IOException ioe) {
+        disconnect(key);
+      }
+    }
+  }
+
+  /**
+   * Send the replies of the connection in one write.
+   */
+  private void send(SelectionKey key) throws IOException {
+    Connection connection = (Connection) key.attachment();
+    connection.output = StandardCharsets.UTF_8.encode(CharBuffer.wrap(connection.replies));
+    connection.replies.setLength(0);
+    write(key);
+  }
+
+  /**
+   * Send the replies waiting, reading again once all of them went out.
+   */
+  private void write(SelectionKey key) throws IOException {
+    Connection connection = (Connection) key.attachment();
+    ((SocketChannel) key.channel()).write(connection.output);
+    writes.incrementAndGet();
+    if (connection.output.hasRemaining()) {
+      key.interestOps(SelectionKey.OP_WRITE);
+    } else if (connection.session.isQuit()) {
+      disconnect(key);
+    } else {
+      connection.output = null;
+      key.interestOps(SelectionKey.OP_READ);
+    }
+  }
+
+  private void disconnect(SelectionKey key) {
+    key.cancel();
+    key.attach(null);
+    try {
+      key.channel().close();
+    } catch (IOException ioe) {
+      // nothing left to do with it
+    }
+    connections.decrementAndGet();
+  }
+
+  /**
+   * Gets the port the server listens on.
+   *
+   * @return The port.
+   */
+  public int getPort() {
+    return serverChannel.socket().getLocalPort();
+  }
+
+  /**
+   * Gets the number of clients connected now.
+   *
+   * @return The number of connections.
+   */
+  public int getConnectionCount() {
+    return connections.get();
+  }
+
+  /**
+   * Gets the number of requests carried out.
+   *
+   * @return The number of requests.
+   */
+  public long getRequestCount() {
+    return requests.get();
+  }
+
+  /**
+   * Gets the number of writes made to send the replies. With pipelining
+   * clients it is far lower than the number of requests.
+   *
+   * @return The number of writes.
+   */
+  public long getWriteCount() {
+    return writes.get();
+  }
+
+  /**
+   * Stops the server, closing every connection.
+   */
+  @Override
+  public void close() throws IOException {
+    Thread serving;
+    synchronized (this) {
+      closed = true;
+      serving = loop;
+    }
+    selector.wakeup();
+    if (serving != null) {
+      try {
+        serving.join(5000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    games.shutdownNow();
+    serverChannel.close();
+    selector.close();
+  }
+
+  /**
+   * Runs a server until the program is stopped.
+   *
+   * @param args The port, {@value #DEFAULT_PORT} if left out.
+   * @throws IOException if the port can not be opened.
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+    try (ProtocolServer server = new ProtocolServer(port)) {
+      server.start();
+      System.out.println("Listening on " + InetAddress.getLoopbackAddress().getHostAddress()
+          + ":" + server.getPort());
+      server.loop.join();
+    }
+  }
+}
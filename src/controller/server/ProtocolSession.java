@@ -0,0 +1,304 @@
+package controller.server;
+
+import controller.GameController;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.function.Supplier;
+import model.ComputerAction;
+import model.Player;
+import model.WorldModel;
+
+/**
+ * The {@code ProtocolSession} class plays the game of one connection to the
+ * {@link ProtocolServer}: it carries out each request line and writes its
+ * reply. The game commands are the ones of the game under command line, with
+ * their argument on the same line, and are carried out by the same
+ * {@link controller.Command} classes, so they answer with the same text.
+ *
+ * <p>Computer players play as soon as their turn comes, and what they did is
+ * part of the reply to the request that came before. A session is used by
+ * one thread at a time, though not always the same one.
+ */
+final class ProtocolSession {
+  private final Supplier<WorldModel> models;
+  private final StringBuilder text = new StringBuilder();
+  private WorldModel model;
+  private boolean started;
+  private boolean over;
+  private boolean quit;
+
+  /**
+   * Constructs a session with no game yet.
+   *
+   * @param models Makes the model of every game started.
+   */
+  ProtocolSession(Supplier<WorldModel> models) {
+    this.models = models;
+  }
+
+  /**
+   * Tells whether the client asked to end the connection.
+   *
+   * @return Whether the session is over.
+   */
+  boolean isQuit() {
+    return quit;
+  }
+
+  /**
+   * Carries out one request and appends its reply.
+   *
+   * @param request The request line, without the line break.
+   * @param reply   Where the reply is appended.
+   */
+  void handle(String request, StringBuilder reply) {
+    text.setLength(0);
+    boolean ok;
+    try {
+      ok = execute(request.trim());
+    } catch (RuntimeException e) {
+      text.setLength(0);
+      text.append(e.getMessage());
+      ok = false;
+    }
+    appendReply(reply, ok, text);
+  }
+
+  /**
+   * Refuses a request that can not be read, ending the session.
+   *
+   * @param message Why it is refused.
+   * @param reply   Where the reply is appended.
+   */
+  void refuse(String message, StringBuilder reply) {
+    quit = true;
+    appendReply(reply, false, message);
+  }
+
+  /**
+   * Appends a reply: a status line with the number of lines of text, then
+   * the text without any blank lines at its start or end.
+   */
+  static void appendReply(StringBuilder reply, boolean ok, CharSequence text) {
+    int start = 0;
+    int end = text.length();
+    while (start < end && text.charAt(start) == '\n') {
+      start++;
+    }
+    while (end > start && text.charAt(end - 1) == '\n') {
+      end--;
+    }
+    int lines = start == end ? 0 : 1;
+    for (int i = start; i < end; i++) {
+      if (text.charAt(i) == '\n') {
+        lines++;
+      }
+    }
+    reply.append(ok ? "ok " : "error ").append(lines).append('\n');
+    if (lines > 0) {
+      reply.append(text, start, end).append('\n');
+    }
+  }
+
+  private boolean execute(String request) {
+    String[] words = request.split("\\s+", 4);
+    switch (words[0].toLowerCase(Locale.ROOT)) {
+      case "map":
+        return newGame(request);
+      case "add":
+        return addPlayer(request);
+      case "start":
+        return start();
+      case "turn":
+        if (model == null) {
+          return fail("There is no game, send map first.");
+        }
+        appendTurn();
+        return true;
+      case "quit":
+      case "q":
+        quit = true;
+        text.append("Exit game, have a nice day~");
+        return true;
+      default:
+        return play(words);
+    }
+  }
+
+  private boolean fail(String message) {
+    text.append(message);
+    return false;
+  }
+
+  private boolean newGame(String request) {
+    String[] parts = request.split("\\s+", 3);
+    if (parts.length < 3) {
+      return fail("Expected: map <max turn> <path to map>");
+    }
+    int maxTurn = number(parts[1]);
+    if (maxTurn <= 0) {
+      return fail("Invalid max turn, one positive integer expected.");
+    }
+    try {
+      // fail early on a path that can not be read
+      new FileReader(parts[2]).close();
+    } catch (IOException e) {
+      return fail("There are problems with path to file.");
+    }
+    WorldModel world = models.get();
+    world.initializeWorld(parts[2]);
+    world.setMaxTurn(maxTurn);
+    model = world;
+    started = false;
+    over = false;
+    text.append("Successfully read in the file with ")
+        .append(model.getRoomCnt()).append(" rooms.");
+    return true;
+  }
+
+  private boolean addPlayer(String request) {
+    String[] parts = request.split("\\s+", 4);
+    if (model == null) {
+      return fail("There is no game, send map first.");
+    }
+    if (started) {
+      return fail("The game has started, players can not join any more.");
+    }
+    if (parts.length < 4) {
+      return fail("Expected: add human|computer <room> <name>");
+    }
+    boolean isHuman;
+    if ("human".equalsIgnoreCase(parts[1]) || "h".equalsIgnoreCase(parts[1])) {
+      isHuman = true;
+    } else if ("computer".equalsIgnoreCase(parts[1]) || "c".equalsIgnoreCase(parts[1])) {
+      isHuman = false;
+    } else {
+      return fail("Undetectable input: " + parts[1]);
+    }
+    int room = number(parts[2]);
+    if (room < 1 || room > model.getRoomCnt()) {
+      return fail("Invalid position: " + parts[2] + ", should be in range 1 to "
+          + model.getRoomCnt() + ".");
+    }
+    model.addPlayer(parts[3], room - 1, isHuman);
+    text.append("One player added successfully!");
+    return true;
+  }
+
+  private boolean start() {
+    if (model == null) {
+      return fail("There is no game, send map first.");
+    }
+    if (started) {
+      return fail("The game has already started.");
+    }
+    if (model.getPlayerCount() == 0) {
+      return fail("Add a player before starting.");
+    }
+    started = true;
+    model.startGame();
+    text.append("All players loaded, game starts now!\n");
+    if (!checkOver()) {
+      playComputers();
+    }
+    appendTurn();
+    return true;
+  }
+
+  /**
+   * Carries out a command of the human player whose turn it is, and then the
+   * commands of the computer players after them.
+   */
+  private boolean play(String[] words) {
+    ComputerAction action;
+    String command = words[0].toLowerCase(Locale.ROOT);
+    String second = words.length > 1 ? words[1].toLowerCase(Locale.ROOT) : "";
+    if ("look".equals(command) && "around".equals(second) && words.length == 2) {
+      action = ComputerAction.lookAround();
+    } else if ("move".equals(command) && "pet".equals(second) && words.length == 3) {
+      action = ComputerAction.movePet(number(words[2]) - 1);
+    } else if ("move".equals(command) && words.length == 2) {
+      action = ComputerAction.move(number(words[1]) - 1);
+    } else if ("pick".equals(command) && "item".equals(second) && words.length == 3) {
+      action = ComputerAction.pickItem(number(words[2]) - 1);
+    } else if ("attack".equals(command) && words.length <= 2) {
+      // no item, or item 0, is an attack with bare hand
+      action = ComputerAction.attack(words.length == 1 ? -1 : number(words[1]) - 1);
+    } else {
+      return fail("Invalid input. Commands like [look around], [move 2], [move pet 3], "
+          + "[pick item 1], [attack 1] expected.");
+    }
+
+    if (model == null || !started) {
+      return fail("The game has not started, send start first.");
+    }
+    if (over) {
+      return fail("The game is over.");
+    }
+    int turn = model.getTurn();
+    GameController.commandFor(action, text).act(model);
+    boolean done = model.getTurn() != turn;
+    if (!checkOver() && done) {
+      playComputers();
+    }
+    return done;
+  }
+
+  private void playComputers() {
+    Player player = model.getCurrentTurnPlayer();
+    while (!player.isHuman()) {
+      int turn = model.getTurn();
+      text.append("\nComputer player ").append(player.getName()).append(":\n");
+      GameController.commandFor(model.computerPlayerAction(player), text).act(model);
+      if (model.getTurn() == turn) {
+        // the command did not go through, count it as waiting a turn
+        model.updateTurn();
+      }
+      if (checkOver()) {
+        return;
+      }
+      player = model.getCurrentTurnPlayer();
+    }
+  }
+
+  /**
+   * Checks whether the game ended, saying how it ended.
+   */
+  private boolean checkOver() {
+    if (model.checkTurnUsedUp()) {
+      text.append("\nMaximum turn reached! Doctor lucky escaped!\n");
+      over = true;
+    } else if (model.getTargetRemainingHealth() <= 0) {
+      text.append("\nTarget killed!\nPlayer ")
+          .append(model.getCurrentTurnPlayer().getName())
+          .append(" win the game!\n");
+      over = true;
+    }
+    return over;
+  }
+
+  private void appendTurn() {
+    if (model.getPlayerCount() == 0) {
+      text.append("No players yet.");
+      return;
+    }
+    Player player = model.getCurrentTurnPlayer();
+    text.append("\nTurn ").append(model.getTurn() + 1)
+        .append(": ").append(player.getName())
+        .append(" in room ").append(player.getCurrentRoom() + 1)
+        .append(", Doctor Lucky[").append(model.getTargetRemainingHealth())
+        .append("] at room ").append(model.getTargetPosition() + 1)
+        .append(", ").append(model.getPetName())
+        .append(" at room ").append(model.getPetPosition() + 1)
+        .append(over ? ", game over" : "");
+  }
+
+  private static int number(String word) {
+    try {
+      return Integer.parseInt(word);
+    } catch (NumberFormatException nfe) {
+      throw new IllegalArgumentException("Invalid number: " + word + ", integer expected.");
+    }
+  }
+}
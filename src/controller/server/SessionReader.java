@@ -0,0 +1,76 @@
+package controller.server;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@code SessionReader} class reads the UTF-8 text a client sends. Before
+ * it waits for the client it flushes the output of the session, so the
+ * prompts of a game go out in one write just when the player has to answer
+ * them. It keeps a buffer of only {@value #BUFFER_SIZE} bytes, as most of the
+ * time a session does nothing but wait here.
+ */
+final class SessionReader extends Reader {
+  /**
+   * The number of bytes read from the client at once.
+   */
+  static final int BUFFER_SIZE = 512;
+
+  private final InputStream in;
+  private final Flushable output;
+  private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+  private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  private boolean endOfInput;
+
+  /**
+   * Constructs a reader of a client's input.
+   *
+   * @param in     The input of the client's socket.
+   * @param output The output of the session, flushed before every wait.
+   */
+  SessionReader(InputStream in, Flushable output) {
+    this.in = in;
+    this.output = output;
+    bytes.flip();
+  }
+
+  @Override
+  public int read(char[] buffer, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    CharBuffer chars = CharBuffer.wrap(buffer, offset, length);
+    while (true) {
+      decoder.decode(bytes, chars, endOfInput);
+      if (chars.position() > offset) {
+        return chars.position() - offset;
+      }
+      if (endOfInput) {
+        return -1;
+      }
+      output.flush();
+      bytes.compact();
+      int count = in.read(bytes.array(), bytes.position(), bytes.remaining());
+      if (count < 0) {
+        endOfInput = true;
+      } else {
+        bytes.position(bytes.position() + count);
+      }
+      bytes.flip();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
@@ -0,0 +1,302 @@
+package controller.server;
+
+import controller.GameController;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import model.World;
+import model.WorldModel;
+
+/**
+ * The {@code SessionServer} class hosts many games under command line in one
+ * program. Every client that connects to its local TCP port gets a session of
+ * its own: a new model and a {@link GameController} that reads the client's
+ * input and writes back to it, exactly like the game played on the console.
+ *
+ * <p>Every session runs on a thread of its own, a virtual thread when the
+ * Java runtime has them and otherwise a platform thread with a small stack.
+ * A session waiting for its player holds that thread, a {@value
+ * SessionReader#BUFFER_SIZE} byte input buffer and the state of its game,
+ * while the maps themselves are shared between all sessions.
+ *
+ * <p>The server only listens on the loopback address.
+ */
+public class SessionServer implements Closeable {
+  /**
+   * The port the server listens on when none is given.
+   */
+  public static final int DEFAULT_PORT = 5010;
+  // stack of a session's platform thread when there are no virtual threads
+  private static final long PLATFORM_STACK_SIZE = 256 * 1024;
+  private static final int BACKLOG = 1024;
+
+  private final ServerSocket serverSocket;
+  private final Supplier<WorldModel> models;
+  private final ExecutorService executor;
+  private final boolean virtualThreads;
+  private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger activeSessions = new AtomicInteger();
+  private final AtomicInteger peakSessions = new AtomicInteger();
+  private final AtomicLong sessionCount = new AtomicLong();
+  private Thread acceptor;
+  private volatile boolean closed;
+
+  /**
+   * Constructs a server where every session plays on a new {@link World}.
+   *
+   * @param port The port to listen on, 0 for any free port.
+   * @throws IOException if the port can not be opened.
+   */
+  public SessionServer(int port) throws IOException {
+    this(port, World::new);
+  }
+
+  /**
+   * Constructs a server. It does not accept clients until started.
+   *
+   * @param port   The port to listen on, 0 for any free port.
+   * @param models Makes the model of every new session.
+   * @throws IOException if the port can not be opened.
+   */
+  public SessionServer(int port, Supplier<WorldModel> models) throws IOException {
+    if (models == null) {
+      throw new IllegalArgumentException("Invalid model supplier.");
+    }
+    this.models = models;
+    this.serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+    ExecutorService virtual = newVirtualThreadExecutor();
+    this.virtualThreads = virtual != null;
+    this.executor = virtual != null
+        ? virtual : Executors.newCachedThreadPool(platformThreads("session-"));
+  }
+
+  /**
+   * Gets an executor that starts a virtual thread for every task, through
+   * reflection so the game still builds and runs before Java 21.
+   *
+   * @return The executor, or null if the runtime has no virtual threads.
+   */
+  static ExecutorService newVirtualThreadExecutor() {
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Makes daemon platform threads with a small stack.
+   *
+   * @param prefix The start of the name of every thread.
+   * @return The thread factory.
+   */
+  static ThreadFactory platformThreads(String prefix) {
+    AtomicInteger threadCount = new AtomicInteger();
+    return task -> {
+      Thread thread = new Thread(null, task, prefix + threadCount.incrementAndGet(),
+          PLATFORM_STACK_SIZE);
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * Starts accepting clients on a thread of the server's own.
+   *
+   * @throws IllegalStateException if the server was started or closed before.
+   */
+  public synchronized void start() {
+    if (acceptor != null || closed) {
+      throw new IllegalStateException("Server was already started.");
+    }
+    acceptor = new Thread(this::acceptClients, "session-acceptor");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  private void acceptClients() {
+    while (!closed) {
+      Socket socket;
+      try {
+        socket = serverSocket.accept();
+      } catch (IOException ioe) {
+        if (closed) {
+          return;
+        }
+        continue;
+      }
+      sockets.add(socket);
+      try {
+        executor.execute(() -> serve(socket));
+      } catch (RuntimeException rejected) {
+        closeQuietly(socket);
+      }
+    }
+  }
+
+  /**
+   * Play one game with a client until it ends or the client goes away.
+   */
+  private void serve(Socket socket) {
+    int active = activeSessions.incrementAndGet();
+    peakSessions.accumulateAndGet(active, Math::max);
+    sessionCount.incrementAndGet();
+    try {
+      socket.setTcpNoDelay(true);
+      Writer output = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+      SessionReader input = new SessionReader(socket.getInputStream(), output);
+      GameController controller = new GameController(models.get(), input, output);
+      try {
+        controller.playGame();
+      } finally {
+        output.flush();
+      }
+    } catch (IOException | RuntimeException e) {
+      // the client went away or its map was broken, which only ends this session
+    } finally {
+      activeSessions.decrementAndGet();
+      sockets.remove(socket);
+      closeQuietly(socket);
+    }
+  }
+
+  private static void closeQuietly(Socket socket) {
+    try {
+      socket.close();
+    } catch (IOException ioe) {
+      // nothing left to do with it
+    }
+  }
+
+  /**
+   * Gets the port the server listens on.
+   *
+   * @return The port.
+   */
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Tells whether the sessions run on virtual threads.
+   *
+   * @return Whether the runtime has virtual threads.
+   */
+  public boolean usesVirtualThreads() {
+    return virtualThreads;
+  }
+
+  /**
+   * Gets the number of sessions being played now.
+   *
+   * @return The number of sessions.
+   */
+  public int getActiveSessions() {
+    return activeSessions.get();
+  }
+
+  /**
+   * Gets the most sessions that were played at once.
+   *
+   * @return The number of sessions.
+   */
+  public int getPeakSessions() {
+    return peakSessions.get();
+  }
+
+  /**
+   * Gets the number of sessions started since the server started.
+   *
+   * @return The number of sessions.
+   */
+  public long getSessionCount() {
+    return sessionCount.get();
+  }
+
+  /**
+   * Gets the number of sessions being played now for every core.
+   *
+   * @return The sessions per core.
+   */
+  public double getSessionsPerCore() {
+    return (double) activeSessions.get() / Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Writes one line of CSV with the sessions of the server, the header first
+   * if asked for.
+   *
+   * @param out    Where to write it.
+   * @param header Whether to write the header line first.
+   * @throws IOException if writing fails.
+   */
+  public void report(Appendable out, boolean header) throws IOException {
+    if (header) {
+      out.append("sessions,active,peak,cores,sessions_per_core,virtual_threads\n");
+    }
+    out.append(String.format(Locale.ROOT, "%d,%d,%d,%d,%.2f,%b%n", getSessionCount(),
+        getActiveSessions(), getPeakSessions(), Runtime.getRuntime().availableProcessors(),
+        getSessionsPerCore(), virtualThreads));
+  }
+
+  /**
+   * Stops accepting clients and ends every session, closing their sockets.
+   */
+  @Override
+  public void close() throws IOException {
+    closed = true;
+    serverSocket.close();
+    for (Socket socket : sockets) {
+      closeQuietly(socket);
+    }
+    executor.shutdown();
+    try {
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Runs a server until the program is stopped, printing its sessions as
+   * CSV every few seconds.
+   *
+   * @param args The port, {@value #DEFAULT_PORT} if left out, and the
+   *             seconds between reports, 10 if left out.
+   * @throws IOException if the port can not be opened.
+   * @throws InterruptedException if interrupted while waiting.
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+    long seconds = args.length > 1 ? Long.parseLong(args[1]) : 10;
+    try (SessionServer server = new SessionServer(port)) {
+      server.start();
+      System.out.println("Listening on " + InetAddress.getLoopbackAddress().getHostAddress()
+          + ":" + server.getPort() + (server.usesVirtualThreads()
+          ? " with virtual threads" : " with platform threads"));
+      boolean header = true;
+      while (true) {
+        server.report(System.out, header);
+        header = false;
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+      }
+    }
+  }
+}
@@ -0,0 +1,223 @@
+package model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code AdjacencyBuilder} class works out which rooms are neighbors, with
+ * exactly the same rules as {@link World#isNeighbor(Room, Room)}. Two rooms are
+ * neighbors when one starts on the row right below the other ends and their
+ * columns overlap, or the same with rows and columns swapped.
+ *
+ * <p>{@link #sweep(List)} only compares each room with the rooms starting right
+ * after it ends, found by binary search over the rooms sorted by where they
+ * start, so it runs in O(n log n) plus the number of neighbor pairs.
+ * {@link #pairwise(List)} compares every pair of rooms and is kept as the
+ * reference to check and benchmark against.
+ */
+public final class AdjacencyBuilder {
+  // ids and start coordinates are packed 21 bits each into one sort key
+  private static final int PACK_LIMIT = 1 << 21;
+
+  private AdjacencyBuilder() {
+  }
+
+  /**
+   * Build the neighbor ids of every room by comparing every pair of rooms.
+   *
+   * @param roomList The rooms, indexed by id.
+   * @return For each room, the ids of its neighbors in ascending order.
+   */
+  public static int[][] pairwise(List<Room> roomList) {
+    int roomCnt = roomList.size();
+    PairList pairs = new PairList();
+    for (int i = 0; i < roomCnt; i++) {
+      for (int j = i + 1; j < roomCnt; j++) {
+        if (World.isNeighbor(roomList.get(i), roomList.get(j))) {
+          pairs.add(i, j);
+        }
+      }
+    }
+    return pairs.toAdjacency(roomCnt);
+  }
+
+  /**
+   * Build the neighbor ids of every room with a sweep over the room edges.
+   *
+   * @param roomList The rooms, indexed by id.
+   * @return For each room, the ids of its neighbors in ascending order.
+   */
+  public static int[][] sweep(List<Room> roomList) {
+    int roomCnt = roomList.size();
+    int[] locations = new int[4 * roomCnt];
+    for (int i = 0; i < roomCnt; i++) {
+      System.arraycopy(roomList.get(i).getLocation(), 0, locations, 4 * i, 4);
+    }
+    return sweep(locations);
+  }
+
+  /**
+   * Build the neighbor ids of every room with a sweep over the room edges.
+   *
+   * @param locations The locations of the rooms, four numbers per room in the
+   *                  same order as {@link Room#getLocation()}.
+   * @return For each room, the ids of its neighbors in ascending order.
+   */
+  public static int[][] sweep(int[] locations) {
+    int roomCnt = locations.length / 4;
+    int[] rowStart = new int[roomCnt];
+    int[] colStart = new int[roomCnt];
+    int[] rowEnd = new int[roomCnt];
+    int[] colEnd = new int[roomCnt];
+    boolean packable = roomCnt < PACK_LIMIT;
+    for (int i = 0; i < roomCnt; i++) {
+      rowStart[i] = locations[4 * i];
+      colStart[i] = locations[4 * i + 1];
+      rowEnd[i] = locations[4 * i + 2];
+      colEnd[i] = locations[4 * i + 3];
+      packable &= rowStart[i] < PACK_LIMIT && colStart[i] < PACK_LIMIT;
+    }
+
+    PairList pairs = new PairList();
+    if (!packable) {
+      for (int i = 0; i < roomCnt; i++) {
+        for (int j = i + 1; j < roomCnt; j++) {
+          if (isNeighbor(rowStart, colStart, rowEnd, colEnd, i, j)
+              || isNeighbor(colStart, rowStart, colEnd, rowEnd, i, j)) {
+            pairs.add(i, j);
+          }
+        }
+      }
+      return pairs.toAdjacency(roomCnt);
+    }
+
+    // rooms below each room, sharing part of its bottom edge
+    findAdjacent(rowStart, colStart, rowEnd, colEnd, pairs);
+    // rooms right of each room, sharing part of its right edge
+    findAdjacent(colStart, rowStart, colEnd, rowEnd, pairs);
+    return pairs.toAdjacency(roomCnt);
+  }
+
+  /**
+   * Whether one of the two rooms starts right after the other ends and their
+   * spans on the other axis overlap.
+   */
+  private static boolean isNeighbor(int[] start, int[] spanStart, int[] end, int[] spanEnd,
+                                    int a, int b) {
+    return (start[a] == end[b] + 1 || end[a] == start[b] - 1)
+        && spanStart[a] <= spanEnd[b] && spanEnd[a] >= spanStart[b];
+  }
+
+  /**
+   * For every room, find the rooms whose {@code start} is right after its
+   * {@code end} and whose span on the other axis overlaps its own.
+   */
+  private static void findAdjacent(int[] start, int[] spanStart, int[] end, int[] spanEnd,
+                                   PairList pairs) {
+    int roomCnt = start.length;
+
+    // order rooms by start, then by span start, packed into longs for a primitive sort
+    long[] keys = new long[roomCnt];
+    for (int i = 0; i < roomCnt; i++) {
+      keys[i] = ((long) start[i] << 42) | ((long) spanStart[i] << 21) | i;
+    }
+    Arrays.sort(keys);
+
+    int[] order = new int[roomCnt];
+    int[] sortedStart = new int[roomCnt];
+    int[] sortedSpanStart = new int[roomCnt];
+    // running max of span end inside each group of rooms sharing the same start
+    int[] maxSpanEnd = new int[roomCnt];
+    for (int k = 0; k < roomCnt; k++) {
+      int id = (int) (keys[k] & (PACK_LIMIT - 1));
+      order[k] = id;
+      sortedStart[k] = start[id];
+      sortedSpanStart[k] = spanStart[id];
+      if (k > 0 && sortedStart[k - 1] == sortedStart[k]) {
+        maxSpanEnd[k] = Math.max(maxSpanEnd[k - 1], spanEnd[id]);
+      } else {
+        maxSpanEnd[k] = spanEnd[id];
+      }
+    }
+
+    for (int a = 0; a < roomCnt; a++) {
+      int next = end[a] + 1;
+      int from = lowerBound(sortedStart, 0, roomCnt, next);
+      int to = lowerBound(sortedStart, from, roomCnt, next + 1);
+      if (from == to) {
+        continue;
+      }
+
+      // first room of the group that may reach back to this room's span
+      int lo = from;
+      int hi = to;
+      while (lo < hi) {
+        int mid = (lo + hi) >>> 1;
+        if (maxSpanEnd[mid] < spanStart[a]) {
+          lo = mid + 1;
+        } else {
+          hi = mid;
+        }
+      }
+
+      for (int k = lo; k < to && sortedSpanStart[k] <= spanEnd[a]; k++) {
+        int b = order[k];
+        if (spanEnd[b] >= spanStart[a]) {
+          pairs.add(a, b);
+        }
+      }
+    }
+  }
+
+  private static int lowerBound(int[] sorted, int from, int to, int value) {
+    int lo = from;
+    int hi = to;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (sorted[mid] < value) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  /**
+   * Growable list of neighbor pairs kept in a primitive array.
+   */
+  private static class PairList {
+    private int[] pairs = new int[64];
+    private int size;
+
+    void add(int a, int b) {
+      if (size + 2 > pairs.length) {
+        pairs = Arrays.copyOf(pairs, pairs.length * 2);
+      }
+      pairs[size++] = a;
+      pairs[size++] = b;
+    }
+
+    int[][] toAdjacency(int roomCnt) {
+      int[] degree = new int[roomCnt];
+      for (int i = 0; i < size; i++) {
+        degree[pairs[i]]++;
+      }
+      int[][] adjacency = new int[roomCnt][];
+      for (int i = 0; i < roomCnt; i++) {
+        adjacency[i] = new int[degree[i]];
+        degree[i] = 0;
+      }
+      for (int i = 0; i < size; i += 2) {
+        int a = pairs[i];
+        int b = pairs[i + 1];
+        adjacency[a][degree[a]++] = b;
+        adjacency[b][degree[b]++] = a;
+      }
+      for (int[] neighbors : adjacency) {
+        Arrays.sort(neighbors);
+      }
+      return adjacency;
+    }
+  }
+}
@@ -0,0 +1,232 @@
+package model;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The {@code BinaryMapFormat} class writes a {@link MansionTemplate} to a
+ * compiled map file and reads it back.
+ *
+ * <p>A compiled map holds the same data as a text map, plus the neighbors of
+ * every room and the route of the pet, so nothing has to be worked out again
+ * when it is loaded. All numbers come first and are read straight out of a
+ * memory mapped file in bulk, followed by all names as length prefixed UTF-8.
+ *
+ * <pre>
+ * int    magic, version
+ * int    rows, columns, target health, room count, item count,
+ *        neighbor count, pet route length
+ * int[]  room locations       (4 per room)
+ * int[]  neighbor offsets     (room count + 1)
+ * int[]  neighbors            (neighbor count)
+ * int[]  item rooms, item damages
+ * int[]  pet route
+ * string mansion name, target name, pet name, room names, item names
+ * </pre>
+ */
+public final class BinaryMapFormat {
+  /**
+   * First four bytes of every compiled map file.
+   */
+  public static final int MAGIC = 0x4B444C4D;
+  /**
+   * Version of the layout written by this class.
+   */
+  public static final int VERSION = 1;
+  private static final int HEADER_INTS = 9;
+
+  private BinaryMapFormat() {
+  }
+
+  /**
+   * Tells whether a file is a compiled map, by its first four bytes.
+   *
+   * @param pathToFile The path of the file.
+   * @return Whether the file starts like a compiled map.
+   * @throws IOException if the file can not be read.
+   */
+  public static boolean isCompiled(String pathToFile) throws IOException {
+    try (FileChannel channel = FileChannel.open(Paths.get(pathToFile), StandardOpenOption.READ)) {
+      ByteBuffer head = ByteBuffer.allocate(4);
+      while (head.hasRemaining() && channel.read(head) != -1) {
+        continue;
+      }
+      return !head.hasRemaining() && head.getInt(0) == MAGIC;
+    }
+  }
+
+  /**
+   * Writes a template to a compiled map file, replacing the file if it exists.
+   *
+   * @param template   The template to write.
+   * @param pathToFile The path of the file.
+   * @throws IOException if the file can not be written.
+   */
+  public static void write(MansionTemplate template, String pathToFile) throws IOException {
+    int roomCnt = template.getRoomCount();
+    int itemCnt = template.getItemCount();
+    int[][] adjacency = template.adjacency();
+    int[] petRoute = template.petRoute();
+    int neighborCnt = 0;
+    for (int[] neighbors : adjacency) {
+      neighborCnt += neighbors.length;
+    }
+
+    byte[][] names = new byte[3 + roomCnt + itemCnt][];
+    names[0] = template.getName().getBytes(StandardCharsets.UTF_8);
+    names[1] = template.getTargetName().getBytes(StandardCharsets.UTF_8);
+    names[2] = template.getPetName().getBytes(StandardCharsets.UTF_8);
+    for (int i = 0; i < roomCnt; i++) {
+      names[3 + i] = template.getRoomName(i).getBytes(StandardCharsets.UTF_8);
+    }
+    for (int i = 0; i < itemCnt; i++) {
+      names[3 + roomCnt + i] = template.getItemName(i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    long ints = HEADER_INTS + 4L * roomCnt + roomCnt + 1 + neighborCnt + 2L * itemCnt
+        + petRoute.length;
+    long size = 4 * ints;
+    for (byte[] name : names) {
+      size += 4 + name.length;
+    }
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Mansion is too large to compile.");
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate((int) size);
+    buffer.putInt(MAGIC).putInt(VERSION)
+        .putInt(template.getRows()).putInt(template.getColumns())
+        .putInt(template.getTargetHealth())
+        .putInt(roomCnt).putInt(itemCnt).putInt(neighborCnt).putInt(petRoute.length);
+    IntBuffer intBuffer = buffer.asIntBuffer();
+    intBuffer.put(template.roomLocations());
+    int offset = 0;
+    intBuffer.put(offset);
+    for (int[] neighbors : adjacency) {
+      offset += neighbors.length;
+      intBuffer.put(offset);
+    }
+    for (int[] neighbors : adjacency) {
+      intBuffer.put(neighbors);
+    }
+    for (int i = 0; i < itemCnt; i++) {
+      intBuffer.put(template.getItemRoom(i));
+    }
+    for (int i = 0; i < itemCnt; i++) {
+      intBuffer.put(template.getItemDamage(i));
+    }
+    intBuffer.put(petRoute);
+    buffer.position(buffer.position() + 4 * intBuffer.position());
+    for (byte[] name : names) {
+      buffer.putInt(name.length).put(name);
+    }
+    buffer.flip();
+
+    try (FileChannel channel = FileChannel.open(Paths.get(pathToFile), StandardOpenOption.WRITE,
+        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * Reads a template from a compiled map file.
+   *
+   * @param pathToFile The path of the file.
+   * @return The template.
+   * @throws IOException if the file can not be read.
+   * @throws IllegalArgumentException if the file is not a compiled map of this version.
+   */
+  public static MansionTemplate read(String pathToFile) throws IOException {
+    Path path = Paths.get(pathToFile);
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    try {
+      if (buffer.getInt() != MAGIC) {
+        throw new IllegalArgumentException(pathToFile + " is not a compiled map.");
+      }
+      int version = buffer.getInt();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Compiled map version " + version
+            + " is not supported.");
+      }
+      int rows = buffer.getInt();
+      int columns = buffer.getInt();
+      int targetHealth = buffer.getInt();
+      int roomCnt = buffer.getInt();
+      int itemCnt = buffer.getInt();
+      int neighborCnt = buffer.getInt();
+      int routeLength = buffer.getInt();
+      if (roomCnt < 0 || itemCnt < 0 || neighborCnt < 0 || routeLength < 0) {
+        throw new IllegalArgumentException(pathToFile + " is corrupted.");
+      }
+      long ints = 4L * roomCnt + roomCnt + 1 + neighborCnt + 2L * itemCnt + routeLength;
+      if (4 * ints > buffer.remaining()) {
+        throw new IllegalArgumentException(pathToFile + " is truncated.");
+      }
+
+      IntBuffer intBuffer = buffer.asIntBuffer();
+      int[] roomLocations = new int[4 * roomCnt];
+      intBuffer.get(roomLocations);
+      int[] offsets = new int[roomCnt + 1];
+      intBuffer.get(offsets);
+      int[] neighbors = new int[neighborCnt];
+      intBuffer.get(neighbors);
+      int[] itemRooms = new int[itemCnt];
+      intBuffer.get(itemRooms);
+      int[] itemDamages = new int[itemCnt];
+      intBuffer.get(itemDamages);
+      int[] petRoute = new int[routeLength];
+      intBuffer.get(petRoute);
+      buffer.position(buffer.position() + 4 * intBuffer.position());
+
+      int[][] adjacency = new int[roomCnt][];
+      for (int i = 0; i < roomCnt; i++) {
+        if (offsets[i] < 0 || offsets[i] > offsets[i + 1] || offsets[i + 1] > neighborCnt) {
+          throw new IllegalArgumentException(pathToFile + " is corrupted.");
+        }
+        adjacency[i] = Arrays.copyOfRange(neighbors, offsets[i], offsets[i + 1]);
+      }
+
+      String name = readString(buffer);
+      String targetName = readString(buffer);
+      String petName = readString(buffer);
+      String[] roomNames = new String[roomCnt];
+      for (int i = 0; i < roomCnt; i++) {
+        roomNames[i] = readString(buffer);
+      }
+      String[] itemNames = new String[itemCnt];
+      for (int i = 0; i < itemCnt; i++) {
+        itemNames[i] = readString(buffer);
+      }
+
+      return new MansionTemplate(name, rows, columns, targetName, targetHealth, petName,
+          roomNames, roomLocations, adjacency, itemNames, itemDamages, itemRooms, petRoute);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException(pathToFile + " is truncated.", e);
+    }
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalArgumentException("Compiled map is truncated.");
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,121 @@
+package model;
+
+/**
+ * The {@code ComputerAction} class is the decision a computer player makes for
+ * its turn. It carries the kind of command and its zero based argument, so the
+ * command can be carried out without being written out and parsed back as text.
+ */
+public final class ComputerAction {
+  private static final ComputerAction LOOK_AROUND = new ComputerAction(Type.LOOK_AROUND, -1);
+  private static final ComputerAction ATTACK_WITH_HAND = new ComputerAction(Type.ATTACK, -1);
+
+  /**
+   * The kinds of command a computer player can choose from.
+   */
+  public enum Type {
+    LOOK_AROUND,
+    MOVE,
+    MOVE_PET,
+    PICK_ITEM,
+    ATTACK
+  }
+
+  private final Type type;
+  private final int argument;
+
+  private ComputerAction(Type type, int argument) {
+    this.type = type;
+    this.argument = argument;
+  }
+
+  /**
+   * Look around the neighbor rooms.
+   *
+   * @return The look around action.
+   */
+  public static ComputerAction lookAround() {
+    return LOOK_AROUND;
+  }
+
+  /**
+   * Move the player to a neighbor room.
+   *
+   * @param roomId The zero based id of the room to move to.
+   * @return The move action.
+   */
+  public static ComputerAction move(int roomId) {
+    return new ComputerAction(Type.MOVE, roomId);
+  }
+
+  /**
+   * Move the pet to a room.
+   *
+   * @param roomId The zero based id of the room to move the pet to.
+   * @return The move pet action.
+   */
+  public static ComputerAction movePet(int roomId) {
+    return new ComputerAction(Type.MOVE_PET, roomId);
+  }
+
+  /**
+   * Pick up an item from the current room.
+   *
+   * @param index The zero based index of the item in the room.
+   * @return The pick item action.
+   */
+  public static ComputerAction pickItem(int index) {
+    return new ComputerAction(Type.PICK_ITEM, index);
+  }
+
+  /**
+   * Attack the target with a held item, or with bare hand.
+   *
+   * @param index The zero based index of the held item, -1 to attack with bare hand.
+   * @return The attack action.
+   */
+  public static ComputerAction attack(int index) {
+    return index < 0 ? ATTACK_WITH_HAND : new ComputerAction(Type.ATTACK, index);
+  }
+
+  /**
+   * Gets the kind of command.
+   *
+   * @return The kind of command.
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Gets the zero based room id or item index of the command.
+   *
+   * @return The argument, -1 if the command takes none.
+   */
+  public int getArgument() {
+    return argument;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof ComputerAction)) {
+      return false;
+    }
+
+    ComputerAction other = (ComputerAction) o;
+    return type == other.type && argument == other.argument;
+  }
+
+  @Override
+  public int hashCode() {
+    return type.hashCode() * 31 + argument;
+  }
+
+  @Override
+  public String toString() {
+    return argument < 0 ? type.toString() : type + " " + (argument + 1);
+  }
+}
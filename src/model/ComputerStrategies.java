@@ -0,0 +1,95 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The {@code ComputerStrategies} class keeps the strategies computer players
+ * can be given by name, so that views and configurations can offer them. It
+ * comes with "Random", "Greedy", "Intercept" and "Search"; more can be
+ * registered.
+ *
+ * <p>Players of the "Search" strategy share one {@link MonteCarloSearch},
+ * which takes {@link #SEARCH_BUDGET_MILLIS} for every command and is only
+ * built when it is first asked for.
+ */
+public final class ComputerStrategies {
+  /**
+   * The time the shared search takes for every command, in milliseconds.
+   */
+  public static final long SEARCH_BUDGET_MILLIS = 200;
+  /**
+   * The name of the strategy players get when none is chosen.
+   */
+  public static final String DEFAULT = "Random";
+
+  private static final Map<String, Supplier<ComputerStrategy>> STRATEGIES =
+      new LinkedHashMap<>();
+  private static MonteCarloSearch search;
+
+  static {
+    register("Random", () -> RandomStrategy.INSTANCE);
+    register("Greedy", () -> GreedyDamageStrategy.INSTANCE);
+    register("Intercept", () -> InterceptStrategy.INSTANCE);
+    register("Search", () -> new SearchStrategy(sharedSearch()));
+  }
+
+  private ComputerStrategies() {
+  }
+
+  /**
+   * Registers a strategy under a name, replacing any registered before.
+   *
+   * @param name     The name of the strategy.
+   * @param supplier Gives the strategy for each player that asks for it.
+   * @throws IllegalArgumentException if the name is empty or the supplier is null.
+   */
+  public static synchronized void register(String name, Supplier<ComputerStrategy> supplier) {
+    if (name == null || name.trim().isEmpty()) {
+      throw new IllegalArgumentException("Strategy name can not be empty.");
+    }
+    if (supplier == null) {
+      throw new IllegalArgumentException("Strategy supplier can not be null.");
+    }
+    STRATEGIES.put(name, supplier);
+  }
+
+  /**
+   * Gets the strategy for a player by its name.
+   *
+   * @param name The name of the strategy.
+   * @return The strategy.
+   * @throws IllegalArgumentException if no strategy has that name.
+   */
+  public static ComputerStrategy get(String name) {
+    Supplier<ComputerStrategy> supplier;
+    synchronized (ComputerStrategies.class) {
+      supplier = STRATEGIES.get(name);
+    }
+    if (supplier == null) {
+      throw new IllegalArgumentException("Unknown strategy: " + name);
+    }
+    return supplier.get();
+  }
+
+  /**
+   * Gets the names of the registered strategies, in the order they were
+   * registered.
+   *
+   * @return The names.
+   */
+  public static synchronized List<String> getNames() {
+    return Collections.unmodifiableList(new ArrayList<>(STRATEGIES.keySet()));
+  }
+
+  private static synchronized MonteCarloSearch sharedSearch() {
+    if (search == null) {
+      search = new MonteCarloSearch(SEARCH_BUDGET_MILLIS);
+    }
+    return search;
+  }
+}
@@ -0,0 +1,26 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * The {@code ComputerStrategy} interface is how a computer player chooses its
+ * command for a turn. A strategy only reads the game; the command it returns
+ * is carried out by the game afterwards.
+ *
+ * <p>A strategy keeps no state about the games it plays, or keeps it for a
+ * single player only, so that one instance can choose for players of many
+ * games at once. Any randomness comes from the sequence the game passes in.
+ */
+public interface ComputerStrategy {
+
+  /**
+   * Choose the command for the player whose turn it is.
+   *
+   * @param game   The game, which must not be changed.
+   * @param player The current turn's player.
+   * @param random The random sequence of the game to draw from.
+   * @return The command to carry out.
+   */
+  ComputerAction chooseAction(ReadOnlyModel game, Player player, Random random);
+
+}
@@ -0,0 +1,477 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The {@code GameJournal} class keeps an append-only log of everything that
+ * changes a {@link World}, so that a game can be rebuilt after a crash and
+ * looked at after it ended. A world given a journal with
+ * {@link World#setJournal(GameJournal)} records each call that changes it as
+ * a short binary record; {@link #recover(String, Path)} plays the records
+ * again on a new world of the same map.
+ *
+ * <p>Recording only copies a few bytes into a buffer, without taking a lock:
+ * a journal records one world, on the thread that plays it. The buffer is
+ * written to the file and forced to disk by a background thread every few
+ * milliseconds, so one disk flush commits every record made since the one
+ * before, and a crash loses at most the records of the last interval. One
+ * thread commits every open journal.
+ *
+ * <p>The file starts with the 4 bytes {@code DLJ1}, then the records follow
+ * one another. Each is a type byte and two ints, except a new player, whose
+ * name and strategy follow as UTF-8 after their length as an int, -1 for no
+ * name. A record too big for the buffer is written to the file at once.
+ */
+public final class GameJournal implements Closeable {
+  /**
+   * The time between two commits when none is given, in milliseconds.
+   */
+  public static final long DEFAULT_COMMIT_MILLIS = 10;
+
+  static final int MAGIC = 0x444c4a31;
+  static final byte ADD_PLAYER = 1;
+  static final byte MOVE_PLAYER = 2;
+  static final byte MOVE_PET = 3;
+  static final byte PICK_ITEM = 4;
+  static final byte ATTACK_WITH_HAND = 5;
+  static final byte ATTACK_WITH_ITEM = 6;
+  static final byte LOOK_AROUND = 7;
+  static final byte UPDATE_TURN = 8;
+  static final byte MAX_TURN = 9;
+  static final byte START = 10;
+  static final byte GAME_OVER = 11;
+
+  private static final int BUFFER_SIZE = 1 << 18;
+  private static final int RECORD_SIZE = 9;
+  private static final ScheduledExecutorService COMMITTER =
+      Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-commit");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  private final FileChannel channel;
+  private final ScheduledFuture<?> commits;
+  // filled by the thread that records only
+  private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+  // the end of the whole records in the buffer
+  private final AtomicInteger published = new AtomicInteger();
+  private long records;
+  // held by whoever commits, before the file lock
+  private final Object commitLock = new Object();
+  private volatile long flushes;
+  // the rest is guarded by the file lock, held by whoever writes to the file
+  private final Object fileLock = new Object();
+  private final ByteBuffer view = buffer.duplicate();
+  private int written;
+  private boolean unforced;
+  private volatile boolean closed;
+  private volatile IOException failure;
+
+  private GameJournal(FileChannel channel, long commitMillis) {
+    this.channel = channel;
+    this.commits = COMMITTER.scheduleWithFixedDelay(this::commitQuietly,
+        commitMillis, commitMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Opens a journal committed every {@value #DEFAULT_COMMIT_MILLIS}
+   * milliseconds.
+   *
+   * @param path The file of the journal.
+   * @return The journal.
+   * @throws IOException if the file can not be opened.
+   * @see #open(Path, long)
+   */
+  public static GameJournal open(Path path) throws IOException {
+    return open(path, DEFAULT_COMMIT_MILLIS);
+  }
+
+  /**
+   * Opens a journal, creating its file if there is none. Records are added
+   * after the ones already in the file, and a record cut short by a crash at
+   * its end is dropped first.
+   *
+   * @param path         The file of the journal.
+   * @param commitMillis The time between two commits, in milliseconds.
+   * @return The journal.
+   * @throws IOException if the file can not be opened, or is not a journal.
+   * @throws IllegalArgumentException if the time is not positive.
+   */
+  public static GameJournal open(Path path, long commitMillis) throws IOException {
+    if (commitMillis <= 0) {
+      throw new IllegalArgumentException("Commit interval should be positive.");
+    }
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      if (channel.size() == 0) {
+        ByteBuffer header = ByteBuffer.allocate(4).putInt(MAGIC);
+        header.flip();
+        while (header.hasRemaining()) {
+          channel.write(header);
+        }
+      } else {
+        long end = replay(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), null);
+        channel.truncate(end);
+      }
+      channel.position(channel.size());
+      return new GameJournal(channel, commitMillis);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Rebuilds a game from its map and its journal. The records are played
+   * again on a new {@link World} in the order they were made, up to the
+   * first one that can not be read, which is where a crash cut the journal.
+   * The world has no journal; set one to go on recording.
+   *
+   * @param pathToMap The map the game was played on.
+   * @param path      The file of the journal.
+   * @return The world as the journal left it.
+   * @throws IOException if the map or the journal can not be read, or the
+   *     file is not a journal.
+   */
+  public static World recover(String pathToMap, Path path) throws IOException {
+    // fail on a map that can not be read, which initializeWorld would not
+    MansionTemplateCache.getShared().get(pathToMap);
+    World world = new World();
+    world.initializeWorld(pathToMap);
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      replay(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), world);
+    }
+    return world;
+  }
+
+  /**
+   * Reads the records, playing them on the world if there is one.
+   *
+   * @return The end of the last whole record.
+   */
+  private static long replay(MappedByteBuffer buffer, World world) throws IOException {
+    if (buffer.remaining() < 4 || buffer.getInt() != MAGIC) {
+      throw new IOException("Not a game journal.");
+    }
+    int end = buffer.position();
+    try {
+      while (buffer.hasRemaining()) {
+        byte type = buffer.get();
+        if (type == ADD_PLAYER) {
+          int room = buffer.getInt();
+          boolean isHuman = buffer.get() != 0;
+          String name = readString(buffer);
+          String strategy = readString(buffer);
+          if (world != null) {
+            if (isHuman) {
+              world.addPlayer(name, room, true);
+            } else {
+              world.addPlayer(name, room, strategyFor(strategy));
+            }
+          }
+        } else if (type >= MOVE_PLAYER && type <= GAME_OVER) {
+          int first = buffer.getInt();
+          int second = buffer.getInt();
+          if (world != null) {
+            apply(world, type, first, second);
+          }
+        } else {
+          break;
+        }
+        end = buffer.position();
+      }
+    } catch (BufferUnderflowException | IllegalArgumentException
+        | IndexOutOfBoundsException e) {
+      // the record was cut short or garbled, the journal ends before it
+    }
+    return end;
+  }
+
+  private static void apply(World world, byte type, int first, int second) {
+    switch (type) {
+      case MOVE_PLAYER:
+        world.movePlayer(world.getPlayer(first), second);
+        break;
+      case MOVE_PET:
+        world.movePet(first);
+        break;
+      case PICK_ITEM:
+        world.pickUpItem(world.getPlayer(first), second);
+        break;
+      case ATTACK_WITH_HAND:
+        world.attackWithHand();
+        break;
+      case ATTACK_WITH_ITEM:
+        world.attackWithItem(world.getPlayer(first), second);
+        break;
+      case LOOK_AROUND:
+        world.lookAround(world.getPlayer(first));
+        break;
+      case UPDATE_TURN:
+        world.updateTurn();
+        break;
+      case MAX_TURN:
+        world.setMaxTurn(first);
+        break;
+      case START:
+        world.startGame();
+        break;
+      default:
+        world.gameOver();
+    }
+  }
+
+  private static ComputerStrategy strategyFor(String name) {
+    if (name == null) {
+      throw new IllegalArgumentException("Computer player without a strategy.");
+    }
+    try {
+      return ComputerStrategies.get(name);
+    } catch (IllegalArgumentException e) {
+      // a strategy registered by the program that recorded the game only
+      return ComputerStrategies.get(ComputerStrategies.DEFAULT);
+    }
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length == -1) {
+      return null;
+    }
+    if (length < 0 || length > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Records a new player.
+   */
+  void addPlayer(String name, int room, boolean isHuman, ComputerStrategy strategy) {
+    byte[] nameBytes = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+    byte[] strategyBytes = (strategy == null ? "" : strategy.toString())
+        .getBytes(StandardCharsets.UTF_8);
+    int size = 1 + 4 + 1 + 4 + (nameBytes == null ? 0 : nameBytes.length)
+        + 4 + strategyBytes.length;
+    if (size > BUFFER_SIZE) {
+      ByteBuffer record = ByteBuffer.allocate(size);
+      putPlayer(record, nameBytes, room, isHuman, strategyBytes);
+      record.flip();
+      writeThrough(record);
+      return;
+    }
+    reserve(size);
+    putPlayer(buffer, nameBytes, room, isHuman, strategyBytes);
+    publish();
+  }
+
+  private static void putPlayer(ByteBuffer to, byte[] name, int room, boolean isHuman,
+      byte[] strategy) {
+    to.put(ADD_PLAYER).putInt(room).put((byte) (isHuman ? 1 : 0));
+    if (name == null) {
+      to.putInt(-1);
+    } else {
+      to.putInt(name.length).put(name);
+    }
+    to.putInt(strategy.length).put(strategy);
+  }
+
+  /**
+   * Records a call made on the world.
+   *
+   * @param type   The type of the record.
+   * @param first  The first argument of the call, 0 if none.
+   * @param second The second argument of the call, 0 if none.
+   */
+  void record(byte type, int first, int second) {
+    reserve(RECORD_SIZE);
+    buffer.put(type).putInt(first).putInt(second);
+    publish();
+  }
+
+  /**
+   * Makes room for a record in the buffer, writing the buffer out here
+   * rather than waiting for a commit if it is full.
+   */
+  private void reserve(int size) {
+    checkOpen();
+    if (buffer.remaining() < size) {
+      synchronized (fileLock) {
+        writeAndClear();
+      }
+    }
+  }
+
+  /**
+   * Writes a record bigger than the buffer straight to the file, after the
+   * records in the buffer.
+   */
+  private void writeThrough(ByteBuffer record) {
+    checkOpen();
+    synchronized (fileLock) {
+      writeAndClear();
+      try {
+        while (record.hasRemaining()) {
+          channel.write(record);
+        }
+      } catch (IOException ioe) {
+        failure = ioe;
+        throw new IllegalStateException("Append failed", ioe);
+      }
+      unforced = true;
+    }
+    records++;
+  }
+
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("Journal is closed.");
+    }
+    if (failure != null) {
+      throw new IllegalStateException("Append failed", failure);
+    }
+  }
+
+  /**
+   * Writes the buffer out and empties it. Called with the file lock held.
+   */
+  private void writeAndClear() {
+    write();
+    buffer.clear();
+    written = 0;
+    published.set(0);
+  }
+
+  /**
+   * Lets the committer see the record just made. An ordered store is enough
+   * since only the thread that records moves the end forward.
+   */
+  private void publish() {
+    records++;
+    published.lazySet(buffer.position());
+  }
+
+  /**
+   * Writes the records published and not written yet to the file. Called
+   * with the file lock held.
+   */
+  private void write() {
+    int end = published.get();
+    if (end == written) {
+      return;
+    }
+    view.limit(end).position(written);
+    try {
+      while (view.hasRemaining()) {
+        channel.write(view);
+      }
+    } catch (IOException ioe) {
+      failure = ioe;
+      throw new IllegalStateException("Append failed", ioe);
+    }
+    written = end;
+    unforced = true;
+  }
+
+  /**
+   * Writes the records made so far to the file, and forces them to disk if
+   * asked to.
+   */
+  private void flush(boolean force) {
+    synchronized (commitLock) {
+      synchronized (fileLock) {
+        if (closed) {
+          return;
+        }
+        write();
+        if (!force || !unforced) {
+          return;
+        }
+        unforced = false;
+      }
+      // a flush takes milliseconds, records go on being written meanwhile
+      try {
+        channel.force(false);
+      } catch (IOException ioe) {
+        failure = ioe;
+        throw new IllegalStateException("Append failed", ioe);
+      }
+      flushes++;
+    }
+  }
+
+  private void commitQuietly() {
+    try {
+      flush(true);
+    } catch (IllegalStateException e) {
+      // kept in failure, the next record reports it
+    }
+  }
+
+  /**
+   * Commits the records made so far, forcing them to disk before returning.
+   *
+   * @throws IllegalStateException if the journal can not be written.
+   */
+  public void sync() {
+    flush(true);
+  }
+
+  /**
+   * Gets the number of records made through this journal.
+   *
+   * @return The number of records.
+   */
+  public long getRecordCount() {
+    return records;
+  }
+
+  /**
+   * Gets the number of times records were forced to disk. Far fewer than
+   * the records when many are made between two commits.
+   *
+   * @return The number of disk flushes.
+   */
+  public long getFlushCount() {
+    return flushes;
+  }
+
+  /**
+   * Commits the records made so far and closes the file. The world the
+   * journal was set on can not change any more until given another.
+   */
+  @Override
+  public void close() throws IOException {
+    commits.cancel(false);
+    synchronized (commitLock) {
+      if (closed) {
+        return;
+      }
+      try {
+        flush(true);
+      } finally {
+        synchronized (fileLock) {
+          closed = true;
+        }
+        channel.close();
+      }
+    }
+  }
+}
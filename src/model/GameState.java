@@ -0,0 +1,405 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * The {@code GameState} class holds everything about a game that changes as it
+ * is played: the turn counters, where the target, the pet and every player
+ * are, the health of the target, and who holds which item. Everything that
+ * stays the same, such as the rooms and the items themselves, is left to the
+ * {@link MansionTemplate} of the map, so a state takes a few primitive arrays
+ * sized by the number of players and items only.
+ *
+ * <p>Players and items are known by their index: players in the order they
+ * joined, items in the order of the template. An item is either still on the
+ * floor of the room it starts in, held by a player, or used up.
+ */
+public final class GameState {
+  /**
+   * The holder of an item still lying in the room it starts in.
+   */
+  public static final int ON_FLOOR = -1;
+  /**
+   * The holder of an item that was used in an attack or dropped for another.
+   */
+  public static final int USED = -2;
+  /**
+   * The most items a player can hold at once.
+   */
+  public static final int HAND_SIZE = 4;
+  // players the arrays have room for before they grow
+  private static final int INITIAL_PLAYER_CAPACITY = 4;
+
+  private final int roomCount;
+  private int turn = -1;
+  private int maxTurn;
+  private boolean gameOver;
+  private int targetRoom;
+  private int targetHealth;
+  private int petRoom;
+
+  private int playerCount;
+  private int[] playerRooms;
+  // players in a room are listed in the order they came in
+  private int[] playerArrivals;
+  private int arrivalCount;
+  // HAND_SIZE slots per player, the first handSizes[p] of them in use
+  private int[] hands;
+  private int[] handSizes;
+  // the player at turnOrder[turnHead] plays next, the others follow around the array
+  private int[] turnOrder;
+  private int turnHead;
+
+  private final int[] itemHolders;
+
+  /**
+   * Constructs the state of a game that has not started yet, with the target
+   * and the pet in the first room, every item on the floor and no players.
+   *
+   * @param template The map of the game.
+   */
+  public GameState(MansionTemplate template) {
+    this(template.getRoomCount(), template.getTargetHealth(), template.getItemCount());
+  }
+
+  /**
+   * Constructs the state of a game that has not started yet on a map with the
+   * given number of rooms and items.
+   */
+  GameState(int roomCount, int targetHealth, int itemCount) {
+    this.roomCount = roomCount;
+    this.targetHealth = targetHealth;
+    this.itemHolders = new int[itemCount];
+    Arrays.fill(itemHolders, ON_FLOOR);
+    this.playerRooms = new int[INITIAL_PLAYER_CAPACITY];
+    this.playerArrivals = new int[INITIAL_PLAYER_CAPACITY];
+    this.hands = new int[HAND_SIZE * INITIAL_PLAYER_CAPACITY];
+    this.handSizes = new int[INITIAL_PLAYER_CAPACITY];
+    this.turnOrder = new int[INITIAL_PLAYER_CAPACITY];
+  }
+
+  private GameState(GameState other) {
+    this.roomCount = other.roomCount;
+    this.itemHolders = other.itemHolders.clone();
+    this.playerRooms = other.playerRooms.clone();
+    this.playerArrivals = other.playerArrivals.clone();
+    this.hands = other.hands.clone();
+    this.handSizes = other.handSizes.clone();
+    this.turnOrder = other.turnOrder.clone();
+    copyCounters(other);
+  }
+
+  /**
+   * Gets a copy of this state that changes independently of it.
+   *
+   * @return The copy.
+   */
+  public GameState copy() {
+    return new GameState(this);
+  }
+
+  /**
+   * Tells whether a state could belong to a game on the same map as this one.
+   *
+   * @param other The other state.
+   * @return Whether both have the same number of rooms and items.
+   */
+  public boolean isSameMap(GameState other) {
+    return roomCount == other.roomCount && itemHolders.length == other.itemHolders.length;
+  }
+
+  /**
+   * Makes this state the same as another of the same map, reusing the arrays
+   * of this one where they are large enough.
+   */
+  void copyFrom(GameState other) {
+    if (!isSameMap(other)) {
+      throw new IllegalArgumentException("State is of a different map.");
+    }
+    System.arraycopy(other.itemHolders, 0, itemHolders, 0, itemHolders.length);
+    if (playerRooms.length < other.playerCount) {
+      playerRooms = other.playerRooms.clone();
+      playerArrivals = other.playerArrivals.clone();
+      hands = other.hands.clone();
+      handSizes = other.handSizes.clone();
+      turnOrder = other.turnOrder.clone();
+    } else {
+      int count = other.playerCount;
+      System.arraycopy(other.playerRooms, 0, playerRooms, 0, count);
+      System.arraycopy(other.playerArrivals, 0, playerArrivals, 0, count);
+      System.arraycopy(other.hands, 0, hands, 0, HAND_SIZE * count);
+      System.arraycopy(other.handSizes, 0, handSizes, 0, count);
+      System.arraycopy(other.turnOrder, 0, turnOrder, 0, count);
+    }
+    copyCounters(other);
+  }
+
+  private void copyCounters(GameState other) {
+    turn = other.turn;
+    maxTurn = other.maxTurn;
+    gameOver = other.gameOver;
+    targetRoom = other.targetRoom;
+    targetHealth = other.targetHealth;
+    petRoom = other.petRoom;
+    playerCount = other.playerCount;
+    arrivalCount = other.arrivalCount;
+    turnHead = other.turnHead;
+  }
+
+  /**
+   * Gets the number of turns played, or -1 before the game starts.
+   *
+   * @return The current turn.
+   */
+  public int getTurn() {
+    return turn;
+  }
+
+  /**
+   * Gets the number of turns the game lasts.
+   *
+   * @return The maximum turn.
+   */
+  public int getMaxTurn() {
+    return maxTurn;
+  }
+
+  /**
+   * Tells whether the game was declared over.
+   *
+   * @return Whether the game is over.
+   */
+  public boolean isGameOver() {
+    return gameOver;
+  }
+
+  /**
+   * Gets the room the target is in.
+   *
+   * @return The id of the room.
+   */
+  public int getTargetRoom() {
+    return targetRoom;
+  }
+
+  /**
+   * Gets the health the target has left, which is not positive once it died.
+   *
+   * @return The health of the target.
+   */
+  public int getTargetHealth() {
+    return targetHealth;
+  }
+
+  /**
+   * Gets the room the pet is in.
+   *
+   * @return The id of the room.
+   */
+  public int getPetRoom() {
+    return petRoom;
+  }
+
+  /**
+   * Gets the number of rooms of the map.
+   *
+   * @return The number of rooms.
+   */
+  public int getRoomCount() {
+    return roomCount;
+  }
+
+  /**
+   * Gets the number of players.
+   *
+   * @return The number of players.
+   */
+  public int getPlayerCount() {
+    return playerCount;
+  }
+
+  /**
+   * Gets the room a player is in.
+   *
+   * @param player The index of the player.
+   * @return The id of the room.
+   */
+  public int getPlayerRoom(int player) {
+    return playerRooms[checkPlayer(player)];
+  }
+
+  /**
+   * Tells whether one player came into their room before another came into
+   * theirs.
+   *
+   * @param player The index of one player.
+   * @param other  The index of the other player.
+   * @return Whether the first player arrived earlier.
+   */
+  public boolean arrivedBefore(int player, int other) {
+    return playerArrivals[checkPlayer(player)] < playerArrivals[checkPlayer(other)];
+  }
+
+  /**
+   * Gets the number of items a player holds.
+   *
+   * @param player The index of the player.
+   * @return The number of items.
+   */
+  public int getHandSize(int player) {
+    return handSizes[checkPlayer(player)];
+  }
+
+  /**
+   * Gets an item a player holds.
+   *
+   * @param player The index of the player.
+   * @param slot   The position of the item in the player's hand.
+   * @return The index of the item.
+   */
+  public int getHeldItem(int player, int slot) {
+    if (slot < 0 || slot >= getHandSize(player)) {
+      throw new IllegalArgumentException("Player " + player + " holds no item " + slot + ".");
+    }
+    return hands[HAND_SIZE * player + slot];
+  }
+
+  /**
+   * Gets who holds an item.
+   *
+   * @param item The index of the item.
+   * @return The index of the player, {@link #ON_FLOOR} or {@link #USED}.
+   */
+  public int getItemHolder(int item) {
+    return itemHolders[item];
+  }
+
+  /**
+   * Gets a player in the order of turns.
+   *
+   * @param position How many turns from now the player plays, from 0 to the
+   *                 number of players minus one.
+   * @return The index of the player.
+   */
+  public int getPlayerInTurn(int position) {
+    if (position < 0 || position >= playerCount) {
+      throw new IllegalArgumentException("There is no player " + position + " in turn.");
+    }
+    return turnOrder[(turnHead + position) % playerCount];
+  }
+
+  void setTurn(int turn) {
+    this.turn = turn;
+  }
+
+  void setMaxTurn(int maxTurn) {
+    this.maxTurn = maxTurn;
+  }
+
+  void setGameOver(boolean gameOver) {
+    this.gameOver = gameOver;
+  }
+
+  void setPetRoom(int petRoom) {
+    this.petRoom = petRoom;
+  }
+
+  /**
+   * Moves the target on to the room with the next id.
+   */
+  void moveTarget() {
+    targetRoom = targetRoom == roomCount - 1 ? 0 : targetRoom + 1;
+  }
+
+  /**
+   * Takes health from the target.
+   *
+   * @return Whether the target died.
+   */
+  boolean damageTarget(int damage) {
+    targetHealth -= damage;
+    return targetHealth <= 0;
+  }
+
+  /**
+   * Counts a turn and passes it to the next player.
+   */
+  void nextTurn() {
+    turn += 1;
+    if (playerCount > 0) {
+      turnHead = (turnHead + 1) % playerCount;
+    }
+  }
+
+  /**
+   * Adds a player, who plays after everyone already in the game.
+   *
+   * @return The index of the player.
+   */
+  int addPlayer(int room) {
+    if (playerCount == playerRooms.length) {
+      int capacity = 2 * playerCount;
+      playerRooms = Arrays.copyOf(playerRooms, capacity);
+      playerArrivals = Arrays.copyOf(playerArrivals, capacity);
+      hands = Arrays.copyOf(hands, HAND_SIZE * capacity);
+      handSizes = Arrays.copyOf(handSizes, capacity);
+    }
+    // line the turn order up so the new player goes at its end
+    int[] order = new int[playerRooms.length];
+    for (int i = 0; i < playerCount; i++) {
+      order[i] = turnOrder[(turnHead + i) % playerCount];
+    }
+    turnOrder = order;
+    turnHead = 0;
+
+    int player = playerCount++;
+    turnOrder[player] = player;
+    playerRooms[player] = room;
+    playerArrivals[player] = arrivalCount++;
+    return player;
+  }
+
+  void movePlayer(int player, int room) {
+    playerRooms[checkPlayer(player)] = room;
+    playerArrivals[player] = arrivalCount++;
+  }
+
+  /**
+   * Puts an item from the floor in a player's hand. A player whose hands are
+   * full drops the first item held, which is lost.
+   */
+  void pickUp(int player, int item) {
+    checkPlayer(player);
+    if (itemHolders[item] != ON_FLOOR) {
+      throw new IllegalStateException("Item " + item + " is not on the floor.");
+    }
+    if (handSizes[player] == HAND_SIZE) {
+      itemHolders[hands[HAND_SIZE * player]] = USED;
+      hands[HAND_SIZE * player] = item;
+    } else {
+      hands[HAND_SIZE * player + handSizes[player]++] = item;
+    }
+    itemHolders[item] = player;
+  }
+
+  /**
+   * Uses up an item a player holds, the ones after it moving up one slot.
+   *
+   * @return The index of the item.
+   */
+  int use(int player, int slot) {
+    int item = getHeldItem(player, slot);
+    int start = HAND_SIZE * player;
+    System.arraycopy(hands, start + slot + 1, hands, start + slot, handSizes[player] - slot - 1);
+    handSizes[player]--;
+    itemHolders[item] = USED;
+    return item;
+  }
+
+  private int checkPlayer(int player) {
+    if (player < 0 || player >= playerCount) {
+      throw new IllegalArgumentException("There is no player " + player + ".");
+    }
+    return player;
+  }
+}
@@ -0,0 +1,67 @@
+package model;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code GreedyDamageStrategy} class is a computer player that goes after
+ * the strongest items it can get. It attacks with its strongest item whenever
+ * it shares a room with the target and nobody can see it, picks up the
+ * strongest item in its room and walks to the neighbor room with the strongest
+ * item, as long as that is stronger than what it would have to drop. When
+ * there is nothing to pick up it plays like {@link RandomStrategy}.
+ */
+public final class GreedyDamageStrategy implements ComputerStrategy {
+  /**
+   * The only instance, as the strategy keeps no state.
+   */
+  public static final GreedyDamageStrategy INSTANCE = new GreedyDamageStrategy();
+
+  private GreedyDamageStrategy() {
+  }
+
+  @Override
+  public ComputerAction chooseAction(ReadOnlyModel game, Player player, Random random) {
+    int room = player.getCurrentRoom();
+    if (room == game.getTargetPosition() && !game.canBeSeen(player)) {
+      return ComputerAction.attack(RandomStrategy.strongest(player.getItemList()));
+    }
+
+    int worth = worthPicking(player.getItemList());
+    List<Item> itemList = game.getItemsInRoom(room);
+    int strongest = RandomStrategy.strongest(itemList);
+    if (strongest >= 0 && itemList.get(strongest).getDamage() > worth) {
+      return ComputerAction.pickItem(strongest);
+    }
+
+    int bestRoom = -1;
+    for (int neighbor : game.getNeighbors(room)) {
+      List<Item> neighborItems = game.getItemsInRoom(neighbor);
+      int best = RandomStrategy.strongest(neighborItems);
+      if (best >= 0 && neighborItems.get(best).getDamage() > worth) {
+        worth = neighborItems.get(best).getDamage();
+        bestRoom = neighbor;
+      }
+    }
+    if (bestRoom >= 0) {
+      return ComputerAction.move(bestRoom);
+    }
+    return RandomStrategy.INSTANCE.chooseAction(game, player, random);
+  }
+
+  /**
+   * The damage an item must beat to be worth picking up: nothing while the
+   * hands are not full, else the first item held, which would be dropped.
+   */
+  private static int worthPicking(List<Item> held) {
+    if (held.size() < GameState.HAND_SIZE) {
+      return 0;
+    }
+    return held.get(0).getDamage();
+  }
+
+  @Override
+  public String toString() {
+    return "Greedy";
+  }
+}
@@ -0,0 +1,75 @@
+package model;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code InterceptStrategy} class is a computer player that walks to meet
+ * the target instead of following it. Since the target moves to the next room
+ * after every turn, the strategy knows where it will be on each of the
+ * player's coming turns, and heads for the first of those rooms it can reach
+ * in time. Waiting there, it picks up items or looks around. It attacks with
+ * its strongest item whenever nobody can see it, and when somebody can it
+ * moves the pet into its own room to block their view.
+ */
+public final class InterceptStrategy implements ComputerStrategy {
+  /**
+   * The only instance, as the strategy keeps no state.
+   */
+  public static final InterceptStrategy INSTANCE = new InterceptStrategy();
+
+  private InterceptStrategy() {
+  }
+
+  @Override
+  public ComputerAction chooseAction(ReadOnlyModel game, Player player, Random random) {
+    int room = player.getCurrentRoom();
+    if (room == game.getTargetPosition()) {
+      if (!game.canBeSeen(player)) {
+        return ComputerAction.attack(RandomStrategy.strongest(player.getItemList()));
+      }
+      if (game.getPetPosition() != room) {
+        return ComputerAction.movePet(room);
+      }
+    }
+
+    int meeting = meetingRoom(game, room);
+    if (meeting >= 0 && meeting != room) {
+      return ComputerAction.move(game.getNextHop(room, meeting));
+    }
+
+    List<Item> itemList = game.getItemsInRoom(room);
+    int strongest = RandomStrategy.strongest(itemList);
+    if (strongest >= 0
+        && (player.getItemList().size() < GameState.HAND_SIZE
+        || itemList.get(strongest).getDamage() > player.getItemList().get(0).getDamage())) {
+      return ComputerAction.pickItem(strongest);
+    }
+    return ComputerAction.lookAround();
+  }
+
+  /**
+   * Find the room the target is in on the first of the player's coming turns
+   * that the player can reach in time, one move per turn.
+   *
+   * @return The room, or -1 if the player can not meet the target.
+   */
+  private static int meetingRoom(ReadOnlyModel game, int room) {
+    int turn = game.getTurn();
+    int players = Math.max(1, game.getPlayerCount());
+    // the target is back where it started after visiting every room once
+    for (int turns = 1; turns <= game.getRoomCnt(); turns++) {
+      int targetRoom = game.getTargetPositionAt(turn + turns * players);
+      int distance = game.getDistance(room, targetRoom);
+      if (distance >= 0 && distance <= turns) {
+        return targetRoom;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public String toString() {
+    return "Intercept";
+  }
+}
@@ -1,6 +1,7 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -47,6 +48,36 @@ public class Mansion {
     return new ArrayList<>(roomList);
   }
 
+  /**
+   * Gets a read only view of the rooms within the mansion. Unlike
+   * {@link #getRoomList()} it does not copy the list.
+   *
+   * @return The unmodifiable list of rooms.
+   */
+  public List<Room> getRooms() {
+    return Collections.unmodifiableList(roomList);
+  }
+
+  /**
+   * Gets the room with the given id.
+   *
+   * @param id The id of the room.
+   * @return The room.
+   * @throws IndexOutOfBoundsException if there is no room with this id.
+   */
+  public Room getRoom(int id) {
+    return roomList.get(id);
+  }
+
+  /**
+   * Gets the number of rooms within the mansion.
+   *
+   * @return The number of rooms.
+   */
+  public int getRoomCount() {
+    return roomList.size();
+  }
+
   /**
    * Gets the number of rows in the mansion grid.
    *
@@ -0,0 +1,315 @@
+package model;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * The {@code MansionGenerator} class makes up mansions of any size, for
+ * testing the game on maps far larger than the ones drawn by hand. The same
+ * seed and settings always give the same mansion.
+ *
+ * <p>Rooms are laid out in bands running across the grid, from the top down.
+ * Every room of a band is as tall as the band, and the bands touch, so no two
+ * rooms ever share a cell and rooms in neighboring bands are neighbors where
+ * their columns overlap. Within a band, the wall between two rooms is left
+ * open with the chance given by the connectivity, and otherwise the rooms are
+ * kept one column apart. Rooms of the first band always touch, and a room
+ * after a gap is at least two columns wide, so every room can be reached from
+ * every other room.
+ */
+public class MansionGenerator {
+  /**
+   * The most damage a generated item does.
+   */
+  public static final int MAX_ITEM_DAMAGE = 5;
+
+  private final long seed;
+  private int roomCount = 100;
+  private int rows;
+  private int columns;
+  private int minRoomSide = 2;
+  private int maxRoomSide = 6;
+  private double sizeSkew = 1;
+  private double itemDensity = 0.5;
+  private double connectivity = 1;
+  private int targetHealth = 50;
+
+  /**
+   * Constructs a generator of 100 room mansions with half an item per room.
+   *
+   * @param seed The seed of the random choices.
+   */
+  public MansionGenerator(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Sets the number of rooms.
+   *
+   * @param roomCount The number of rooms.
+   * @return This generator.
+   * @throws IllegalArgumentException if the number is not positive.
+   */
+  public MansionGenerator withRoomCount(int roomCount) {
+    if (roomCount <= 0) {
+      throw new IllegalArgumentException("Mansion should have at least one room.");
+    }
+    this.roomCount = roomCount;
+    return this;
+  }
+
+  /**
+   * Sets the size of the mansion grid. By default the grid is about square
+   * and just tall enough for the rooms.
+   *
+   * @param rows    The number of rows, 0 for just as many as the rooms need.
+   * @param columns The number of columns, 0 to make the grid about square.
+   * @return This generator.
+   * @throws IllegalArgumentException if a number is negative.
+   */
+  public MansionGenerator withGrid(int rows, int columns) {
+    if (rows < 0 || columns < 0) {
+      throw new IllegalArgumentException("Size of mansion should not be negative.");
+    }
+    this.rows = rows;
+    this.columns = columns;
+    return this;
+  }
+
+  /**
+   * Sets the sizes of the rooms. The height and the width of every room are
+   * drawn between the two sides, except that the last room of a band is
+   * widened to fill it.
+   *
+   * @param minSide The shortest side.
+   * @param maxSide The longest side.
+   * @param skew    How much smaller rooms are favored: 1 draws every side
+   *                equally often, larger numbers make small rooms more common
+   *                and numbers below 1 make large rooms more common.
+   * @return This generator.
+   * @throws IllegalArgumentException if the sides are not positive, are in
+   *                                  the wrong order, or the skew is not
+   *                                  positive.
+   */
+  public MansionGenerator withRoomSize(int minSide, int maxSide, double skew) {
+    if (minSide <= 0 || maxSide < minSide) {
+      throw new IllegalArgumentException("Room sides should be positive and in order.");
+    }
+    if (!(skew > 0)) {
+      throw new IllegalArgumentException("Skew of room sizes should be positive.");
+    }
+    this.minRoomSide = minSide;
+    this.maxRoomSide = maxSide;
+    this.sizeSkew = skew;
+    return this;
+  }
+
+  /**
+   * Sets how many items there are for every room. Items are put in rooms
+   * picked at random.
+   *
+   * @param itemDensity The number of items per room.
+   * @return This generator.
+   * @throws IllegalArgumentException if the density is negative.
+   */
+  public MansionGenerator withItemDensity(double itemDensity) {
+    if (!(itemDensity >= 0)) {
+      throw new IllegalArgumentException("Item density should not be negative.");
+    }
+    this.itemDensity = itemDensity;
+    return this;
+  }
+
+  /**
+   * Sets the chance that two rooms side by side in a band are neighbors. With
+   * 1 every room touches the rooms around it; with 0 rooms only reach each
+   * other through the bands above and below.
+   *
+   * @param connectivity The chance, from 0 to 1.
+   * @return This generator.
+   * @throws IllegalArgumentException if the chance is not between 0 and 1.
+   */
+  public MansionGenerator withConnectivity(double connectivity) {
+    if (!(connectivity >= 0 && connectivity <= 1)) {
+      throw new IllegalArgumentException("Connectivity should be between 0 and 1.");
+    }
+    this.connectivity = connectivity;
+    return this;
+  }
+
+  /**
+   * Sets the health the target starts with.
+   *
+   * @param targetHealth The health.
+   * @return This generator.
+   * @throws IllegalArgumentException if the health is not positive.
+   */
+  public MansionGenerator withTargetHealth(int targetHealth) {
+    if (targetHealth <= 0) {
+      throw new IllegalArgumentException("Target's health should be positive.");
+    }
+    this.targetHealth = targetHealth;
+    return this;
+  }
+
+  /**
+   * Generates a mansion.
+   *
+   * @return The template of the mansion.
+   * @throws IllegalArgumentException if the rooms do not fit in the grid.
+   */
+  public MansionTemplate generate() {
+    Layout layout = layout();
+    String[] roomNames = new String[roomCount];
+    for (int i = 0; i < roomCount; i++) {
+      roomNames[i] = roomName(i);
+    }
+    String[] itemNames = new String[layout.itemRooms.length];
+    for (int i = 0; i < itemNames.length; i++) {
+      itemNames[i] = itemName(i);
+    }
+    return new MansionTemplate(name(), layout.rows, layout.columns, "Doctor Lucky",
+        targetHealth, MapParser.DEFAULT_PET_NAME, roomNames, layout.locations,
+        itemNames, layout.itemDamages, layout.itemRooms);
+  }
+
+  /**
+   * Generates a mansion and writes it in the text format.
+   *
+   * @param out Where to write the map.
+   * @throws IOException if writing fails.
+   * @throws IllegalArgumentException if the rooms do not fit in the grid.
+   */
+  public void write(Appendable out) throws IOException {
+    Layout layout = layout();
+    StringBuilder line = new StringBuilder(64);
+    out.append(line.append(layout.rows).append(' ').append(layout.columns).append(' ')
+        .append(name()).append('\n'));
+    line.setLength(0);
+    out.append(line.append(targetHealth).append(" Doctor Lucky\n")
+        .append(MapParser.DEFAULT_PET_NAME).append('\n')
+        .append(roomCount).append('\n'));
+    int[] locations = layout.locations;
+    for (int i = 0; i < roomCount; i++) {
+      line.setLength(0);
+      for (int k = 0; k < 4; k++) {
+        line.append(locations[4 * i + k]).append(' ');
+      }
+      out.append(line.append(roomName(i)).append('\n'));
+    }
+    line.setLength(0);
+    out.append(line.append(layout.itemRooms.length).append('\n'));
+    for (int i = 0; i < layout.itemRooms.length; i++) {
+      line.setLength(0);
+      out.append(line.append(layout.itemRooms[i]).append(' ').append(layout.itemDamages[i])
+          .append(' ').append(itemName(i)).append('\n'));
+    }
+  }
+
+  /**
+   * Generates a mansion and writes it to a file in the text format.
+   *
+   * @param path The file to write, replaced if it exists.
+   * @throws IOException if writing fails.
+   * @throws IllegalArgumentException if the rooms do not fit in the grid.
+   */
+  public void write(Path path) throws IOException {
+    try (Writer writer = new BufferedWriter(
+        Files.newBufferedWriter(path, StandardCharsets.UTF_8), 1 << 16)) {
+      write(writer);
+    }
+  }
+
+  /**
+   * The rooms and items of a mansion as numbers.
+   */
+  private static final class Layout {
+    private final int rows;
+    private final int columns;
+    private final int[] locations;
+    private final int[] itemRooms;
+    private final int[] itemDamages;
+
+    Layout(int rows, int columns, int[] locations, int[] itemRooms, int[] itemDamages) {
+      this.rows = rows;
+      this.columns = columns;
+      this.locations = locations;
+      this.itemRooms = itemRooms;
+      this.itemDamages = itemDamages;
+    }
+  }
+
+  private Layout layout() {
+    Random random = new Random(seed);
+    int width = columns;
+    if (width == 0) {
+      double side = (minRoomSide + maxRoomSide) / 2.0;
+      width = Math.max(maxRoomSide, (int) Math.ceil(Math.sqrt(roomCount) * side));
+    }
+
+    int[] locations = new int[4 * roomCount];
+    int placed = 0;
+    int top = 0;
+    while (placed < roomCount) {
+      int bottom = top + side(random) - 1;
+      boolean firstBand = placed == 0;
+      int column = 0;
+      while (column < width && placed < roomCount) {
+        int left = column;
+        int roomWidth = side(random);
+        // a room after a gap is two columns wide, so the band above it always reaches it
+        if (!firstBand && column > 0 && roomWidth >= 2 && random.nextDouble() >= connectivity
+            && width - column > 2) {
+          left++;
+        }
+        roomWidth = Math.min(roomWidth, width - left);
+        // widen the last room of a band so no columns are left uncovered under the next band
+        if (width - left - roomWidth < minRoomSide && placed + 1 < roomCount) {
+          roomWidth = width - left;
+        }
+        locations[4 * placed] = top;
+        locations[4 * placed + 1] = left;
+        locations[4 * placed + 2] = bottom;
+        locations[4 * placed + 3] = left + roomWidth - 1;
+        placed++;
+        column = left + roomWidth;
+      }
+      top = bottom + 1;
+    }
+    if (rows > 0 && top > rows) {
+      throw new IllegalArgumentException("The rooms need " + top + " rows but the mansion has "
+          + rows + ".");
+    }
+
+    int itemCnt = (int) Math.round(itemDensity * roomCount);
+    int[] itemRooms = new int[itemCnt];
+    int[] itemDamages = new int[itemCnt];
+    for (int i = 0; i < itemCnt; i++) {
+      itemRooms[i] = random.nextInt(roomCount);
+      itemDamages[i] = 1 + random.nextInt(MAX_ITEM_DAMAGE);
+    }
+    return new Layout(Math.max(rows, top), width, locations, itemRooms, itemDamages);
+  }
+
+  private int side(Random random) {
+    double draw = sizeSkew == 1 ? random.nextDouble() : Math.pow(random.nextDouble(), sizeSkew);
+    return minRoomSide + (int) ((maxRoomSide - minRoomSide + 1) * draw);
+  }
+
+  private String name() {
+    return "Generated Mansion " + seed;
+  }
+
+  private static String roomName(int room) {
+    return "Room " + room;
+  }
+
+  private static String itemName(int item) {
+    return "Item " + item;
+  }
+}
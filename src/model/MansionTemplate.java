@@ -0,0 +1,552 @@
+package model;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code MansionTemplate} class holds everything about a map that does not
+ * change during a game: the size and name of the mansion, the target and the
+ * pet, the rooms with their neighbors, the items with the rooms they start in,
+ * and the route the pet wanders along.
+ *
+ * <p>A template never changes once built, so one template can be shared by any
+ * number of games. The neighbors and the pet route are worked out when the
+ * template is built, or read back from a compiled map file by
+ * {@link BinaryMapFormat}.
+ */
+public final class MansionTemplate {
+  private final String name;
+  private final int rows;
+  private final int columns;
+  private final String targetName;
+  private final int targetHealth;
+  private final String petName;
+  private final String[] roomNames;
+  // four numbers per room, in the order of Room.getLocation()
+  private final int[] roomLocations;
+  private final int[][] adjacency;
+  private final String[] itemNames;
+  private final int[] itemDamages;
+  private final int[] itemRooms;
+  private final int[] petRoute;
+  // items starting in room r are roomItems[roomItemStart[r]] up to roomItems[roomItemStart[r + 1]]
+  private final int[] roomItemStart;
+  private final int[] roomItems;
+  // the object forms below are built on first use, once, under the lock of this template
+  private volatile Rooms rooms;
+  private volatile Pet pet;
+  private volatile RoomDistances roomDistances;
+  private volatile RoomOccupancy occupancy;
+
+  /**
+   * The rooms and items of the map as objects, with the grid answering them.
+   */
+  private static final class Rooms {
+    private final Item[] items;
+    private final Mansion mansion;
+    private final RoomGrid grid;
+
+    Rooms(Item[] items, Mansion mansion, RoomGrid grid) {
+      this.items = items;
+      this.mansion = mansion;
+      this.grid = grid;
+    }
+  }
+
+  /**
+   * Constructs a template, working out the neighbors of every room and the
+   * route of the pet.
+   *
+   * @param name          The name of the mansion.
+   * @param rows          The number of rows in the mansion grid.
+   * @param columns       The number of columns in the mansion grid.
+   * @param targetName    The name of the target.
+   * @param targetHealth  The health the target starts with.
+   * @param petName       The name of the pet.
+   * @param roomNames     The names of the rooms, indexed by id.
+   * @param roomLocations The locations of the rooms, four numbers per room in
+   *                      the same order as {@link Room#getLocation()}.
+   * @param itemNames     The names of the items.
+   * @param itemDamages   The damage of each item.
+   * @param itemRooms     The id of the room each item starts in.
+   * @throws IllegalArgumentException if any of the data is not valid.
+   */
+  public MansionTemplate(String name, int rows, int columns,
+                         String targetName, int targetHealth, String petName,
+                         String[] roomNames, int[] roomLocations,
+                         String[] itemNames, int[] itemDamages, int[] itemRooms) {
+    this(name, rows, columns, targetName, targetHealth, petName, roomNames, roomLocations,
+        null, itemNames, itemDamages, itemRooms, null);
+  }
+
+  /**
+   * Constructs a template from data that already holds the neighbors and the
+   * pet route, as read from a compiled map file.
+   */
+  MansionTemplate(String name, int rows, int columns,
+                  String targetName, int targetHealth, String petName,
+                  String[] roomNames, int[] roomLocations, int[][] adjacency,
+                  String[] itemNames, int[] itemDamages, int[] itemRooms, int[] petRoute) {
+    int roomCnt = roomNames.length;
+    if (rows < 0 || columns < 0) {
+      throw new IllegalArgumentException("Size of mansion should not be negative.");
+    }
+    if (roomCnt == 0) {
+      throw new IllegalArgumentException("Mansion should have at least one room.");
+    }
+    if (targetHealth <= 0) {
+      throw new IllegalArgumentException("Target's health should be positive.");
+    }
+    if (roomLocations.length != 4 * roomCnt) {
+      throw new IllegalArgumentException("Every room should have four location numbers.");
+    }
+    for (int i = 0; i < roomCnt; i++) {
+      int[] location = Arrays.copyOfRange(roomLocations, 4 * i, 4 * i + 4);
+      if (location[0] > location[2] || location[1] > location[3]) {
+        throw new IllegalArgumentException("Incorrect format for position of room " + i + ".");
+      }
+      if (location[0] < 0 || location[1] < 0) {
+        throw new IllegalArgumentException("Position of room " + i + " should be positive.");
+      }
+    }
+    if (itemDamages.length != itemNames.length || itemRooms.length != itemNames.length) {
+      throw new IllegalArgumentException("Every item should have a damage and a room.");
+    }
+    for (int i = 0; i < itemNames.length; i++) {
+      if (itemDamages[i] <= 0) {
+        throw new IllegalArgumentException("Item should have positive attack.");
+      }
+      if (itemRooms[i] < 0 || itemRooms[i] >= roomCnt) {
+        throw new IllegalArgumentException("Item " + itemNames[i] + " is in no room.");
+      }
+    }
+
+    this.name = name;
+    this.rows = rows;
+    this.columns = columns;
+    this.targetName = targetName;
+    this.targetHealth = targetHealth;
+    this.petName = petName;
+    this.roomNames = roomNames.clone();
+    for (int i = 0; i < roomCnt; i++) {
+      this.roomNames[i] = this.roomNames[i].trim();
+    }
+    this.roomLocations = roomLocations.clone();
+    this.itemNames = itemNames.clone();
+    this.itemDamages = itemDamages.clone();
+    this.itemRooms = itemRooms.clone();
+
+    if (adjacency == null) {
+      this.adjacency = AdjacencyBuilder.sweep(this.roomLocations);
+    } else {
+      if (adjacency.length != roomCnt) {
+        throw new IllegalArgumentException("Every room should have a list of neighbors.");
+      }
+      for (int[] neighbors : adjacency) {
+        for (int neighbor : neighbors) {
+          if (neighbor < 0 || neighbor >= roomCnt) {
+            throw new IllegalArgumentException("Neighbor " + neighbor + " is not a room.");
+          }
+        }
+      }
+      this.adjacency = adjacency;
+    }
+    if (petRoute == null) {
+      this.petRoute = depthFirstTraversal(this.adjacency);
+    } else {
+      for (int room : petRoute) {
+        if (room < 0 || room >= roomCnt) {
+          throw new IllegalArgumentException("Pet route passes room " + room + ".");
+        }
+      }
+      this.petRoute = petRoute;
+    }
+
+    this.roomItemStart = new int[roomCnt + 1];
+    for (int room : this.itemRooms) {
+      roomItemStart[room + 1]++;
+    }
+    for (int i = 0; i < roomCnt; i++) {
+      roomItemStart[i + 1] += roomItemStart[i];
+    }
+    this.roomItems = new int[this.itemRooms.length];
+    int[] next = Arrays.copyOf(roomItemStart, roomCnt);
+    for (int i = 0; i < this.itemRooms.length; i++) {
+      roomItems[next[this.itemRooms[i]]++] = i;
+    }
+  }
+
+  /**
+   * Loads a template from a map file, either in the text format or compiled
+   * by {@link BinaryMapFormat}.
+   *
+   * @param pathToFile The path of the map file.
+   * @return The template.
+   * @throws IOException if the file can not be read.
+   * @throws MapFormatException if a text map does not follow the format.
+   */
+  public static MansionTemplate load(String pathToFile) throws IOException {
+    if (BinaryMapFormat.isCompiled(pathToFile)) {
+      return BinaryMapFormat.read(pathToFile);
+    }
+    try (Reader reader = new FileReader(pathToFile)) {
+      return parse(reader);
+    }
+  }
+
+  /**
+   * Parses a map in the text format.
+   *
+   * @param reader The map to read, read to the end but not closed.
+   * @return The template.
+   * @throws IOException if the reader fails.
+   * @throws MapFormatException if the map does not follow the format.
+   */
+  public static MansionTemplate parse(Reader reader) throws IOException {
+    return MapParser.parse(reader);
+  }
+
+  /**
+   * Parses a map in the text format.
+   *
+   * @param information The content of the map file.
+   * @return The template.
+   * @throws MapFormatException if the map does not follow the format.
+   */
+  public static MansionTemplate parse(String information) {
+    try {
+      return MapParser.parse(new StringReader(information));
+    } catch (IOException ioException) {
+      throw new IllegalStateException("Reading a string failed", ioException);
+    }
+  }
+
+  /**
+   * Calculate the path for pet to move around, visiting neighbors in
+   * ascending order. Rooms that can not be reached from the first room are
+   * left out of the path.
+   */
+  private static int[] depthFirstTraversal(int[][] adjacency) {
+    int roomCnt = adjacency.length;
+    boolean[] visited = new boolean[roomCnt];
+    int[] stack = new int[roomCnt];
+    int[] routine = new int[roomCnt];
+    int top = 0;
+    int visitedCnt = 1;
+    stack[0] = 0;
+    visited[0] = true;
+
+    while (visitedCnt != roomCnt && top >= 0) {
+      int room = stack[top];
+      boolean isFound = false;
+      for (int neighbor : adjacency[room]) {
+        if (!visited[neighbor]) {
+          routine[visitedCnt++] = neighbor;
+          visited[neighbor] = true;
+          stack[++top] = neighbor;
+          isFound = true;
+          break;
+        }
+      }
+      if (!isFound) {
+        top--;
+      }
+    }
+    return Arrays.copyOf(routine, visitedCnt);
+  }
+
+  /**
+   * Gets the name of the mansion.
+   *
+   * @return The name of the mansion.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the number of rows in the mansion grid.
+   *
+   * @return The number of rows.
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Gets the number of columns in the mansion grid.
+   *
+   * @return The number of columns.
+   */
+  public int getColumns() {
+    return columns;
+  }
+
+  /**
+   * Gets the name of the target.
+   *
+   * @return The name of the target.
+   */
+  public String getTargetName() {
+    return targetName;
+  }
+
+  /**
+   * Gets the health the target starts with.
+   *
+   * @return The health of the target.
+   */
+  public int getTargetHealth() {
+    return targetHealth;
+  }
+
+  /**
+   * Gets the name of the pet.
+   *
+   * @return The name of the pet.
+   */
+  public String getPetName() {
+    return petName;
+  }
+
+  /**
+   * Gets the number of rooms.
+   *
+   * @return The number of rooms.
+   */
+  public int getRoomCount() {
+    return roomNames.length;
+  }
+
+  /**
+   * Gets the name of a room.
+   *
+   * @param room The id of the room.
+   * @return The name of the room.
+   */
+  public String getRoomName(int room) {
+    return roomNames[room];
+  }
+
+  /**
+   * Gets the location of a room.
+   *
+   * @param room The id of the room.
+   * @return A new array with the location, in the order of {@link Room#getLocation()}.
+   */
+  public int[] getRoomLocation(int room) {
+    return Arrays.copyOfRange(roomLocations, 4 * room, 4 * room + 4);
+  }
+
+  /**
+   * Gets the neighbors of a room.
+   *
+   * @param room The id of the room.
+   * @return A new array with the ids of the neighbors in ascending order.
+   */
+  public int[] getNeighbors(int room) {
+    return adjacency[room].clone();
+  }
+
+  /**
+   * Gets the number of items.
+   *
+   * @return The number of items.
+   */
+  public int getItemCount() {
+    return itemNames.length;
+  }
+
+  /**
+   * Gets the name of an item.
+   *
+   * @param item The index of the item.
+   * @return The name of the item.
+   */
+  public String getItemName(int item) {
+    return itemNames[item];
+  }
+
+  /**
+   * Gets the damage of an item.
+   *
+   * @param item The index of the item.
+   * @return The damage of the item.
+   */
+  public int getItemDamage(int item) {
+    return itemDamages[item];
+  }
+
+  /**
+   * Gets the room an item starts in.
+   *
+   * @param item The index of the item.
+   * @return The id of the room.
+   */
+  public int getItemRoom(int item) {
+    return itemRooms[item];
+  }
+
+  /**
+   * Gets the route the pet wanders along.
+   *
+   * @return A new array with the ids of the rooms in the order the pet visits them.
+   */
+  public int[] getPetRoute() {
+    return petRoute.clone();
+  }
+
+  /**
+   * The neighbors of every room, shared and not to be changed.
+   */
+  int[][] adjacency() {
+    return adjacency;
+  }
+
+  /**
+   * The locations of every room, shared and not to be changed.
+   */
+  int[] roomLocations() {
+    return roomLocations;
+  }
+
+  /**
+   * Index into {@link #roomItems()} of the first item starting in each room,
+   * with one more entry for the end of the last room. Shared and not to be
+   * changed.
+   */
+  int[] roomItemStart() {
+    return roomItemStart;
+  }
+
+  /**
+   * The items grouped by the room they start in, in order within each room.
+   * Shared and not to be changed.
+   */
+  int[] roomItems() {
+    return roomItems;
+  }
+
+  /**
+   * The items as objects, shared by every game, as items never change.
+   */
+  Item[] items() {
+    return rooms().items;
+  }
+
+  /**
+   * The mansion as objects, shared by every game. The rooms hold no items and
+   * no players and can not be changed; where things are during a game is
+   * kept in its {@link GameState}.
+   */
+  Mansion mansion() {
+    return rooms().mansion;
+  }
+
+  /**
+   * The lookup table from grid cells to the rooms of {@link #mansion()}.
+   */
+  RoomGrid roomGrid() {
+    return rooms().grid;
+  }
+
+  private Rooms rooms() {
+    Rooms built = rooms;
+    if (built == null) {
+      synchronized (this) {
+        built = rooms;
+        if (built == null) {
+          built = buildRooms();
+          rooms = built;
+        }
+      }
+    }
+    return built;
+  }
+
+  private Rooms buildRooms() {
+    int roomCnt = roomNames.length;
+    Item[] itemList = new Item[itemNames.length];
+    for (int i = 0; i < itemList.length; i++) {
+      itemList[i] = new Item(itemNames[i], itemDamages[i], roomCnt);
+    }
+    List<Room> roomList = new ArrayList<>(roomCnt);
+    for (int i = 0; i < roomCnt; i++) {
+      roomList.add(new Room(roomNames[i], getRoomLocation(i), i));
+    }
+    for (int i = 0; i < roomCnt; i++) {
+      Room room = roomList.get(i);
+      for (int neighbor : adjacency[i]) {
+        room.addNeighbor(roomList.get(neighbor));
+      }
+      room.freeze();
+    }
+    Mansion built = new Mansion(rows, columns, name, roomList);
+    RoomGrid grid = new RoomGrid(rows, columns, roomLocations).withRooms(roomList);
+    return new Rooms(itemList, built, grid);
+  }
+
+  /**
+   * The pet standing in the first room, whose route tables are shared by the
+   * pets of every game.
+   */
+  Pet pet() {
+    Pet built = pet;
+    if (built == null) {
+      synchronized (this) {
+        built = pet;
+        if (built == null) {
+          built = new Pet(petName, 0, petRoute);
+          pet = built;
+        }
+      }
+    }
+    return built;
+  }
+
+  /**
+   * The distances between rooms, shared by every game.
+   */
+  RoomDistances roomDistances() {
+    RoomDistances built = roomDistances;
+    if (built == null) {
+      synchronized (this) {
+        built = roomDistances;
+        if (built == null) {
+          built = new RoomDistances(adjacency);
+          roomDistances = built;
+        }
+      }
+    }
+    return built;
+  }
+
+  /**
+   * An occupancy with nobody in it, for games to copy.
+   */
+  RoomOccupancy emptyOccupancy() {
+    RoomOccupancy built = occupancy;
+    if (built == null) {
+      synchronized (this) {
+        built = occupancy;
+        if (built == null) {
+          built = new RoomOccupancy(adjacency);
+          occupancy = built;
+        }
+      }
+    }
+    return built;
+  }
+
+  /**
+   * The route of the pet, shared and not to be changed.
+   */
+  int[] petRoute() {
+    return petRoute;
+  }
+}
@@ -0,0 +1,166 @@
+package model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code MansionTemplateCache} class keeps the most recently used map
+ * templates, so that games started on the same map file share one template
+ * instead of each loading the file again.
+ *
+ * <p>Templates are looked up by the absolute path of the file and kept
+ * together with its modification time. A file that changed since it was
+ * loaded is loaded again. When more than the capacity of templates are kept,
+ * the least recently used one is dropped. If several threads ask for a map
+ * that is not loaded yet, it is loaded only once and all of them wait for it.
+ *
+ * <p>Instances are safe to share between threads.
+ */
+public class MansionTemplateCache {
+  /**
+   * Number of templates kept by the shared cache.
+   */
+  public static final int DEFAULT_CAPACITY = 16;
+  private static final MansionTemplateCache SHARED = new MansionTemplateCache(DEFAULT_CAPACITY);
+
+  private final Map<Path, Entry> entries;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  /**
+   * A template, or the loading of it, for one version of a file.
+   */
+  private static class Entry {
+    private final long modifiedTime;
+    private final FutureTask<MansionTemplate> template;
+
+    Entry(long modifiedTime, FutureTask<MansionTemplate> template) {
+      this.modifiedTime = modifiedTime;
+      this.template = template;
+    }
+  }
+
+  /**
+   * Constructs an empty cache.
+   *
+   * @param capacity The most templates kept at once.
+   * @throws IllegalArgumentException if the capacity is not positive.
+   */
+  public MansionTemplateCache(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity of cache should be positive.");
+    }
+    this.entries = new LinkedHashMap<Path, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Path, Entry> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * Gets the cache shared by every game in this process.
+   *
+   * @return The shared cache.
+   */
+  public static MansionTemplateCache getShared() {
+    return SHARED;
+  }
+
+  /**
+   * Gets the template of a map file, loading it if it is not kept or the file
+   * has changed since.
+   *
+   * @param pathToFile The path of the map file.
+   * @return The template.
+   * @throws IOException if the file can not be read.
+   * @throws MapFormatException if a text map does not follow the format.
+   */
+  public MansionTemplate get(String pathToFile) throws IOException {
+    Path path = Paths.get(pathToFile).toAbsolutePath().normalize();
+    long modifiedTime = Files.getLastModifiedTime(path).toMillis();
+
+    Entry entry;
+    boolean isOwner = false;
+    synchronized (entries) {
+      entry = entries.get(path);
+      if (entry == null || entry.modifiedTime != modifiedTime) {
+        entry = new Entry(modifiedTime,
+            new FutureTask<>(() -> MansionTemplate.load(path.toString())));
+        entries.put(path, entry);
+        isOwner = true;
+      }
+    }
+
+    if (isOwner) {
+      missCount.incrementAndGet();
+      entry.template.run();
+    } else {
+      hitCount.incrementAndGet();
+    }
+
+    try {
+      return entry.template.get();
+    } catch (ExecutionException e) {
+      synchronized (entries) {
+        entries.remove(path, entry);
+      }
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException("Loading " + pathToFile + " failed", cause);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while loading " + pathToFile, e);
+    }
+  }
+
+  /**
+   * Gets how many times a kept template was returned.
+   *
+   * @return The number of hits.
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Gets how many times a map had to be loaded.
+   *
+   * @return The number of misses.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * Gets the number of templates kept.
+   *
+   * @return The number of templates.
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Drops every template kept. The hit and miss counts are not reset.
+   */
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+}
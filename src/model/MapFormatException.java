@@ -0,0 +1,42 @@
+package model;
+
+/**
+ * The {@code MapFormatException} is thrown when a text map does not follow
+ * the map format. It tells where in the file the problem was found.
+ */
+public class MapFormatException extends IllegalArgumentException {
+  private static final long serialVersionUID = 1L;
+  private final int line;
+  private final int column;
+
+  /**
+   * Constructs the exception for a problem at a position in the map file.
+   *
+   * @param message What is wrong.
+   * @param line    The line of the problem, starting from 1.
+   * @param column  The column of the problem, starting from 1.
+   */
+  public MapFormatException(String message, int line, int column) {
+    super("Line " + line + ", column " + column + ": " + message);
+    this.line = line;
+    this.column = column;
+  }
+
+  /**
+   * Gets the line of the problem.
+   *
+   * @return The line, starting from 1.
+   */
+  public int getLine() {
+    return line;
+  }
+
+  /**
+   * Gets the column of the problem.
+   *
+   * @return The column, starting from 1.
+   */
+  public int getColumn() {
+    return column;
+  }
+}
@@ -0,0 +1,279 @@
+package model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * The {@code MapParser} class reads a map in the text format into a
+ * {@link MansionTemplate}. It makes a single pass over the input with its own
+ * small buffer, reads numbers one digit at a time, and keeps nothing of the
+ * file but the names and numbers it needs, so large maps are never held in
+ * memory as text.
+ *
+ * <p>The format is, one record per line:
+ * <pre>
+ * rows columns mansion name
+ * health target name
+ * pet name                         (may be left out)
+ * number of rooms
+ * row column row column room name  (once per room)
+ * number of items
+ * room damage item name            (once per item)
+ * </pre>
+ * Anything else makes it throw a {@link MapFormatException} that tells the
+ * line and column of the problem.
+ */
+final class MapParser {
+  /**
+   * Name of the pet for maps that leave it out.
+   */
+  static final String DEFAULT_PET_NAME = "Fortune the Cat";
+  private static final int EOF = -1;
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final Reader reader;
+  private final char[] buffer = new char[8192];
+  private final StringBuilder text = new StringBuilder();
+  private int length;
+  private int position;
+  private int line = 1;
+  private int column = 1;
+
+  private MapParser(Reader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Parses a map in the text format.
+   *
+   * @param reader The map to read, read to the end but not closed.
+   * @return The template.
+   * @throws IOException if the reader fails.
+   * @throws MapFormatException if the map does not follow the format.
+   */
+  static MansionTemplate parse(Reader reader) throws IOException {
+    return new MapParser(reader).parseMap();
+  }
+
+  private MansionTemplate parseMap() throws IOException {
+    int rows = readInt("the number of rows");
+    int columns = readInt("the number of columns");
+    String name = readName("the name of the mansion");
+
+    skipSpaces();
+    int healthColumn = column;
+    int targetHealth = readInt("the health of the target");
+    if (targetHealth == 0) {
+      throw error("the health of the target should be positive", line, healthColumn);
+    }
+    String targetName = readName("the name of the target");
+
+    // the pet line may be missing, then this line already holds the number of rooms
+    skipSpaces();
+    int countLine = line;
+    int countColumn = column;
+    String petName = readName("the name of the pet");
+    int roomNum;
+    if (isNumber(petName)) {
+      roomNum = toInt(petName, countLine, countColumn);
+      petName = DEFAULT_PET_NAME;
+    } else {
+      skipSpaces();
+      countLine = line;
+      countColumn = column;
+      roomNum = readInt("the number of rooms");
+      endLine();
+    }
+    if (roomNum == 0) {
+      throw error("the mansion should have at least one room", countLine, countColumn);
+    }
+
+    String[] roomNames = new String[Math.min(roomNum, INITIAL_CAPACITY)];
+    int[] roomLocations = new int[4 * roomNames.length];
+    for (int i = 0; i < roomNum; i++) {
+      if (i == roomNames.length) {
+        roomNames = Arrays.copyOf(roomNames, Math.min(roomNum, 2 * i));
+        roomLocations = Arrays.copyOf(roomLocations, 4 * roomNames.length);
+      }
+      int roomLine = line;
+      for (int k = 0; k < 4; k++) {
+        roomLocations[4 * i + k] = readInt("the location of room " + (i + 1));
+      }
+      if (roomLocations[4 * i] > roomLocations[4 * i + 2]
+          || roomLocations[4 * i + 1] > roomLocations[4 * i + 3]) {
+        throw error("room " + (i + 1) + " should end after it starts", roomLine, 1);
+      }
+      roomNames[i] = readName("the name of room " + (i + 1));
+    }
+
+    int itemNum = readInt("the number of items");
+    endLine();
+    String[] itemNames = new String[Math.min(itemNum, INITIAL_CAPACITY)];
+    int[] itemDamages = new int[itemNames.length];
+    int[] itemRooms = new int[itemNames.length];
+    for (int i = 0; i < itemNum; i++) {
+      if (i == itemNames.length) {
+        itemNames = Arrays.copyOf(itemNames, Math.min(itemNum, 2 * i));
+        itemDamages = Arrays.copyOf(itemDamages, itemNames.length);
+        itemRooms = Arrays.copyOf(itemRooms, itemNames.length);
+      }
+      skipSpaces();
+      int roomColumn = column;
+      itemRooms[i] = readInt("the room of item " + (i + 1));
+      if (itemRooms[i] >= roomNum) {
+        throw error("room " + itemRooms[i] + " of item " + (i + 1) + " does not exist",
+            line, roomColumn);
+      }
+      skipSpaces();
+      int damageColumn = column;
+      itemDamages[i] = readInt("the damage of item " + (i + 1));
+      if (itemDamages[i] == 0) {
+        throw error("the damage of item " + (i + 1) + " should be positive", line, damageColumn);
+      }
+      itemNames[i] = readName("the name of item " + (i + 1));
+    }
+
+    // only blank lines may follow the last item
+    int c = peek();
+    while (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+      next();
+      c = peek();
+    }
+    if (c != EOF) {
+      throw error("expected the end of the map but found " + describe(c), line, column);
+    }
+
+    return new MansionTemplate(name, rows, columns, targetName, targetHealth, petName,
+        roomNames, roomLocations, itemNames, itemDamages, itemRooms);
+  }
+
+  private int peek() throws IOException {
+    while (position == length) {
+      length = reader.read(buffer);
+      position = 0;
+      if (length < 0) {
+        length = 0;
+        return EOF;
+      }
+    }
+    return buffer[position];
+  }
+
+  private int next() throws IOException {
+    int c = peek();
+    if (c != EOF) {
+      position++;
+      if (c == '\n') {
+        line++;
+        column = 1;
+      } else {
+        column++;
+      }
+    }
+    return c;
+  }
+
+  private void skipSpaces() throws IOException {
+    int c = peek();
+    while (c == ' ' || c == '\t') {
+      next();
+      c = peek();
+    }
+  }
+
+  /**
+   * Read a number that is not negative, skipping the spaces before it.
+   */
+  private int readInt(String what) throws IOException {
+    skipSpaces();
+    int c = peek();
+    if (c < '0' || c > '9') {
+      throw error("expected " + what + " but found " + describe(c), line, column);
+    }
+    int startColumn = column;
+    long value = 0;
+    while (c >= '0' && c <= '9') {
+      value = value * 10 + (c - '0');
+      if (value > Integer.MAX_VALUE) {
+        throw error(what + " is too large", line, startColumn);
+      }
+      next();
+      c = peek();
+    }
+    return (int) value;
+  }
+
+  /**
+   * Read the rest of the line as a name, without the spaces around it.
+   */
+  private String readName(String what) throws IOException {
+    skipSpaces();
+    int c = peek();
+    if (c == EOF || c == '\n' || c == '\r') {
+      throw error("expected " + what + " but found " + describe(c), line, column);
+    }
+    text.setLength(0);
+    while (c != EOF && c != '\n') {
+      text.append((char) c);
+      next();
+      c = peek();
+    }
+    next();
+    int end = text.length();
+    while (Character.isWhitespace(text.charAt(end - 1))) {
+      end--;
+    }
+    return text.substring(0, end);
+  }
+
+  /**
+   * Make sure nothing but spaces is left on the line, and move to the next one.
+   */
+  private void endLine() throws IOException {
+    skipSpaces();
+    int c = peek();
+    if (c == '\r') {
+      next();
+      c = peek();
+    }
+    if (c != '\n' && c != EOF) {
+      throw error("expected the end of the line but found " + describe(c), line, column);
+    }
+    next();
+  }
+
+  private static boolean isNumber(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int toInt(String value, int line, int column) {
+    long number = 0;
+    for (int i = 0; i < value.length(); i++) {
+      number = number * 10 + (value.charAt(i) - '0');
+      if (number > Integer.MAX_VALUE) {
+        throw error("the number of rooms is too large", line, column);
+      }
+    }
+    return (int) number;
+  }
+
+  private static String describe(int c) {
+    if (c == EOF) {
+      return "the end of the file";
+    }
+    if (c == '\n' || c == '\r') {
+      return "the end of the line";
+    }
+    return "'" + (char) c + "'";
+  }
+
+  private static MapFormatException error(String message, int line, int column) {
+    return new MapFormatException(message, line, column);
+  }
+}
@@ -8,7 +8,6 @@ import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.StringReader;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -36,6 +35,7 @@ public class MockWorld implements WorldModel {
   private int currentTurn = -1;
   private int maxTurn;
   private boolean initialized = false;
+  private int mapVersion;
   private boolean isGameOver;
 
 
@@ -97,6 +97,7 @@ public class MockWorld implements WorldModel {
 
       parseString(new String(stringBuffer));
       initialized = true;
+      mapVersion++;
       isGameOver = false;
     } catch (IOException ioException) {
       ioException.printStackTrace();
@@ -147,6 +148,59 @@ public class MockWorld implements WorldModel {
     return null;
   }
 
+  @Override
+  public Room getRoomAtCell(int row, int column) {
+    for (Room room : mansion.getRoomList()) {
+      int[] location = room.getLocation();
+      if (row >= location[0] && row <= location[2]
+          && column >= location[1] && column <= location[3]) {
+        return room;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public int getDistance(int fromRoomId, int toRoomId) {
+    return createRoomDistances().getDistance(fromRoomId, toRoomId);
+  }
+
+  @Override
+  public int[] getNeighbors(int roomId) {
+    return mansion.getRoomList().get(roomId).getNeightborList().stream()
+        .mapToInt(Room::getId).sorted().toArray();
+  }
+
+  @Override
+  public List<Item> getItemsInRoom(int roomId) {
+    return new ArrayList<>(mansion.getRoomList().get(roomId).getItemList());
+  }
+
+  @Override
+  public boolean canBeSeen(Player player) {
+    return attackCheck(player);
+  }
+
+  @Override
+  public int getPlayerCount() {
+    return playerQueue.size();
+  }
+
+  @Override
+  public int getNextHop(int fromRoomId, int toRoomId) {
+    return createRoomDistances().getNextHop(fromRoomId, toRoomId);
+  }
+
+  private RoomDistances createRoomDistances() {
+    List<Room> roomList = mansion.getRoomList();
+    int[][] adjacency = new int[roomList.size()][];
+    for (int i = 0; i < adjacency.length; i++) {
+      adjacency[i] = roomList.get(i).getNeightborList().stream()
+          .mapToInt(Room::getId).toArray();
+    }
+    return new RoomDistances(adjacency);
+  }
+
   @Override
   public boolean checkTurnUsedUp() {
     return currentTurn + 1 > maxTurn;
@@ -211,33 +265,31 @@ public class MockWorld implements WorldModel {
     return player;
   }
 
+  @Override
+  public Player addPlayer(String name, int currentRoom, ComputerStrategy strategy) {
+    return addPlayer(name, currentRoom, false);
+  }
+
   /**
    * Return the command of computer player.
    *
    * @param player The current turn's player.
    * @return The command of computer player.
    */
-  public Readable computerPlayerAction(Player player) {
-    StringBuilder computerCommand = new StringBuilder();
-
+  public ComputerAction computerPlayerAction(Player player) {
     if (player.getCurrentRoom() == getTargetPosition()) {
-      computerCommand.append("attack\n");
       List<Item> itemList = player.getItemList();
-      if (!itemList.isEmpty()) {
-        int maxIdx = -1;
-        int max = 0;
-        int cnt = 0;
-        for (Item item : itemList) {
-          if (item.getDamage() > max) {
-            max = item.getDamage();
-            maxIdx = cnt;
-          }
-          cnt++;
+      int maxIdx = -1;
+      int max = 0;
+      int cnt = 0;
+      for (Item item : itemList) {
+        if (item.getDamage() > max) {
+          max = item.getDamage();
+          maxIdx = cnt;
         }
-        computerCommand.append(String.valueOf(maxIdx + 1)).append("\n");
-      } else {
-        return new StringReader(computerCommand.toString());
+        cnt++;
       }
+      return ComputerAction.attack(maxIdx);
     }
 
     int option = 3;
@@ -249,24 +301,20 @@ public class MockWorld implements WorldModel {
     int command = randomNumGenerator.getNextNumber(option);
 
     if (command == 0) {
-      computerCommand.append("look around\n");
+      return ComputerAction.lookAround();
     } else if (command == 1) {
-      computerCommand.append("move\n");
       List<Room> neighborList = mansion.getRoomList().get(player
           .getCurrentRoom()).getNeightborList();
       int max = neighborList.size();
       Room selected = neighborList.get(randomNumGenerator.getNextNumber(max));
 
-      computerCommand.append(selected.getId() + 1).append("\n");
+      return ComputerAction.move(selected.getId());
     } else if (command == 2) {
-      computerCommand.append("move pet\n");
       int maxMoveOption = mansion.getRoomList().size() - 1;
-      computerCommand.append(randomNumGenerator.getNextNumber(maxMoveOption) + 1);
+      return ComputerAction.movePet(randomNumGenerator.getNextNumber(maxMoveOption));
     } else {
-      computerCommand.append("pick item\n");
-      computerCommand.append("1");
+      return ComputerAction.pickItem(0);
     }
-    return new StringReader(computerCommand.toString());
   }
 
   @Override
@@ -501,8 +549,7 @@ public class MockWorld implements WorldModel {
       return new boolean[]{true, true};
     }
 
-    Item item = itemList.get(index);
-    itemList.remove(index);
+    Item item = player.removeItem(index);
 
     boolean died = target.takeAnAttack(item.getDamage());
 
@@ -526,6 +573,19 @@ public class MockWorld implements WorldModel {
     return target.getCurrentRoom();
   }
 
+  @Override
+  public int getTargetPositionAt(int turn) {
+    if (turn < currentTurn) {
+      throw new IllegalArgumentException("Turn " + turn + " has already passed.");
+    }
+    return target.roomAfter(turn - currentTurn);
+  }
+
+  @Override
+  public int getTurnsUntilTargetEnters(int roomId) {
+    return target.movesUntil(roomId);
+  }
+
   /**
    * Get the position of pet.
    *
@@ -535,6 +595,11 @@ public class MockWorld implements WorldModel {
     return pet.getCurrentRoom();
   }
 
+  @Override
+  public int getPetPositionAfter(int moves) {
+    return pet.roomAfter(moves);
+  }
+
   /**
    * Get the name of pet.
    *
@@ -752,6 +817,11 @@ public class MockWorld implements WorldModel {
     return initialized;
   }
 
+  @Override
+  public int getMapVersion() {
+    return mapVersion;
+  }
+
   /**
    * Get the positions of all the players and items in the world.
    * @return  A map of all the positions.
@@ -837,6 +907,19 @@ public class MockWorld implements WorldModel {
     isGameOver = true;
   }
 
-}
+  @Override
+  public GameState snapshot() {
+    throw new UnsupportedOperationException("Mock world does not keep a game state.");
+  }
 
+  @Override
+  public void restore(GameState snapshot) {
+    throw new UnsupportedOperationException("Mock world does not keep a game state.");
+  }
 
+  @Override
+  public WorldModel fork() {
+    throw new UnsupportedOperationException("Mock world can not be forked.");
+  }
+
+}
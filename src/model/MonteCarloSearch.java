@@ -0,0 +1,362 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code MonteCarloSearch} class chooses commands for computer players by
+ * Monte Carlo tree search. From the current game it tries out commands and
+ * plays the game on with {@link RandomStrategy} players for a few rounds, and
+ * picks the command that was tried most, as the search keeps trying the
+ * commands that worked out well.
+ *
+ * <p>The search runs on a fork-join pool. Every worker forks the game once,
+ * grows its own tree and restores the fork from a snapshot before every
+ * playout; when the time for the turn is up the counts at the roots are added
+ * together. Every player in the tree plays for themselves: a playout is worth
+ * one to the player who killed the target, and a share of the damage they did
+ * to everyone.
+ *
+ * <p>Instances are safe to share between games and threads.
+ */
+public class MonteCarloSearch {
+  /**
+   * Number of rounds each playout is played for after leaving the tree.
+   */
+  public static final int PLAYOUT_ROUNDS = 4;
+  // how much dealing all of the target's health is worth next to killing it
+  private static final double DAMAGE_WEIGHT = 0.5;
+  private static final double EXPLORATION = 1.4;
+
+  private final long budgetNanos;
+  private final int maxPlayouts;
+  private final int parallelism;
+  private final ForkJoinPool pool;
+  private final AtomicLong seeds;
+  private final AtomicLong totalPlayouts = new AtomicLong();
+  private final AtomicLong totalNanos = new AtomicLong();
+  private volatile long lastPlayouts;
+  private volatile long lastNanos;
+
+  /**
+   * A state of the game reached by a line of commands from the root.
+   */
+  private static final class Node {
+    private final ComputerAction action;
+    // the player who chose the action leading here, -1 at the root
+    private final int chooser;
+    private List<ComputerAction> untried;
+    private final List<Node> children = new ArrayList<>();
+    private int visits;
+    private double reward;
+
+    Node(ComputerAction action, int chooser) {
+      this.action = action;
+      this.chooser = chooser;
+    }
+  }
+
+  /**
+   * Constructs a search that uses every available core.
+   *
+   * @param budgetMillis The time to search for each command, in milliseconds.
+   * @throws IllegalArgumentException if the budget is not positive.
+   */
+  public MonteCarloSearch(long budgetMillis) {
+    this(budgetMillis, 0, Runtime.getRuntime().availableProcessors(), 1);
+  }
+
+  /**
+   * Constructs a search.
+   *
+   * @param budgetMillis The time to search for each command, in milliseconds.
+   * @param maxPlayouts  The most playouts for each command, 0 for no limit.
+   *                     With a limit and a long enough budget the choice only
+   *                     depends on the seed.
+   * @param parallelism  The number of workers searching at once.
+   * @param seed         The seed of the random choices in the playouts.
+   * @throws IllegalArgumentException if the budget or parallelism is not
+   *                                  positive, or the limit is negative.
+   */
+  public MonteCarloSearch(long budgetMillis, int maxPlayouts, int parallelism, long seed) {
+    if (budgetMillis <= 0) {
+      throw new IllegalArgumentException("Time budget should be positive.");
+    }
+    if (maxPlayouts < 0) {
+      throw new IllegalArgumentException("Playout limit should not be negative.");
+    }
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("Parallelism should be positive.");
+    }
+    this.budgetNanos = budgetMillis * 1_000_000L;
+    this.maxPlayouts = maxPlayouts;
+    this.parallelism = parallelism;
+    this.pool = new ForkJoinPool(parallelism);
+    this.seeds = new AtomicLong(seed);
+  }
+
+  /**
+   * Choose the command for the player whose turn it is.
+   *
+   * @param world  The game, which is not changed.
+   * @param player The current turn's player.
+   * @return The command to carry out.
+   * @throws IllegalArgumentException if it is not the player's turn.
+   */
+  public ComputerAction chooseAction(World world, Player player) {
+    if (world.getCurrentTurnPlayer() != player) {
+      throw new IllegalArgumentException("It is not " + player.getName() + "'s turn.");
+    }
+    List<ComputerAction> actions = legalActions(world, player);
+    if (actions.size() == 1) {
+      return actions.get(0);
+    }
+
+    long start = System.nanoTime();
+    long deadline = start + budgetNanos;
+    List<Future<Node>> results = new ArrayList<>(parallelism);
+    for (int i = 0; i < parallelism; i++) {
+      World fork = world.fork(seeds.getAndIncrement());
+      int limit = maxPlayouts == 0 ? Integer.MAX_VALUE
+          : maxPlayouts / parallelism + (i < maxPlayouts % parallelism ? 1 : 0);
+      Callable<Node> worker = () -> search(fork, deadline, limit);
+      results.add(pool.submit(worker));
+    }
+
+    int[] visits = new int[actions.size()];
+    double[] rewards = new double[actions.size()];
+    long playouts = 0;
+    try {
+      for (Future<Node> result : results) {
+        Node root = result.get();
+        playouts += root.visits;
+        for (Node child : root.children) {
+          int k = actions.indexOf(child.action);
+          visits[k] += child.visits;
+          rewards[k] += child.reward;
+        }
+      }
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Search failed", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while searching", e);
+    }
+
+    long nanos = System.nanoTime() - start;
+    lastPlayouts = playouts;
+    lastNanos = nanos;
+    totalPlayouts.addAndGet(playouts);
+    totalNanos.addAndGet(nanos);
+
+    int best = 0;
+    for (int k = 1; k < actions.size(); k++) {
+      if (visits[k] > visits[best]
+          || visits[k] == visits[best] && rewards[k] > rewards[best]) {
+        best = k;
+      }
+    }
+    return actions.get(best);
+  }
+
+  /**
+   * Grow a tree from the state of a fork until the deadline or the playout
+   * limit.
+   */
+  private static Node search(World game, long deadline, int limit) {
+    GameState start = game.snapshot();
+    Node root = new Node(null, -1);
+    root.untried = legalActions(game, game.getCurrentTurnPlayer());
+    int playerCount = start.getPlayerCount();
+    double[] damage = new double[playerCount];
+    List<Node> path = new ArrayList<>();
+
+    while (root.visits < limit && System.nanoTime() < deadline) {
+      game.restore(start);
+      Arrays.fill(damage, 0);
+      path.clear();
+      path.add(root);
+      int winner = -1;
+
+      // follow the best children while every command of a node was tried
+      Node node = root;
+      while (node.untried != null && node.untried.isEmpty() && !node.children.isEmpty()
+          && winner == -1) {
+        node = select(node);
+        winner = play(game, node.action, damage);
+        path.add(node);
+      }
+
+      // try one more command
+      if (winner == -1 && !isOver(game) && node.untried != null && !node.untried.isEmpty()) {
+        int chooser = game.getState().getPlayerInTurn(0);
+        ComputerAction action = node.untried.remove(node.untried.size() - 1);
+        Node child = new Node(action, chooser);
+        node.children.add(child);
+        winner = play(game, action, damage);
+        if (winner == -1 && !isOver(game)) {
+          child.untried = legalActions(game, game.getCurrentTurnPlayer());
+        }
+        path.add(child);
+      }
+
+      // play on at random for a few rounds
+      for (int turn = 0; turn < PLAYOUT_ROUNDS * playerCount && winner == -1; turn++) {
+        if (isOver(game)) {
+          break;
+        }
+        Player player = game.getCurrentTurnPlayer();
+        winner = play(game, RandomStrategy.INSTANCE.chooseAction(game, player, game.getRandom()),
+            damage);
+      }
+
+      double health = start.getTargetHealth();
+      for (Node visited : path) {
+        visited.visits++;
+        if (visited.chooser >= 0) {
+          visited.reward += DAMAGE_WEIGHT * damage[visited.chooser] / health
+              + (visited.chooser == winner ? 1 : 0);
+        }
+      }
+    }
+    return root;
+  }
+
+  private static Node select(Node node) {
+    double logVisits = Math.log(node.visits);
+    Node best = null;
+    double bestScore = Double.NEGATIVE_INFINITY;
+    for (Node child : node.children) {
+      double score = child.reward / child.visits
+          + EXPLORATION * Math.sqrt(logVisits / child.visits);
+      if (score > bestScore) {
+        bestScore = score;
+        best = child;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Carry out a command for the current turn's player and credit the damage
+   * done to them.
+   *
+   * @return The index of the player if they killed the target, else -1.
+   */
+  private static int play(World game, ComputerAction action, double[] damage) {
+    GameState state = game.getState();
+    int player = state.getPlayerInTurn(0);
+    int health = state.getTargetHealth();
+    int turn = state.getTurn();
+    game.playAction(game.getCurrentTurnPlayer(), action);
+    damage[player] += health - state.getTargetHealth();
+    if (state.getTargetHealth() <= 0) {
+      return player;
+    }
+    if (state.getTurn() == turn) {
+      // the command did not go through, count it as waiting a turn
+      game.updateTurn();
+    }
+    return -1;
+  }
+
+  private static boolean isOver(World game) {
+    return game.checkTurnUsedUp() || game.getTargetRemainingHealth() <= 0;
+  }
+
+  /**
+   * The commands worth trying for a player: attacking when nobody sees it,
+   * with the strongest item or bare hand, moving to any neighbor room,
+   * picking up the strongest item in the room, looking around, and moving
+   * the pet into the player's or the target's room to block the view.
+   */
+  static List<ComputerAction> legalActions(World world, Player player) {
+    List<ComputerAction> actions = new ArrayList<>();
+    int room = player.getCurrentRoom();
+    actions.add(ComputerAction.lookAround());
+
+    int target = world.getTargetPosition();
+    if (room == target && !world.attackCheck(player)) {
+      actions.add(ComputerAction.attack(-1));
+      int strongest = RandomStrategy.strongest(player.getItemList());
+      if (strongest >= 0) {
+        actions.add(ComputerAction.attack(strongest));
+      }
+    }
+    for (Room neighbor : world.getMansion().getRoom(room).getNeightborList()) {
+      actions.add(ComputerAction.move(neighbor.getId()));
+    }
+    int strongest = RandomStrategy.strongest(world.getItemsOnFloor(room));
+    if (strongest >= 0) {
+      actions.add(ComputerAction.pickItem(strongest));
+    }
+    int pet = world.getPetPosition();
+    if (pet != room) {
+      actions.add(ComputerAction.movePet(room));
+    }
+    if (pet != target && target != room) {
+      actions.add(ComputerAction.movePet(target));
+    }
+    return actions;
+  }
+
+  /**
+   * Gets the number of playouts made for the last command chosen.
+   *
+   * @return The number of playouts.
+   */
+  public long getLastPlayouts() {
+    return lastPlayouts;
+  }
+
+  /**
+   * Gets the playouts per second made for the last command chosen.
+   *
+   * @return The playouts per second, 0 before any command was chosen.
+   */
+  public double getLastPlayoutsPerSecond() {
+    long nanos = lastNanos;
+    return nanos == 0 ? 0 : lastPlayouts * 1e9 / nanos;
+  }
+
+  /**
+   * Gets the number of playouts made for every command chosen so far.
+   *
+   * @return The number of playouts.
+   */
+  public long getTotalPlayouts() {
+    return totalPlayouts.get();
+  }
+
+  /**
+   * Gets the playouts per second over every command chosen so far.
+   *
+   * @return The playouts per second, 0 before any command was chosen.
+   */
+  public double getPlayoutsPerSecond() {
+    long nanos = totalNanos.get();
+    return nanos == 0 ? 0 : totalPlayouts.get() * 1e9 / nanos;
+  }
+
+  /**
+   * Gets the number of workers searching at once.
+   *
+   * @return The parallelism.
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Stops the threads of the search. It can not choose commands afterwards.
+   */
+  public void shutdown() {
+    pool.shutdown();
+  }
+}
@@ -8,18 +8,41 @@ public class Pet implements Movable {
   private final String name;
   private int currentRoom;
   private final int[] routine;
+  private final int[] nextRoom;
+  private final int[] routineIndex;
 
   /**
-   * Constructor of Pet class.
+   * Constructor of Pet class. The routine is turned into a table of the next
+   * room for every room, so that following it costs one array read per move.
    *
    * @param name          name of the pet.
    * @param currentRoom   current room that pet stay inside.
    * @param routine       the DFT routine for the pet.
+   * @throws IllegalArgumentException if the routine is empty.
    */
   public Pet(String name, int currentRoom, int[] routine) {
+    if (routine == null || routine.length == 0) {
+      throw new IllegalArgumentException("Routine of pet should not be empty.");
+    }
     this.name = name;
     this.currentRoom = currentRoom;
-    this.routine = routine;
+    this.routine = routine.clone();
+
+    int tableSize = currentRoom + 1;
+    for (int room : routine) {
+      tableSize = Math.max(tableSize, room + 1);
+    }
+    this.nextRoom = new int[tableSize];
+    this.routineIndex = new int[tableSize];
+    for (int room = 0; room < tableSize; room++) {
+      // rooms off the routine keep the pet where it is
+      nextRoom[room] = room;
+      routineIndex[room] = -1;
+    }
+    for (int i = routine.length - 1; i >= 0; i--) {
+      nextRoom[routine[i]] = routine[(i + 1) % routine.length];
+      routineIndex[routine[i]] = i;
+    }
   }
 
   @Override
@@ -31,16 +54,36 @@ public class Pet implements Movable {
    * Default movement for pet, which follows DFT.
    */
   public void move() {
-    for (int i : routine) {
-      if (routine[i] == currentRoom) {
-        if (i == routine.length - 1) {
-          currentRoom = routine[0];
-        } else {
-          currentRoom = routine[i + 1];
-        }
-        return;
-      }
+    currentRoom = nextRoom(currentRoom);
+  }
+
+  /**
+   * The room a default move takes the pet to from a room. The route tables
+   * never change, so one pet can answer this for the pets of many games.
+   */
+  int nextRoom(int room) {
+    return room < nextRoom.length ? nextRoom[room] : room;
+  }
+
+  /**
+   * Get the room the pet will be in after a number of default moves,
+   * without moving it.
+   *
+   * @param moves number of default moves.
+   * @return the room after that many moves.
+   */
+  public int roomAfter(int moves) {
+    return roomAfter(currentRoom, moves);
+  }
+
+  /**
+   * The room a number of default moves take the pet to from a room.
+   */
+  int roomAfter(int room, int moves) {
+    if (moves <= 0 || room >= routineIndex.length || routineIndex[room] == -1) {
+      return room;
     }
+    return routine[(int) ((routineIndex[room] + (long) moves) % routine.length)];
   }
 
   /**
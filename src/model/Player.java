@@ -1,16 +1,19 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Player class represents the player. It maintains fields
- * like name, currentRoom, and list of holding items. It
- * also provides some basic method to let controller control.
+ * like name, currentRoom, and list of holding items. Only the
+ * world the player is in moves the player and changes the items,
+ * so that they always agree with the state of the game.
  */
-public class Player implements Movable {
+public class Player {
   private final String name;
-  private List<Item> itemList;
+  private final List<Item> itemList;
+  private final List<Item> items;
   private int currentRoom;
   private final boolean isHuman;
 
@@ -25,6 +28,7 @@ public class Player implements Movable {
     this.name = name;
     this.currentRoom = currentRoom;
     this.itemList = new ArrayList<>();
+    this.items = Collections.unmodifiableList(itemList);
     this.isHuman = isHuman;
   }
 
@@ -61,7 +65,7 @@ public class Player implements Movable {
    *
    * @param targetRoom The target room to move to.
    */
-  public void move(int targetRoom) {
+  void move(int targetRoom) {
     currentRoom = targetRoom;
   }
 
@@ -70,7 +74,7 @@ public class Player implements Movable {
    *
    * @param item Item to be added.
    */
-  public void addItem(Item item) {
+  void addItem(Item item) {
     if (itemList.size() >= 4) {
       itemList.set(0, item);
     } else {
@@ -79,12 +83,29 @@ public class Player implements Movable {
   }
 
   /**
-   * Return the item list hold by the player.
+   * Remove an item from the player, the ones after it moving up.
+   *
+   * @param index Index of the item to remove.
+   * @return The item removed.
+   */
+  Item removeItem(int index) {
+    return itemList.remove(index);
+  }
+
+  /**
+   * Remove every item from the player.
+   */
+  void clearItems() {
+    itemList.clear();
+  }
+
+  /**
+   * Return the item list hold by the player, which can not be changed.
    *
    * @return the item list hold by the player.
    */
   public List<Item> getItemList() {
-    return itemList;
+    return items;
   }
 
   /**
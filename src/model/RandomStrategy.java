@@ -0,0 +1,77 @@
+package model;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The {@code RandomStrategy} class is the computer player that came with the
+ * game. It attacks with its strongest item whenever it shares a room with the
+ * target and nobody can see it, and otherwise looks around, moves to a
+ * neighbor room, moves the pet or picks up the first item in the room at
+ * random.
+ */
+public final class RandomStrategy implements ComputerStrategy {
+  /**
+   * The only instance, as the strategy keeps no state.
+   */
+  public static final RandomStrategy INSTANCE = new RandomStrategy();
+
+  private RandomStrategy() {
+  }
+
+  @Override
+  public ComputerAction chooseAction(ReadOnlyModel game, Player player, Random random) {
+    int room = player.getCurrentRoom();
+    if (room == game.getTargetPosition() && !game.canBeSeen(player)) {
+      return ComputerAction.attack(strongest(player.getItemList()));
+    }
+
+    int option = 3;
+    if (!game.getItemsInRoom(room).isEmpty()) {
+      option += 1;
+    }
+
+    int command = random.nextInt(option);
+
+    if (command == 0) {
+      return ComputerAction.lookAround();
+    } else if (command == 1) {
+      int[] neighbors = game.getNeighbors(room);
+      if (neighbors.length == 0) {
+        // a room without neighbors can not be left
+        return ComputerAction.lookAround();
+      }
+      return ComputerAction.move(neighbors[random.nextInt(neighbors.length)]);
+    } else if (command == 2) {
+      int maxMoveOption = game.getRoomCnt() - 1;
+      if (maxMoveOption == 0) {
+        return ComputerAction.lookAround();
+      }
+      return ComputerAction.movePet(random.nextInt(maxMoveOption));
+    } else {
+      return ComputerAction.pickItem(0);
+    }
+  }
+
+  /**
+   * Find the strongest of some items.
+   *
+   * @return The index of the item doing the most damage, or -1 if none does any.
+   */
+  static int strongest(List<Item> itemList) {
+    int maxIdx = -1;
+    int max = 0;
+    for (int i = 0; i < itemList.size(); i++) {
+      if (itemList.get(i).getDamage() > max) {
+        max = itemList.get(i).getDamage();
+        maxIdx = i;
+      }
+    }
+    return maxIdx;
+  }
+
+  @Override
+  public String toString() {
+    return "Random";
+  }
+}
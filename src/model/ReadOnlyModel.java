@@ -1,6 +1,7 @@
 package model;
 
 import java.awt.image.BufferedImage;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -34,10 +35,75 @@ public interface ReadOnlyModel {
    *
    * @param x The x coordinate of the clicked point.
    * @param y The y coordinate of the clicked point.
-   * @return the room.
+   * @return the room, which holds no items or players; see
+   *     {@link WorldModel#getMansion()}.
    */
   Room getRoom(int x, int y);
 
+  /**
+   * Get the room covering a cell of the mansion grid.
+   *
+   * @param row    The row of the cell.
+   * @param column The column of the cell.
+   * @return the room, or null if no room covers the cell. Like the rooms of
+   *     {@link WorldModel#getMansion()}, it holds no items or players.
+   */
+  Room getRoomAtCell(int row, int column);
+
+  /**
+   * Get the number of moves it takes to walk from one room to another.
+   *
+   * @param fromRoomId The room to start from.
+   * @param toRoomId   The room to reach.
+   * @return the number of moves, or -1 if the room can not be reached.
+   */
+  int getDistance(int fromRoomId, int toRoomId);
+
+  /**
+   * Get the neighbor room to move into first on a shortest walk from
+   * one room to another.
+   *
+   * @param fromRoomId The room to start from.
+   * @param toRoomId   The room to reach.
+   * @return the neighbor to move into, the same room if both are the same,
+   *         or -1 if the room can not be reached.
+   */
+  int getNextHop(int fromRoomId, int toRoomId);
+
+  /**
+   * Get the rooms next to a room.
+   *
+   * @param roomId The room's id.
+   * @return a new array with the ids of the neighbors in ascending order.
+   */
+  int[] getNeighbors(int roomId);
+
+  /**
+   * Get the items lying in a room, in the order they can be picked up.
+   *
+   * @param roomId The room's id.
+   * @return the items.
+   */
+  List<Item> getItemsInRoom(int roomId);
+
+  /**
+   * Check if somebody would see the player attack now. When the pet is in
+   * the player's room, only other players in that room see the attack, since
+   * the pet hides the room from its neighbors. Otherwise only players in the
+   * neighbor rooms see it, and other players in the player's own room do not.
+   *
+   * @param player The player.
+   * @return whether the player can be seen.
+   */
+  boolean canBeSeen(Player player);
+
+  /**
+   * Get the number of players in the game.
+   *
+   * @return the number of players.
+   */
+  int getPlayerCount();
+
   /**
    * Check if the turn is used up.
    *
@@ -90,6 +156,27 @@ public interface ReadOnlyModel {
    */
   int getTargetPosition();
 
+  /**
+   * Get doctor lucky's position at a turn that has not passed yet. Doctor
+   * lucky moves to the next room every time a turn ends, so this takes
+   * constant time.
+   *
+   * @param turn The turn, counted the same way as {@link #getTurn()}.
+   * @return Position of doctor lucky at that turn.
+   * @throws IllegalArgumentException if the turn has already passed.
+   */
+  int getTargetPositionAt(int turn);
+
+  /**
+   * Get how many turns it takes doctor lucky to enter a room,
+   * 0 if doctor lucky is already inside.
+   *
+   * @param roomId The room's id.
+   * @return Number of turns until doctor lucky is in that room.
+   * @throws IllegalArgumentException if the room id is out of range.
+   */
+  int getTurnsUntilTargetEnters(int roomId);
+
   /**
    * Get doctor pet's current position.
    *
@@ -97,6 +184,15 @@ public interface ReadOnlyModel {
    */
   int getPetPosition();
 
+  /**
+   * Get where the pet will be after a number of its default moves,
+   * without moving it.
+   *
+   * @param moves Number of default moves.
+   * @return Position of pet after that many moves.
+   */
+  int getPetPositionAfter(int moves);
+
   /**
    * Get doctor pet's name.
    *
@@ -118,6 +214,14 @@ public interface ReadOnlyModel {
    */
   boolean isInitialized();
 
+  /**
+   * Gets a number that changes every time a map is loaded, so that views can
+   * tell when what they drew from the previous map is out of date.
+   *
+   * @return the version of the loaded map
+   */
+  int getMapVersion();
+
   /**
    * Return the name position pair of object.
    *
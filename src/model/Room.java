@@ -1,6 +1,7 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -14,8 +15,9 @@ public class Room {
   private final int id;
   private final int[] location;
   private List<Item> itemList;
-  private final List<Room> neighbors;
+  private List<Room> neighbors;
   private List<Player> playerList;
+  private boolean frozen;
 
   /**
    * Constructs a new room with the specified name and location.
@@ -56,6 +58,7 @@ public class Room {
    * @param item The item to be added to the room.
    */
   public void addItem(Item item) {
+    checkNotFrozen();
     itemList.add(item);
   }
 
@@ -65,6 +68,7 @@ public class Room {
    * @param room The neighboring room to be added.
    */
   public void addNeighbor(Room room) {
+    checkNotFrozen();
     neighbors.add(room);
   }
 
@@ -74,6 +78,7 @@ public class Room {
    * @param player The player to be added.
    */
   public void addPlayer(Player player) {
+    checkNotFrozen();
     playerList.add(player);
   }
 
@@ -86,6 +91,15 @@ public class Room {
     return new ArrayList<>(playerList);
   }
 
+  /**
+   * Get a read only view of the players inside the room, without copying.
+   *
+   * @return the unmodifiable list of players inside the room.
+   */
+  public List<Player> getPlayers() {
+    return Collections.unmodifiableList(playerList);
+  }
+
 
   /**
    * Deletes a player to the list of player in this room.
@@ -93,13 +107,31 @@ public class Room {
    * @param player The player to be deleted.
    */
   public void deletePlayer(Player player) {
-    if (playerList.contains(player)) {
-      playerList.remove(player);
-    } else {
+    checkNotFrozen();
+    if (!playerList.remove(player)) {
       throw new IllegalStateException("Room" + id + "does not have this player.");
     }
   }
 
+  /**
+   * Makes the room unchangeable, as the rooms of a {@link MansionTemplate}
+   * shared by every game on the map are. Its lists can no longer be changed
+   * and adding or deleting items, players or neighbors throws.
+   */
+  void freeze() {
+    itemList = Collections.unmodifiableList(itemList);
+    neighbors = Collections.unmodifiableList(neighbors);
+    playerList = Collections.unmodifiableList(playerList);
+    frozen = true;
+  }
+
+  private void checkNotFrozen() {
+    if (frozen) {
+      throw new UnsupportedOperationException("Room " + id
+          + " belongs to a map shared by every game and can not change.");
+    }
+  }
+
   /**
    * Gets the name of the room.
    *
@@ -151,6 +183,7 @@ public class Room {
    * @param index The item's index to be removed.
    */
   public void deleteItem(int index) {
+    checkNotFrozen();
     itemList.remove(index);
   }
 
@@ -0,0 +1,206 @@
+package model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The {@code RoomDistances} class answers how many moves it takes to go from
+ * one room to another, and which neighbor room to step into first.
+ *
+ * <p>For mansions up to {@link #FULL_MATRIX_LIMIT} rooms a breadth first search
+ * is run from every room in parallel on a fork-join pool, and the distances and
+ * next steps are kept in two {@code short} matrices, so every query is one array
+ * read. Larger mansions would need too much memory for that, so breadth first
+ * search trees are computed on demand instead and the most recently used ones
+ * are kept in a cache bounded to about {@link #CACHE_BYTES} bytes.
+ *
+ * <p>Instances are safe to share between threads.
+ */
+public class RoomDistances {
+  /**
+   * Largest mansion that gets the full distance matrix.
+   */
+  public static final int FULL_MATRIX_LIMIT = 2048;
+  /**
+   * Memory budget of the cache of search trees used for larger mansions.
+   */
+  public static final long CACHE_BYTES = 64L << 20;
+  // sources handled by one fork-join task before it stops splitting
+  private static final int SOURCES_PER_TASK = 16;
+
+  private final int[][] adjacency;
+  private final int roomCnt;
+  private final short[] distance;
+  private final short[] nextHop;
+  private final Map<Integer, int[][]> treeCache;
+
+  /**
+   * Constructs the distances for the rooms of a mansion.
+   *
+   * @param adjacency For each room, the ids of its neighbors.
+   */
+  public RoomDistances(int[][] adjacency) {
+    this(adjacency, FULL_MATRIX_LIMIT,
+        (int) Math.max(4, CACHE_BYTES / (8L * Math.max(1, adjacency.length))));
+  }
+
+  /**
+   * Constructs the distances with explicit limits.
+   *
+   * @param adjacency       For each room, the ids of its neighbors.
+   * @param fullMatrixLimit Largest room count that gets the full matrix.
+   * @param cacheCapacity   Number of search trees kept for larger mansions.
+   */
+  RoomDistances(int[][] adjacency, int fullMatrixLimit, int cacheCapacity) {
+    this.adjacency = adjacency;
+    this.roomCnt = adjacency.length;
+
+    if (roomCnt <= Math.min(fullMatrixLimit, Short.MAX_VALUE)) {
+      this.distance = new short[roomCnt * roomCnt];
+      this.nextHop = new short[roomCnt * roomCnt];
+      this.treeCache = null;
+      ForkJoinPool.commonPool().invoke(new MatrixTask(0, roomCnt));
+    } else {
+      this.distance = null;
+      this.nextHop = null;
+      this.treeCache = new LinkedHashMap<Integer, int[][]>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, int[][]> eldest) {
+          return size() > cacheCapacity;
+        }
+      };
+    }
+  }
+
+  /**
+   * Gets the number of moves from one room to another.
+   *
+   * @param from The room to start from.
+   * @param to   The room to reach.
+   * @return The number of moves, or -1 if the room can not be reached.
+   */
+  public int getDistance(int from, int to) {
+    checkRoom(from);
+    checkRoom(to);
+    if (distance != null) {
+      return distance[to * roomCnt + from];
+    }
+    return tree(to)[0][from];
+  }
+
+  /**
+   * Gets the first room to move into on a shortest way from one room to another.
+   *
+   * @param from The room to start from.
+   * @param to   The room to reach.
+   * @return The neighbor of {@code from} to move into, {@code from} itself if
+   *         both rooms are the same, or -1 if the room can not be reached.
+   */
+  public int getNextHop(int from, int to) {
+    checkRoom(from);
+    checkRoom(to);
+    if (nextHop != null) {
+      return nextHop[to * roomCnt + from];
+    }
+    return tree(to)[1][from];
+  }
+
+  /**
+   * Tells whether every distance is kept in memory.
+   *
+   * @return whether the full matrix is used.
+   */
+  public boolean isFullMatrix() {
+    return distance != null;
+  }
+
+  private void checkRoom(int room) {
+    if (room < 0 || room >= roomCnt) {
+      throw new IllegalArgumentException("Room should be in range 0 to " + (roomCnt - 1));
+    }
+  }
+
+  /**
+   * Get the search tree rooted at a room from the cache, computing it if needed.
+   * The tree holds the distance of every room to the root, and the neighbor
+   * one move closer to the root.
+   */
+  private int[][] tree(int root) {
+    int[][] tree;
+    synchronized (treeCache) {
+      tree = treeCache.get(root);
+    }
+    if (tree == null) {
+      int[] dist = new int[roomCnt];
+      int[] parent = new int[roomCnt];
+      bfs(root, dist, parent, new int[roomCnt]);
+      tree = new int[][] {dist, parent};
+      synchronized (treeCache) {
+        treeCache.put(root, tree);
+      }
+    }
+    return tree;
+  }
+
+  /**
+   * Breadth first search from the root, filling the distance to the root and
+   * the next room towards the root for every room.
+   */
+  private void bfs(int root, int[] dist, int[] parent, int[] queue) {
+    Arrays.fill(dist, -1);
+    Arrays.fill(parent, -1);
+    dist[root] = 0;
+    parent[root] = root;
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = root;
+    while (head < tail) {
+      int room = queue[head++];
+      for (int neighbor : adjacency[room]) {
+        if (dist[neighbor] == -1) {
+          dist[neighbor] = dist[room] + 1;
+          parent[neighbor] = room;
+          queue[tail++] = neighbor;
+        }
+      }
+    }
+  }
+
+  /**
+   * Fills the rows of the matrices for a range of roots, splitting the range
+   * until it is small enough.
+   */
+  private class MatrixTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final int from;
+    private final int to;
+
+    MatrixTask(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > SOURCES_PER_TASK) {
+        int mid = (from + to) >>> 1;
+        invokeAll(new MatrixTask(from, mid), new MatrixTask(mid, to));
+        return;
+      }
+      int[] dist = new int[roomCnt];
+      int[] parent = new int[roomCnt];
+      int[] queue = new int[roomCnt];
+      for (int root = from; root < to; root++) {
+        bfs(root, dist, parent, queue);
+        int base = root * roomCnt;
+        for (int room = 0; room < roomCnt; room++) {
+          distance[base + room] = (short) dist[room];
+          nextHop[base + room] = (short) parent[room];
+        }
+      }
+    }
+  }
+}
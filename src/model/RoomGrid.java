@@ -0,0 +1,157 @@
+package model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code RoomGrid} class maps every cell of the mansion grid to the room
+ * covering it, so that finding the room under a grid cell or a pixel of the
+ * drawn map takes constant time no matter how many rooms there are.
+ */
+public class RoomGrid {
+  private final int rows;
+  private final int columns;
+  private final int[] cells;
+  private final Room[] rooms;
+
+  /**
+   * Constructs the lookup table for the given rooms. The table covers the
+   * mansion grid, grown to fit any room lying outside of it. Where rooms
+   * overlap, the room earlier in the list owns the cell.
+   *
+   * @param row      The number of rows in the mansion grid.
+   * @param column   The number of columns in the mansion grid.
+   * @param roomList The rooms of the mansion, indexed by id.
+   */
+  public RoomGrid(int row, int column, List<Room> roomList) {
+    this(row, column, locationsOf(roomList));
+    roomList.toArray(rooms);
+  }
+
+  /**
+   * Constructs the lookup table for rooms given by their locations only. Such
+   * a table answers room ids, and rooms once bound with {@link #withRooms(List)}.
+   *
+   * @param row       The number of rows in the mansion grid.
+   * @param column    The number of columns in the mansion grid.
+   * @param locations The locations of the rooms, four numbers per room in the
+   *                  same order as {@link Room#getLocation()}.
+   */
+  public RoomGrid(int row, int column, int[] locations) {
+    int roomCnt = locations.length / 4;
+    int maxRow = row;
+    int maxColumn = column;
+    for (int i = 0; i < roomCnt; i++) {
+      maxRow = Math.max(maxRow, locations[4 * i + 2] + 1);
+      maxColumn = Math.max(maxColumn, locations[4 * i + 3] + 1);
+    }
+    this.rows = maxRow;
+    this.columns = maxColumn;
+    this.cells = new int[rows * columns];
+    this.rooms = new Room[roomCnt];
+    Arrays.fill(cells, -1);
+
+    for (int id = 0; id < roomCnt; id++) {
+      for (int r = locations[4 * id]; r <= locations[4 * id + 2]; r++) {
+        int base = r * columns;
+        for (int c = locations[4 * id + 1]; c <= locations[4 * id + 3]; c++) {
+          if (cells[base + c] == -1) {
+            cells[base + c] = id;
+          }
+        }
+      }
+    }
+  }
+
+  private RoomGrid(RoomGrid grid, Room[] rooms) {
+    this.rows = grid.rows;
+    this.columns = grid.columns;
+    this.cells = grid.cells;
+    this.rooms = rooms;
+  }
+
+  private static int[] locationsOf(List<Room> roomList) {
+    int[] locations = new int[4 * roomList.size()];
+    for (int i = 0; i < roomList.size(); i++) {
+      System.arraycopy(roomList.get(i).getLocation(), 0, locations, 4 * i, 4);
+    }
+    return locations;
+  }
+
+  /**
+   * Gets a lookup table sharing the cells of this one, answering with the
+   * given rooms. Only the rooms are copied, so it is cheap to bind one table
+   * to the rooms of many games.
+   *
+   * @param roomList The rooms of the mansion, indexed by id.
+   * @return The lookup table for those rooms.
+   * @throws IllegalArgumentException if the number of rooms is not the same.
+   */
+  public RoomGrid withRooms(List<Room> roomList) {
+    if (roomList.size() != rooms.length) {
+      throw new IllegalArgumentException("Grid has " + rooms.length + " rooms, not "
+          + roomList.size() + ".");
+    }
+    return new RoomGrid(this, roomList.toArray(new Room[0]));
+  }
+
+  /**
+   * Gets the id of the room covering a grid cell.
+   *
+   * @param row    The row of the cell.
+   * @param column The column of the cell.
+   * @return The id of the room, or -1 if no room covers the cell.
+   */
+  public int roomIdAt(int row, int column) {
+    if (row < 0 || row >= rows || column < 0 || column >= columns) {
+      return -1;
+    }
+    return cells[row * columns + column];
+  }
+
+  /**
+   * Gets the room covering a grid cell.
+   *
+   * @param row    The row of the cell.
+   * @param column The column of the cell.
+   * @return The room, or null if no room covers the cell.
+   */
+  public Room roomAt(int row, int column) {
+    int id = roomIdAt(row, column);
+    return id == -1 ? null : rooms[id];
+  }
+
+  /**
+   * Gets the room under a pixel of the drawn map, where the grid is drawn
+   * with a one cell margin and each cell is {@code size} pixels wide.
+   *
+   * @param x    The x coordinate of the pixel.
+   * @param y    The y coordinate of the pixel.
+   * @param size The width of a cell in pixels.
+   * @return The room, or null if the pixel is not inside any room.
+   */
+  public Room roomAtPixel(int x, int y, int size) {
+    if (x < size || y < size) {
+      return null;
+    }
+    return roomAt(y / size - 1, x / size - 1);
+  }
+
+  /**
+   * Gets the number of rows covered by the table.
+   *
+   * @return The number of rows.
+   */
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Gets the number of columns covered by the table.
+   *
+   * @return The number of columns.
+   */
+  public int getColumns() {
+    return columns;
+  }
+}
@@ -0,0 +1,241 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * The {@code RoomOccupancy} class keeps how many players are in each room,
+ * and a bitset of the occupied rooms, updated as players come and go. The
+ * counts are kept for occupied rooms only, in a small hash table, so copying
+ * an occupancy costs little more than the bitset.
+ *
+ * <p>For every room it also keeps the bitset of its neighbors, but only the
+ * 64-bit words that contain a neighbor, so it takes memory in proportion to
+ * the number of neighbors rather than the number of rooms. Whether someone is
+ * in a neighbor room is then one AND per such word.
+ */
+public class RoomOccupancy {
+  private static final int INITIAL_CAPACITY = 8;
+  // linear probing table of room + 1, 0 marking a free slot, and the count of that room
+  private int[] tableRooms;
+  private int[] tableCounts;
+  private int size;
+  private final long[] occupied;
+  // neighbor words of room r are at [maskStart[r], maskStart[r + 1])
+  private final int[] maskStart;
+  private final int[] maskWord;
+  private final long[] maskBits;
+
+  /**
+   * Constructs an empty occupancy for the rooms of a mansion.
+   *
+   * @param adjacency For each room, the ids of its neighbors in ascending order.
+   */
+  public RoomOccupancy(int[][] adjacency) {
+    int roomCnt = adjacency.length;
+    this.tableRooms = new int[INITIAL_CAPACITY];
+    this.tableCounts = new int[INITIAL_CAPACITY];
+    this.occupied = new long[(roomCnt + 63) >>> 6];
+    this.maskStart = new int[roomCnt + 1];
+
+    int words = 0;
+    for (int room = 0; room < roomCnt; room++) {
+      maskStart[room] = words;
+      words += distinctWords(adjacency[room]);
+    }
+    maskStart[roomCnt] = words;
+    this.maskWord = new int[words];
+    this.maskBits = new long[words];
+
+    for (int room = 0; room < roomCnt; room++) {
+      int k = maskStart[room] - 1;
+      int lastWord = -1;
+      for (int neighbor : adjacency[room]) {
+        int word = neighbor >>> 6;
+        if (word != lastWord) {
+          k++;
+          maskWord[k] = word;
+          lastWord = word;
+        }
+        maskBits[k] |= 1L << neighbor;
+      }
+    }
+  }
+
+  private RoomOccupancy(RoomOccupancy other) {
+    this.tableRooms = other.tableRooms.clone();
+    this.tableCounts = other.tableCounts.clone();
+    this.size = other.size;
+    this.occupied = other.occupied.clone();
+    this.maskStart = other.maskStart;
+    this.maskWord = other.maskWord;
+    this.maskBits = other.maskBits;
+  }
+
+  /**
+   * Gets a copy of this occupancy. The neighbor bitsets never change, so the
+   * copy shares them and only the counts and the occupied rooms are copied.
+   *
+   * @return The copy.
+   */
+  public RoomOccupancy copy() {
+    return new RoomOccupancy(this);
+  }
+
+  private static int distinctWords(int[] sortedRooms) {
+    int words = 0;
+    int lastWord = -1;
+    for (int room : sortedRooms) {
+      if (room >>> 6 != lastWord) {
+        lastWord = room >>> 6;
+        words++;
+      }
+    }
+    return words;
+  }
+
+  /**
+   * Records a player entering a room.
+   *
+   * @param room The room entered.
+   */
+  public void add(int room) {
+    int slot = find(room);
+    if (slot >= 0) {
+      tableCounts[slot]++;
+      return;
+    }
+    slot = -slot - 1;
+    tableRooms[slot] = room + 1;
+    tableCounts[slot] = 1;
+    occupied[room >>> 6] |= 1L << room;
+    if (++size * 2 > tableRooms.length) {
+      grow();
+    }
+  }
+
+  /**
+   * Records a player leaving a room.
+   *
+   * @param room The room left.
+   * @throws IllegalStateException if nobody is in the room.
+   */
+  public void remove(int room) {
+    int slot = find(room);
+    if (slot < 0) {
+      throw new IllegalStateException("Room " + room + " has no player.");
+    }
+    if (--tableCounts[slot] == 0) {
+      occupied[room >>> 6] &= ~(1L << room);
+      delete(slot);
+      size--;
+    }
+  }
+
+  /**
+   * Records a player moving from one room to another.
+   *
+   * @param from The room left.
+   * @param to   The room entered.
+   */
+  public void move(int from, int to) {
+    remove(from);
+    add(to);
+  }
+
+  /**
+   * Gets the number of players in a room.
+   *
+   * @param room The room.
+   * @return The number of players.
+   */
+  public int getCount(int room) {
+    if ((occupied[room >>> 6] & (1L << room)) == 0) {
+      return 0;
+    }
+    return tableCounts[find(room)];
+  }
+
+  /**
+   * The slot of a room in the table, or minus one minus the free slot where
+   * it would go.
+   */
+  private int find(int room) {
+    int mask = tableRooms.length - 1;
+    int slot = home(room, mask);
+    while (tableRooms[slot] != 0) {
+      if (tableRooms[slot] == room + 1) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -slot - 1;
+  }
+
+  private static int home(int room, int mask) {
+    return (room * 0x9E3779B9) >>> 16 & mask;
+  }
+
+  /**
+   * Empty a slot, moving back the rooms after it that were pushed past it.
+   */
+  private void delete(int slot) {
+    int mask = tableRooms.length - 1;
+    int free = slot;
+    int next = (slot + 1) & mask;
+    while (tableRooms[next] != 0) {
+      int home = home(tableRooms[next] - 1, mask);
+      // the room at next may fill the free slot if its home is not after the free slot
+      if (((next - home) & mask) >= ((next - free) & mask)) {
+        tableRooms[free] = tableRooms[next];
+        tableCounts[free] = tableCounts[next];
+        free = next;
+      }
+      next = (next + 1) & mask;
+    }
+    tableRooms[free] = 0;
+    tableCounts[free] = 0;
+  }
+
+  private void grow() {
+    int[] rooms = tableRooms;
+    int[] counts = tableCounts;
+    tableRooms = new int[2 * rooms.length];
+    tableCounts = new int[2 * rooms.length];
+    for (int i = 0; i < rooms.length; i++) {
+      if (rooms[i] != 0) {
+        int slot = -find(rooms[i] - 1) - 1;
+        tableRooms[slot] = rooms[i];
+        tableCounts[slot] = counts[i];
+      }
+    }
+  }
+
+  /**
+   * Tells whether any neighbor of a room has a player in it.
+   *
+   * @param room The room.
+   * @return Whether any neighbor room is occupied.
+   */
+  public boolean isAnyNeighborOccupied(int room) {
+    for (int k = maskStart[room]; k < maskStart[room + 1]; k++) {
+      if ((occupied[maskWord[k]] & maskBits[k]) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Removes every player.
+   */
+  public void clear() {
+    for (int room : tableRooms) {
+      if (room != 0) {
+        occupied[(room - 1) >>> 6] = 0L;
+      }
+    }
+    Arrays.fill(tableRooms, 0);
+    Arrays.fill(tableCounts, 0);
+    size = 0;
+  }
+}
@@ -0,0 +1,54 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * The {@code SearchStrategy} class is a computer player that chooses its
+ * commands with a {@link MonteCarloSearch}, by playing the game on from a fork
+ * of it. It only plays games that can be forked, which are {@link World}s.
+ */
+public final class SearchStrategy implements ComputerStrategy {
+  private final MonteCarloSearch search;
+
+  /**
+   * Constructs a strategy that searches with the given search, which may be
+   * shared by many players and games.
+   *
+   * @param search The search.
+   * @throws IllegalArgumentException if the search is null.
+   */
+  public SearchStrategy(MonteCarloSearch search) {
+    if (search == null) {
+      throw new IllegalArgumentException("Search can not be null.");
+    }
+    this.search = search;
+  }
+
+  /**
+   * Gets the search the strategy chooses with.
+   *
+   * @return The search.
+   */
+  public MonteCarloSearch getSearch() {
+    return search;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if the game is not a {@link World}, or
+   *                                  it is not the player's turn.
+   */
+  @Override
+  public ComputerAction chooseAction(ReadOnlyModel game, Player player, Random random) {
+    if (!(game instanceof World)) {
+      throw new IllegalArgumentException("Only a World can be searched.");
+    }
+    return search.chooseAction((World) game, player);
+  }
+
+  @Override
+  public String toString() {
+    return "Search";
+  }
+}
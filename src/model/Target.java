@@ -35,6 +35,17 @@ public class Target {
     this.maxRoomNum = maxRoomNum;
   }
 
+  /**
+   * Constructs the target as it is partway through a game, when it may have
+   * moved and even died already.
+   */
+  Target(String name, int health, int currentRoom, int maxRoomNum) {
+    this.name = name;
+    this.health = health;
+    this.currentRoom = currentRoom;
+    this.maxRoomNum = maxRoomNum;
+  }
+
   /**
    * Moves the target to the next room in its range. If the target reaches the last room,
    * it wraps around to the first room.
@@ -47,6 +58,36 @@ public class Target {
     }
   }
 
+  /**
+   * Returns the room the target will be in after a number of moves,
+   * without moving it.
+   *
+   * @param moves Number of moves, not negative.
+   * @return Number of room that the target will be in.
+   * @throws IllegalArgumentException if moves is negative.
+   */
+  public int roomAfter(int moves) {
+    if (moves < 0) {
+      throw new IllegalArgumentException("Number of moves should not be negative.");
+    }
+    return (int) ((currentRoom + (long) moves) % maxRoomNum);
+  }
+
+  /**
+   * Returns how many moves it takes the target to enter a room,
+   * 0 if it is already inside.
+   *
+   * @param room Number of room.
+   * @return Number of moves until the target is in that room.
+   * @throws IllegalArgumentException if the room is out of range.
+   */
+  public int movesUntil(int room) {
+    if (room < 0 || room >= maxRoomNum) {
+      throw new IllegalArgumentException("Room should be in range 0 to " + (maxRoomNum - 1));
+    }
+    return Math.floorMod(room - currentRoom, maxRoomNum);
+  }
+
   /**
    * This method represents target under attack.
    *
@@ -5,69 +5,69 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.StringReader;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Random;
-import java.util.Set;
-import java.util.Stack;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The {@code World} class represents a virtual game world containing a mansion, 
  * a target, and various rooms. It provides functionality to set up the world 
  * from input data, calculate neighbors between rooms, and draw a map of the world.
+ *
+ * <p>The map itself, with its rooms, items and the route of the pet, is a
+ * {@link MansionTemplate} that games on the same map share. Everything that
+ * changes during this game is kept in its {@link GameState}; the
+ * {@link Player} objects handed out are kept up to date with it.
  */
 public class World implements WorldModel {
   private static final int SIZE = 25;
-  private Target target;
-  private Pet pet;
+  private MansionTemplate template;
+  private GameState state;
   private Mansion mansion;
-  private Queue<Player> playerQueue;
+  // shared route tables, the room of the pet is in the state
+  private Pet pet;
+  private RoomOccupancy occupancy;
+  // indexed like the players of the state
+  private List<Player> players;
+  // indexed like the players, null for human players
+  private List<ComputerStrategy> strategies;
   private RandomNumGenerator randomNumGenerator;
   private String pathToFile;
-  private int currentTurn = -1;
-  private int maxTurn;
   private boolean initialized = false;
-  private boolean isGameOver;
+  private int mapVersion;
+  private GameJournal journal;
 
 
   /**
-   * Inner class to help generate random number.
+   * Inner class to help generate random number. Once given numbers, it hands
+   * them out in turn instead of random ones.
    */
-  private class RandomNumGenerator {
-    private ArrayList<Integer> numbers;
+  private static class RandomNumGenerator extends Random {
+    private static final long serialVersionUID = 1L;
+    private int[] numbers;
     private int currentIndex;
-    private Random random;
+
+    public RandomNumGenerator(long seed) {
+      super(seed);
+    }
 
     public RandomNumGenerator(int... numbers) {
-      if (numbers.length == 0) {
-        random = new Random(10);
-        this.currentIndex = -1;
-        this.numbers = null;
-      } else {
-        this.numbers = new ArrayList<>();
-        for (int number : numbers) {
-          this.numbers.add(number);
-        }
-        this.currentIndex = 0;
-        this.random = null;
+      super(10);
+      if (numbers.length > 0) {
+        this.numbers = numbers.clone();
       }
     }
 
-    public int getNextNumber(int range) {
-      if (random == null) {
-        return numbers.get(currentIndex++ % numbers.size()) % range;
-      } else {
-        return random.nextInt(range);
+    @Override
+    public int nextInt(int bound) {
+      if (numbers == null) {
+        return super.nextInt(bound);
       }
+      return numbers[currentIndex++ % numbers.length] % bound;
     }
   }
 
@@ -75,34 +75,85 @@ public class World implements WorldModel {
    * Sets up the world based on input data from a Readable source.
    */
   public World() {
-    this.playerQueue = new ArrayDeque<>();
+    this.state = new GameState(1, 1, 0);
+    this.players = new ArrayList<>();
+    this.strategies = new ArrayList<>();
     this.randomNumGenerator = new RandomNumGenerator();
     this.pathToFile = "res/map/mansion.txt";
   }
 
+  /**
+   * Sets up a world whose computer players draw from their own seeded
+   * random sequence, so that games run side by side stay independent.
+   *
+   * @param seed the seed of the computer players' random sequence.
+   */
+  public World(long seed) {
+    this();
+    this.randomNumGenerator = new RandomNumGenerator(seed);
+  }
+
+  /**
+   * Sets up a copy of a world on the same map, with copies of its state and
+   * players, and the given seed for its computer players.
+   */
+  private World(World world, long seed) {
+    this.template = world.template;
+    this.mansion = world.mansion;
+    this.pet = world.pet;
+    this.state = world.state.copy();
+    this.occupancy = world.occupancy == null ? null : world.occupancy.copy();
+    this.players = new ArrayList<>(world.players.size());
+    for (Player player : world.players) {
+      Player copy = new Player(player.getName(), player.getCurrentRoom(), player.isHuman());
+      for (Item item : player.getItemList()) {
+        copy.addItem(item);
+      }
+      players.add(copy);
+    }
+    this.strategies = new ArrayList<>(world.strategies);
+    this.randomNumGenerator = new RandomNumGenerator(seed);
+    this.pathToFile = world.pathToFile;
+    this.initialized = world.initialized;
+    this.mapVersion = world.mapVersion;
+  }
+
   @Override
   public void initializeWorld(String pathToFile) {
     if (pathToFile != null) {
       this.pathToFile = pathToFile;
     }
     try {
-      BufferedReader bufferedReader = new BufferedReader(new FileReader(this.pathToFile));
-      StringBuffer stringBuffer = new StringBuffer();
-      String line;
-
-      while ((line = bufferedReader.readLine()) != null) {
-        stringBuffer.append(line);
-        stringBuffer.append('\n');
-      }
-
-      parseString(new String(stringBuffer));
-      initialized = true;
-      isGameOver = false;
+      initializeWorld(MansionTemplateCache.getShared().get(this.pathToFile));
     } catch (IOException ioException) {
       ioException.printStackTrace();
     }
   }
 
+  /**
+   * Sets up the world on a map that has already been loaded.
+   *
+   * @param template The map to play on.
+   */
+  public void initializeWorld(MansionTemplate template) {
+    setUp(template);
+    initialized = true;
+    mapVersion++;
+  }
+
+  /**
+   * Records every call that changes this world from now on in a journal,
+   * from which {@link GameJournal#recover(String, java.nio.file.Path)} can
+   * rebuild the game. Calls made before are not recorded, so the journal
+   * should be set right after the map is loaded. Forks of this world are not
+   * recorded, and a world with a journal can not be restored to a snapshot.
+   *
+   * @param journal The journal, or null to stop recording.
+   */
+  public void setJournal(GameJournal journal) {
+    this.journal = journal;
+  }
+
   /**
    * Set the operation for the computer.
    *
@@ -120,36 +171,99 @@ public class World implements WorldModel {
    */
   @Override
   public Player getCurrentTurnPlayer() {
-    return playerQueue.peek();
+    if (state.getPlayerCount() == 0) {
+      return null;
+    }
+    return players.get(state.getPlayerInTurn(0));
   }
 
   @Override
   public int getTurn() {
-    return currentTurn;
+    return state.getTurn();
   }
 
   @Override
   public int getMaxTurn() {
-    return maxTurn;
+    return state.getMaxTurn();
   }
 
   @Override
   public Room getRoom(int x, int y) {
-    for (Room room : mansion.getRoomList()) {
-      int[] location = room.getLocation();
-      if (y > (location[0] + 1) * 25
-          && y < (location[2] + 1) * 25
-          && x > (location[1] + 1) * 25
-          && x < (location[3] + 1) * 25) {
-        return room;
-      }
+    return template.roomGrid().roomAtPixel(x, y, SIZE);
+  }
+
+  @Override
+  public Room getRoomAtCell(int row, int column) {
+    return template.roomGrid().roomAt(row, column);
+  }
+
+  /**
+   * Get the state of this game.
+   *
+   * @return the state, changed in place as the game goes on.
+   */
+  public GameState getState() {
+    return state;
+  }
+
+  /**
+   * Get the map this game is played on.
+   *
+   * @return the template of the map.
+   */
+  public MansionTemplate getTemplate() {
+    return template;
+  }
+
+  @Override
+  public int getDistance(int fromRoomId, int toRoomId) {
+    return getRoomDistances().getDistance(fromRoomId, toRoomId);
+  }
+
+  @Override
+  public int[] getNeighbors(int roomId) {
+    if (!isRoom(roomId)) {
+      throw new IllegalArgumentException("Room " + roomId + " does not exist.");
     }
-    return null;
+    return template.getNeighbors(roomId);
+  }
+
+  @Override
+  public List<Item> getItemsInRoom(int roomId) {
+    if (!isRoom(roomId)) {
+      throw new IllegalArgumentException("Room " + roomId + " does not exist.");
+    }
+    return getItemsOnFloor(roomId);
+  }
+
+  @Override
+  public boolean canBeSeen(Player player) {
+    return attackCheck(player);
+  }
+
+  @Override
+  public int getPlayerCount() {
+    return players.size();
+  }
+
+  @Override
+  public int getNextHop(int fromRoomId, int toRoomId) {
+    return getRoomDistances().getNextHop(fromRoomId, toRoomId);
+  }
+
+  /**
+   * Get the distances between rooms of the current map, computing them
+   * the first time they are needed.
+   *
+   * @return the distances between rooms.
+   */
+  public RoomDistances getRoomDistances() {
+    return template.roomDistances();
   }
 
   @Override
   public boolean checkTurnUsedUp() {
-    return currentTurn + 1 > maxTurn;
+    return state.getTurn() + 1 > state.getMaxTurn();
   }
 
   /**
@@ -159,7 +273,7 @@ public class World implements WorldModel {
    * @return The information of the room.
    */
   public String getRoomInfo(int roomId) {
-    return getMansion().getRoomList().get(roomId).toString();
+    return describeRoom(roomId, false);
   }
 
   /**
@@ -169,7 +283,7 @@ public class World implements WorldModel {
    * @return The total room count.
    */
   public int getRoomCnt() {
-    return getMansion().getRoomList().size();
+    return mansion.getRoomCount();
   }
 
   /**
@@ -178,7 +292,7 @@ public class World implements WorldModel {
    * @return the remaining health of target.
    */
   public int getTargetRemainingHealth() {
-    return target.getHealth();
+    return state.getTargetHealth();
   }
 
   /**
@@ -186,18 +300,23 @@ public class World implements WorldModel {
    */
   @Override
   public void updateTurn() {
-    currentTurn += 1;
-    Player player = playerQueue.poll();
-    playerQueue.offer(player);
+    if (journal != null) {
+      journal.record(GameJournal.UPDATE_TURN, 0, 0);
+    }
+    state.nextTurn();
   }
 
   @Override
   public void setMaxTurn(int maxTurn) {
-    this.maxTurn = maxTurn;
+    if (journal != null) {
+      journal.record(GameJournal.MAX_TURN, maxTurn, 0);
+    }
+    state.setMaxTurn(maxTurn);
   }
 
   /**
-   * Add a new human player to this game.
+   * Add a new human player to this game. A computer player chooses its
+   * commands at random.
    *
    * @param name Name of the human player.
    * @param currentRoom Room that the player stay at the beginning of the game.
@@ -205,73 +324,118 @@ public class World implements WorldModel {
    */
   @Override
   public Player addPlayer(String name, int currentRoom, boolean isHuman) {
+    return addPlayer(name, currentRoom, isHuman, isHuman ? null : RandomStrategy.INSTANCE);
+  }
+
+  @Override
+  public Player addPlayer(String name, int currentRoom, ComputerStrategy strategy) {
+    if (strategy == null) {
+      throw new IllegalArgumentException("Strategy can not be null.");
+    }
+    return addPlayer(name, currentRoom, false, strategy);
+  }
+
+  private Player addPlayer(String name, int currentRoom, boolean isHuman,
+      ComputerStrategy strategy) {
+    if (currentRoom < 0 || currentRoom >= mansion.getRoomCount()) {
+      throw new IllegalArgumentException("Room " + currentRoom + " does not exist.");
+    }
+    if (journal != null) {
+      journal.addPlayer(name, currentRoom, isHuman, strategy);
+    }
     Player player = new Player(name, currentRoom, isHuman);
-    playerQueue.add(player);
-    mansion.getRoomList().get(currentRoom).addPlayer(player);
+    players.add(player);
+    strategies.add(strategy);
+    state.addPlayer(currentRoom);
+    occupancy.add(currentRoom);
     return player;
   }
 
   /**
-   * Return the command of computer player.
+   * Decide what the computer player does this turn, by asking the strategy
+   * it was added with. Players added as human players choose at random.
    *
    * @param player The current turn's player.
    * @return The command of computer player.
    */
-  public Readable computerPlayerAction(Player player) {
-    StringBuilder computerCommand = new StringBuilder();
-
-    if (player.getCurrentRoom() == getTargetPosition()) {
-      computerCommand.append("attack\n");
-      List<Item> itemList = player.getItemList();
-      if (!itemList.isEmpty()) {
-        int maxIdx = -1;
-        int max = 0;
-        int cnt = 0;
-        for (Item item : itemList) {
-          if (item.getDamage() > max) {
-            max = item.getDamage();
-            maxIdx = cnt;
-          }
-          cnt++;
-        }
-        computerCommand.append(String.valueOf(maxIdx + 1)).append("\n");
-      } else {
-        return new StringReader(computerCommand.toString());
+  @Override
+  public ComputerAction computerPlayerAction(Player player) {
+    ComputerStrategy strategy = null;
+    for (int i = 0; i < players.size(); i++) {
+      if (players.get(i) == player) {
+        strategy = strategies.get(i);
+        break;
       }
     }
-
-    int option = 3;
-    if (!mansion.getRoomList().get(player.getCurrentRoom()).getItemList().isEmpty()) {
-      option += 1;
+    if (strategy == null) {
+      strategy = RandomStrategy.INSTANCE;
     }
+    return strategy.chooseAction(this, player, randomNumGenerator);
+  }
 
+  /**
+   * Gets the strategy a player chooses their commands with.
+   *
+   * @param player The player.
+   * @return The strategy, or null for a human player.
+   * @throws IllegalArgumentException if the player is not in this game.
+   */
+  public ComputerStrategy getStrategy(Player player) {
+    return strategies.get(indexOf(player));
+  }
 
-    int command = randomNumGenerator.getNextNumber(option);
+  /**
+   * Gets the random sequence computer players of this game draw from.
+   */
+  Random getRandom() {
+    return randomNumGenerator;
+  }
 
-    if (command == 0) {
-      computerCommand.append("look around\n");
-    } else if (command == 1) {
-      computerCommand.append("move\n");
-      List<Room> neighborList = mansion.getRoomList().get(player
-          .getCurrentRoom()).getNeightborList();
-      int max = neighborList.size();
-      Room selected = neighborList.get(randomNumGenerator.getNextNumber(max));
+  /**
+   * Let the computer player take its turn directly on the model, without
+   * any output.
+   *
+   * @param player The current turn's player, who must be a computer player.
+   */
+  public void playComputerTurn(Player player) {
+    playAction(player, computerPlayerAction(player));
+  }
 
-      computerCommand.append(selected.getId() + 1).append("\n");
-    } else if (command == 2) {
-      computerCommand.append("move pet\n");
-      int maxMoveOption = mansion.getRoomList().size() - 1;
-      computerCommand.append(randomNumGenerator.getNextNumber(maxMoveOption) + 1);
-    } else {
-      computerCommand.append("pick item\n");
-      computerCommand.append("1");
+  /**
+   * Carry out a command for a player directly on the model, without any output.
+   *
+   * @param player The current turn's player.
+   * @param action The command to carry out.
+   */
+  public void playAction(Player player, ComputerAction action) {
+    switch (action.getType()) {
+      case LOOK_AROUND:
+        lookAround(player);
+        break;
+      case MOVE:
+        movePlayer(player, action.getArgument());
+        break;
+      case MOVE_PET:
+        movePet(action.getArgument());
+        break;
+      case PICK_ITEM:
+        pickUpItem(player, action.getArgument());
+        break;
+      default:
+        if (action.getArgument() >= 0) {
+          attackWithItem(player, action.getArgument());
+        } else {
+          attackWithHand();
+        }
     }
-    return new StringReader(computerCommand.toString());
   }
 
   @Override
   public void startGame() {
-    currentTurn = 0;
+    if (journal != null) {
+      journal.record(GameJournal.START, 0, 0);
+    }
+    state.setTurn(0);
   }
 
   /**
@@ -282,10 +446,10 @@ public class World implements WorldModel {
    */
   @Override
   public boolean movePlayer(Player player, int targetRoomId) {
-    if (targetRoomId < 0 || targetRoomId >= mansion.getRoomList().size()) {
+    if (targetRoomId < 0 || targetRoomId >= mansion.getRoomCount()) {
       return false;
     }
-    Room targetRoom = mansion.getRoomList().get(targetRoomId);
+    Room targetRoom = mansion.getRoom(targetRoomId);
     List<Room> neightborList = targetRoom.getNeightborList();
 
     boolean isNeighbor = false;
@@ -297,14 +461,18 @@ public class World implements WorldModel {
     }
 
     if (isNeighbor) {
-      mansion.getRoomList().get(player.getCurrentRoom()).deletePlayer(player);
-      mansion.getRoomList().get(targetRoomId).addPlayer(player);
+      int index = indexOf(player);
+      if (journal != null) {
+        journal.record(GameJournal.MOVE_PLAYER, index, targetRoomId);
+      }
+      occupancy.move(player.getCurrentRoom(), targetRoomId);
+      state.movePlayer(index, targetRoomId);
       player.move(targetRoomId);
 
       // turn + 1
-      target.move();
-      pet.move();
-      updateTurn();
+      state.moveTarget();
+      movePetAlongRoute();
+      state.nextTurn();
 
       return true;
     } else {
@@ -319,14 +487,17 @@ public class World implements WorldModel {
    */
   @Override
   public boolean movePet(int targetRoomId) {
-    if (targetRoomId < 0 || targetRoomId >= mansion.getRoomList().size()) {
+    if (targetRoomId < 0 || targetRoomId >= mansion.getRoomCount()) {
       return false;
     }
-    pet.move(targetRoomId);
+    if (journal != null) {
+      journal.record(GameJournal.MOVE_PET, targetRoomId, 0);
+    }
+    state.setPetRoom(targetRoomId);
 
     // turn + 1
-    target.move();
-    updateTurn();
+    state.moveTarget();
+    state.nextTurn();
 
     return true;
   }
@@ -338,7 +509,7 @@ public class World implements WorldModel {
    * @return The string shows the detailed information of those items.
    */
   public String showItemsInRoom(Player player) {
-    List<Item> itemList = mansion.getRoomList().get(player.getCurrentRoom()).getItemList();
+    List<Item> itemList = getItemsOnFloor(player.getCurrentRoom());
     StringBuilder stringBuilder = new StringBuilder();
     if (itemList.isEmpty()) {
       stringBuilder.append("[Empty]");
@@ -363,16 +534,20 @@ public class World implements WorldModel {
    * @return Whether this command successfully executed.
    */
   public boolean pickUpItem(Player player, int index) {
-    List<Item> itemList = mansion.getRoomList().get(player.getCurrentRoom()).getItemList();
-    if (index < 0 || index >= itemList.size()) {
+    int item = getItemOnFloor(player.getCurrentRoom(), index);
+    if (item == -1) {
       return false;
     }
-    player.addItem(itemList.get(index));
-    getMansion().getRoomList().get(player.getCurrentRoom()).deleteItem(index);
+    int playerIndex = indexOf(player);
+    if (journal != null) {
+      journal.record(GameJournal.PICK_ITEM, playerIndex, index);
+    }
+    state.pickUp(playerIndex, item);
+    player.addItem(template.items()[item]);
 
     // turn + 1
-    target.move();
-    updateTurn();
+    state.moveTarget();
+    state.nextTurn();
     return true;
   }
 
@@ -384,25 +559,23 @@ public class World implements WorldModel {
    * @return The information to display.
    */
   public String lookAround(Player player) {
+    if (journal != null) {
+      journal.record(GameJournal.LOOK_AROUND, indexOf(player), 0);
+    }
 
     StringBuilder stringBuilder = new StringBuilder();
     stringBuilder.append("Neighbor rooms' information: \n");
-    List<Room> neightborList = getMansion().getRoomList()
-        .get(player.getCurrentRoom()).getNeightborList();
-
-    int petLocation = pet.getCurrentRoom();
-    for (Room neighborRoom : neightborList) {
-      if (petLocation == neighborRoom.getId()) {
-        stringBuilder.append(neighborRoom.toStringHideVersion());
-      } else {
-        stringBuilder.append(neighborRoom.toString());
-      }
+    int[] neighbors = template.adjacency()[player.getCurrentRoom()];
+
+    int petLocation = state.getPetRoom();
+    for (int neighbor : neighbors) {
+      stringBuilder.append(describeRoom(neighbor, petLocation == neighbor));
     }
 
     // turn + 1
-    target.move();
-    pet.move();
-    updateTurn();
+    state.moveTarget();
+    movePetAlongRoute();
+    state.nextTurn();
 
     return stringBuilder.toString();
   }
@@ -441,27 +614,11 @@ public class World implements WorldModel {
     int currentRoomId = currentPlayer.getCurrentRoom();
 
     // if the pet stay in the exact same room as player
-    if (pet.getCurrentRoom() == currentRoomId) {
-      Room currentRoom = mansion.getRoomList().get(currentRoomId);
-      if (currentRoom.getPlayerList().size() > 1) {
-        return true;
-      } else {
-        return false;
-      }
-    } else {
-      // if the pet does not stay in the same room as player
-      List<Room> roomList = mansion.getRoomList().get(currentRoomId).getNeightborList();
-
-      Set<Integer> neighborSet = new HashSet<>();
-      for (Room room : roomList) {
-        neighborSet.add(room.getId());
-      }
-
-      if (playerQueue.stream().anyMatch(p -> neighborSet.contains(p.getCurrentRoom()))) {
-        return true;
-      }
-      return false;
+    if (state.getPetRoom() == currentRoomId) {
+      return occupancy.getCount(currentRoomId) > 1;
     }
+    // if the pet does not stay in the same room as player
+    return occupancy.isAnyNeighborOccupied(currentRoomId);
   }
 
   /**
@@ -473,14 +630,17 @@ public class World implements WorldModel {
     if (attackCheck(getCurrentTurnPlayer())) {
       return false;
     }
+    if (journal != null) {
+      journal.record(GameJournal.ATTACK_WITH_HAND, 0, 0);
+    }
 
-    boolean died = target.takeAnAttack(1);
+    boolean died = state.damageTarget(1);
 
     if (! died) {
       // turn + 1
-      target.move();
-      pet.move();
-      updateTurn();
+      state.moveTarget();
+      movePetAlongRoute();
+      state.nextTurn();
     }
     return true;
   }
@@ -493,24 +653,27 @@ public class World implements WorldModel {
    * @return          Whether index out of bound and whether seen by others.
    */
   public boolean[] attackWithItem(Player player, int index) {
-    List<Item> itemList = player.getItemList();
-    if (index < 0 || index >= itemList.size()) {
+    int playerIndex = indexOf(player);
+    if (index < 0 || index >= state.getHandSize(playerIndex)) {
       return new boolean[]{false, false};
     }
     if (attackCheck(getCurrentTurnPlayer())) {
       return new boolean[]{true, true};
     }
 
-    Item item = itemList.get(index);
-    itemList.remove(index);
+    if (journal != null) {
+      journal.record(GameJournal.ATTACK_WITH_ITEM, playerIndex, index);
+    }
+    Item item = template.items()[state.use(playerIndex, index)];
+    player.removeItem(index);
 
-    boolean died = target.takeAnAttack(item.getDamage());
+    boolean died = state.damageTarget(item.getDamage());
 
     if (! died) {
       // turn + 1
-      target.move();
-      pet.move();
-      updateTurn();
+      state.moveTarget();
+      movePetAlongRoute();
+      state.nextTurn();
     }
 
     return new boolean[]{true, false};
@@ -523,7 +686,26 @@ public class World implements WorldModel {
    * @return Current position of doctor lucky.
    */
   public int getTargetPosition() {
-    return target.getCurrentRoom();
+    return state.getTargetRoom();
+  }
+
+  @Override
+  public int getTargetPositionAt(int turn) {
+    if (turn < state.getTurn()) {
+      throw new IllegalArgumentException("Turn " + turn + " has already passed.");
+    }
+    // the target moves one room on every turn, as in Target.roomAfter
+    return (int) ((state.getTargetRoom() + (long) (turn - state.getTurn()))
+        % template.getRoomCount());
+  }
+
+  @Override
+  public int getTurnsUntilTargetEnters(int roomId) {
+    int roomCount = template.getRoomCount();
+    if (roomId < 0 || roomId >= roomCount) {
+      throw new IllegalArgumentException("Room should be in range 0 to " + (roomCount - 1));
+    }
+    return Math.floorMod(roomId - state.getTargetRoom(), roomCount);
   }
 
   /**
@@ -532,7 +714,12 @@ public class World implements WorldModel {
    * @return the position of pet.
    */
   public int getPetPosition() {
-    return pet.getCurrentRoom();
+    return state.getPetRoom();
+  }
+
+  @Override
+  public int getPetPositionAfter(int moves) {
+    return pet.roomAfter(state.getPetRoom(), moves);
   }
 
   /**
@@ -552,10 +739,11 @@ public class World implements WorldModel {
   /**
    * Gets the target of the world.
    *
-   * @return The target object.
+   * @return A new target object as the target is now.
    */
   public Target getTarget() {
-    return target;
+    return new Target(template.getTargetName(), state.getTargetHealth(),
+        state.getTargetRoom(), template.getRoomCount());
   }
 
   /**
@@ -564,120 +752,188 @@ public class World implements WorldModel {
    * @return Information of this world.
    */
   public String toString() {
-    return this.mansion.toString();
+    StringBuilder sb = new StringBuilder()
+        .append("Mansion name: ")
+        .append(mansion.getName())
+        .append("\nRow: ")
+        .append(mansion.getRow())
+        .append(" Column: ")
+        .append(mansion.getColumn())
+        .append("\n")
+        .append("Room List:\n");
+
+    for (int i = 0; i < mansion.getRoomCount(); i++) {
+      sb.append("\t" + (i + 1) + " ");
+      sb.append(describeRoom(i, false));
+    }
+
+    return sb.toString();
   }
 
   /**
-   * Parses the input information to create the mansion, target, rooms, and items in the world.
+   * Starts a new game on a map. Players already added keep their names and
+   * rooms, but not the items they held, which belonged to the old map.
    *
-   * @param information The input information containing world configuration data.
+   * @param template The map to play on.
    */
-  private void parseString(String information) {
-    String[] parts = information.split("\n");
-    // TODO: check if the input follow the format required
-
-    String[] tmp;
-
-    int roomNum = Integer.parseInt(parts[3]);
-
-    tmp = (parts[1]).split(" ");
-    target = new Target(Integer.parseInt(tmp[0]),
-        parts[1].substring(parts[1].lastIndexOf(tmp[1])),
-        roomNum);
-
-    List<Room> roomList = new ArrayList<Room>();
-
-    tmp = (parts[0]).split(" ");
-    mansion = new Mansion(
-        Integer.parseInt(parts[0].split(" ")[0]),
-        Integer.parseInt(parts[0].split(" ")[1]),
-        parts[0].substring(parts[0].lastIndexOf(tmp[2])),
-        roomList);
-
-    for (int i = 0; i < roomNum; i++) {
-      tmp = parts[4 + i].trim().split("\\s+");
-      int[] location = new int[4];
-
-      location[0] = Integer.parseInt(tmp[0]);
-      location[1] = Integer.parseInt(tmp[1]);
-      location[2] = Integer.parseInt(tmp[2]);
-      location[3] = Integer.parseInt(tmp[3]);
-      roomList.add(new Room(
-          parts[4 + i].substring(11),
-          location, i));
+  private void setUp(MansionTemplate template) {
+    GameState oldState = state;
+    this.template = template;
+    mansion = template.mansion();
+    pet = template.pet();
+    occupancy = template.emptyOccupancy().copy();
+
+    state = new GameState(template);
+    state.setTurn(oldState.getTurn());
+    state.setMaxTurn(oldState.getMaxTurn());
+    List<Player> oldPlayers = players;
+    List<ComputerStrategy> oldStrategies = strategies;
+    players = new ArrayList<>(oldPlayers.size());
+    strategies = new ArrayList<>(oldStrategies.size());
+    for (int i = 0; i < oldState.getPlayerCount(); i++) {
+      Player player = oldPlayers.get(oldState.getPlayerInTurn(i));
+      player.clearItems();
+      players.add(player);
+      strategies.add(oldStrategies.get(oldState.getPlayerInTurn(i)));
+      state.addPlayer(player.getCurrentRoom());
+      if (player.getCurrentRoom() < template.getRoomCount()) {
+        occupancy.add(player.getCurrentRoom());
+      }
     }
+  }
 
-    calculateNeighbor(roomList);
-
-    int itemNum = Integer.parseInt(parts[4 + roomNum]);
-    int roomNumber;
-
-    for (int i = 0; i < itemNum; i++) {
-      tmp = parts[5 + roomNum + i].split("\\s+");
-
-      roomNumber = Integer.parseInt(tmp[0]);
+  /**
+   * Get the player at an index of the state of this game.
+   */
+  Player getPlayer(int index) {
+    return players.get(index);
+  }
 
-      Room tmpRoom = roomList.get(roomNumber);
-      tmpRoom.addItem(new Item(
-          parts[5 + roomNum + i].substring(parts[5 + roomNum + i].lastIndexOf(tmp[2])),
-          Integer.parseInt(tmp[1]),
-          roomNum));
+  /**
+   * Find the index of a player in the state of this game.
+   */
+  int indexOf(Player player) {
+    for (int i = 0; i < players.size(); i++) {
+      if (players.get(i) == player) {
+        return i;
+      }
     }
+    throw new IllegalArgumentException("Player " + player.getName() + " is not in this game.");
+  }
 
-    pet = new Pet(parts[2], 0, depthFirstTraversal(mansion));
-
+  private void movePetAlongRoute() {
+    state.setPetRoom(pet.nextRoom(state.getPetRoom()));
   }
 
   /**
-   * Calculate the path for pet to move around.
+   * Count the items lying in a room.
    */
-  private int[] depthFirstTraversal(Mansion mansion) {
-    Set<Room> visitedRoom = new HashSet<>();
-    Stack<Room> roomStack = new Stack<>();
-    int roomCnt = mansion.getRoomList().size();
-    int[] routine = new int[roomCnt];
-
-    Room currentRoom = mansion.getRoomList().get(0);
-    roomStack.push(currentRoom);
-    visitedRoom.add(currentRoom);
-    routine[0] = 0;
+  private int countItemsOnFloor(int roomId) {
+    int[] start = template.roomItemStart();
+    int[] items = template.roomItems();
+    int cnt = 0;
+    for (int k = start[roomId]; k < start[roomId + 1]; k++) {
+      if (state.getItemHolder(items[k]) == GameState.ON_FLOOR) {
+        cnt++;
+      }
+    }
+    return cnt;
+  }
 
-    while (visitedRoom.size() != roomCnt && roomStack.size() != 0) {
-      currentRoom = roomStack.peek();
-      boolean isFound = false;
-      for (Room room : currentRoom.getNeightborList()) {
-        if (!visitedRoom.contains(room)) {
-          routine[visitedRoom.size()] = room.getId();
-          visitedRoom.add(room);
-          roomStack.push(room);
-          isFound = true;
-          break;
-        }
+  /**
+   * Find an item lying in a room.
+   *
+   * @return The index of the item in the template, or -1 if there are not so many items.
+   */
+  private int getItemOnFloor(int roomId, int index) {
+    if (index < 0) {
+      return -1;
+    }
+    int[] start = template.roomItemStart();
+    int[] items = template.roomItems();
+    for (int k = start[roomId]; k < start[roomId + 1]; k++) {
+      if (state.getItemHolder(items[k]) == GameState.ON_FLOOR && index-- == 0) {
+        return items[k];
       }
+    }
+    return -1;
+  }
 
-      if (!isFound) {
-        roomStack.pop();
+  /**
+   * Get the items lying in a room, in the order they can be picked up.
+   */
+  List<Item> getItemsOnFloor(int roomId) {
+    int[] start = template.roomItemStart();
+    int[] items = template.roomItems();
+    List<Item> itemList = new ArrayList<>();
+    for (int k = start[roomId]; k < start[roomId + 1]; k++) {
+      if (state.getItemHolder(items[k]) == GameState.ON_FLOOR) {
+        itemList.add(template.items()[items[k]]);
       }
     }
-    return routine;
+    return itemList;
   }
 
   /**
-   * Calculates neighbor relationships between rooms and updates their neighbor lists accordingly.
+   * Describe a room as it is now, with the items lying in it and the players
+   * in the order they came in.
    *
-   * @param roomList The list of rooms in the world.
+   * @param roomId      The room.
+   * @param hidePlayers Whether the pet hides who is inside.
+   * @return The description.
    */
-  private void calculateNeighbor(List<Room> roomList) {
-    for (int i = 0; i < roomList.size(); i++) {
-      for (int j = i + 1; j < roomList.size(); j++) {
-        Room a = roomList.get(i);
-        Room b = roomList.get(j);
-        if (isNeighbor(a, b)) {
-          a.addNeighbor(b);
-          b.addNeighbor(a);
+  private String describeRoom(int roomId, boolean hidePlayers) {
+    StringBuilder sb = new StringBuilder()
+        .append("[")
+        .append(template.getRoomName(roomId))
+        .append("]")
+        .append(": ")
+        .append((roomId + 1))
+        .append("\n\t\tItems within: ");
+    List<Item> itemList = getItemsOnFloor(roomId);
+    if (itemList.isEmpty()) {
+      sb.append("[Empty]");
+    } else {
+      for (Item item : itemList) {
+        sb.append(item.toString());
+      }
+    }
+
+    sb.append("\n\t\tNeighbors: ");
+    for (int neighbor : template.adjacency()[roomId]) {
+      sb.append("#")
+          .append(neighbor + 1)
+          .append(" ")
+          .append(template.getRoomName(neighbor))
+          .append(", ");
+    }
+    sb.deleteCharAt(sb.length() - 2);
+
+    if (hidePlayers) {
+      sb.append("\n\t\tPlayer inside: Oops! This room is "
+          + "invisible due to the magic of pet\n");
+      return sb.toString();
+    }
+    sb.append("\n\t\tPlayer inside: ");
+    List<Integer> inside = new ArrayList<>();
+    for (int i = 0; i < state.getPlayerCount(); i++) {
+      if (state.getPlayerRoom(i) == roomId) {
+        int k = inside.size();
+        while (k > 0 && state.arrivedBefore(i, inside.get(k - 1))) {
+          k--;
         }
+        inside.add(k, i);
       }
     }
+    if (inside.isEmpty()) {
+      sb.append("[Empty]\n");
+    } else {
+      for (int i : inside) {
+        sb.append(players.get(i).toString());
+      }
+    }
+    sb.append("\n");
+    return sb.toString();
   }
 
   /**
@@ -733,7 +989,7 @@ public class World implements WorldModel {
 
     graphics2D.drawRect(SIZE, SIZE, mansion.getColumn() * SIZE, mansion.getRow() * SIZE);
 
-    for (Room room : mansion.getRoomList()) {
+    for (Room room : mansion.getRooms()) {
       int[] location = room.getLocation();
       int height = (location[2] - location[0] + 1) * SIZE;
       int width = (location[3] - location[1] + 1) * SIZE;
@@ -752,6 +1008,11 @@ public class World implements WorldModel {
     return initialized;
   }
 
+  @Override
+  public int getMapVersion() {
+    return mapVersion;
+  }
+
   /**
    * Get the positions of all the players and items in the world.
    * @return  A map of all the positions.
@@ -763,16 +1024,16 @@ public class World implements WorldModel {
     Map<Integer, Integer> occupied = new HashMap<>();
     occupied.put(targetRoom, 1);
 
-    List<Room> roomList = mansion.getRoomList();
-    int[] targetLocation = roomList.get(targetRoom).getLocation();
+    int[] targetLocation = mansion.getRoom(targetRoom).getLocation();
     int[] targetPosition = {(targetLocation[1] + 1) * SIZE, (targetLocation[0] + 1) * SIZE + 20};
 
     positions.put("target", targetPosition);
 
     int offset = 50;
-    for (Player player : playerQueue) {
+    for (int i = 0; i < state.getPlayerCount(); i++) {
+      Player player = players.get(state.getPlayerInTurn(i));
       int roomId = player.getCurrentRoom();
-      Room currentRoom = roomList.get(roomId);
+      Room currentRoom = mansion.getRoom(roomId);
 
       Integer cnt = occupied.get(roomId);
       int[] location = currentRoom.getLocation().clone();
@@ -793,12 +1054,13 @@ public class World implements WorldModel {
 
   @Override
   public boolean isGameOver() {
-    return isGameOver;
+    return state.isGameOver();
   }
 
   @Override
   public String getPlayerDescription(String name) {
-    for (Player player : playerQueue) {
+    for (int i = 0; i < state.getPlayerCount(); i++) {
+      Player player = players.get(state.getPlayerInTurn(i));
       if (name.equals(player.getName())) {
         return player.toString();
       }
@@ -812,29 +1074,106 @@ public class World implements WorldModel {
     Player player = getCurrentTurnPlayer();
     Map<String, Integer> highestDamageItem = new HashMap<>();
 
-    List<Room> roomList = mansion.getRoomList();
-    for (Room room : roomList) {
-      if (room.getId() == player.getCurrentRoom()) {
-        List<Item> itemList = room.getItemList();
-        int maxDamage = itemList.get(0).getDamage();
-        int maxIdx = 0;
-        for (int i = 1; i < itemList.size(); i++) {
-          if (itemList.get(i).getDamage() > maxDamage) {
-            maxDamage = itemList.get(i).getDamage();
-            maxIdx = i;
-          }
-        }
-        String pickedItemName = itemList.get(maxIdx).getName();
-        highestDamageItem.put(pickedItemName, maxIdx);
-        return highestDamageItem;
+    List<Item> itemList = getItemsOnFloor(player.getCurrentRoom());
+    int maxDamage = itemList.get(0).getDamage();
+    int maxIdx = 0;
+    for (int i = 1; i < itemList.size(); i++) {
+      if (itemList.get(i).getDamage() > maxDamage) {
+        maxDamage = itemList.get(i).getDamage();
+        maxIdx = i;
       }
     }
+    String pickedItemName = itemList.get(maxIdx).getName();
+    highestDamageItem.put(pickedItemName, maxIdx);
     return highestDamageItem;
   }
 
   @Override
   public void gameOver() {
-    isGameOver = true;
+    if (journal != null) {
+      journal.record(GameJournal.GAME_OVER, 0, 0);
+    }
+    state.setGameOver(true);
+  }
+
+  @Override
+  public GameState snapshot() {
+    return state.copy();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Only what differs is changed: the players are moved to their rooms and
+   * given their items again, so restoring takes time in proportion to the
+   * number of players and items, not rooms. Forking once and restoring the
+   * fork for every try is the cheapest way to look ahead.
+   *
+   * @throws IllegalStateException if the game is recorded in a journal, whose
+   *                               records would no longer rebuild it.
+   */
+  @Override
+  public void restore(GameState snapshot) {
+    if (journal != null) {
+      throw new IllegalStateException("A game recorded in a journal can not be restored.");
+    }
+    if (!state.isSameMap(snapshot)) {
+      throw new IllegalArgumentException("Snapshot is of another map.");
+    }
+    if (snapshot.getPlayerCount() > players.size()) {
+      throw new IllegalArgumentException("Snapshot has " + snapshot.getPlayerCount()
+          + " players, this game only " + players.size() + ".");
+    }
+
+    for (int i = 0; i < players.size(); i++) {
+      int from = state.getPlayerRoom(i);
+      if (isRoom(from)) {
+        occupancy.remove(from);
+      }
+      if (i < snapshot.getPlayerCount() && isRoom(snapshot.getPlayerRoom(i))) {
+        occupancy.add(snapshot.getPlayerRoom(i));
+      }
+    }
+    state.copyFrom(snapshot);
+    players.subList(state.getPlayerCount(), players.size()).clear();
+    strategies.subList(state.getPlayerCount(), strategies.size()).clear();
+
+    Item[] items = template.items();
+    for (int i = 0; i < players.size(); i++) {
+      Player player = players.get(i);
+      player.move(state.getPlayerRoom(i));
+      player.clearItems();
+      for (int slot = 0; slot < state.getHandSize(i); slot++) {
+        player.addItem(items[state.getHeldItem(i, slot)]);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The fork shares the map with this world and copies only the state, the
+   * players and the occupancy of rooms. Its computer players draw from a new
+   * random sequence.
+   */
+  @Override
+  public World fork() {
+    return fork(ThreadLocalRandom.current().nextLong());
+  }
+
+  /**
+   * Make an independent copy of this game whose computer players draw from a
+   * seeded random sequence.
+   *
+   * @param seed the seed of the copy's computer players' random sequence.
+   * @return the copy.
+   */
+  public World fork(long seed) {
+    return new World(this, seed);
+  }
+
+  private boolean isRoom(int roomId) {
+    return roomId >= 0 && roomId < state.getRoomCount();
   }
 
 }
@@ -37,6 +37,18 @@ public interface WorldModel extends ReadOnlyModel {
    */
   Player addPlayer(String name, int currentRoom, boolean isHuman);
 
+  /**
+   * Add a new computer player to this game.
+   *
+   * @param name        Name of the player.
+   * @param currentRoom Room that the player stay at the beginning of the game.
+   * @param strategy    How the player chooses its commands.
+   * @return The created player.
+   * @throws IllegalArgumentException if the room does not exist or the
+   *                                  strategy is null.
+   */
+  Player addPlayer(String name, int currentRoom, ComputerStrategy strategy);
+
   /**
    * Moves the player to the target room.
    *
@@ -100,9 +112,9 @@ public interface WorldModel extends ReadOnlyModel {
    * Return the command of computer player.
    *
    * @param player The computer player of this turn.
-   * @return The command of computer player.
+   * @return The command of computer player, ready to be carried out without parsing.
    */
-  Readable computerPlayerAction(Player player);
+  ComputerAction computerPlayerAction(Player player);
 
   /**
    * Start the game.
@@ -118,7 +130,10 @@ public interface WorldModel extends ReadOnlyModel {
   String getPlayerDescription(String name);
 
   /**
-   * Return the mansion that contains rooms.
+   * Return the mansion that contains rooms. The mansion belongs to the map and
+   * may be shared with other games, so its rooms can not be changed and hold
+   * no items or players; {@link #getItemsInRoom(int)} and
+   * {@link #getPositions()} tell where things are in this game.
    *
    * @return the mansion
    */
@@ -137,4 +152,31 @@ public interface WorldModel extends ReadOnlyModel {
    */
   void gameOver();
 
+  /**
+   * Take a snapshot of everything that changes in this game, to go back to
+   * later with {@link #restore(GameState)}.
+   *
+   * @return a copy of the state of this game.
+   */
+  GameState snapshot();
+
+  /**
+   * Put the game back to a snapshot taken from it, or from a fork of it. The
+   * snapshot is copied, so it can be restored again. Players who joined after
+   * the snapshot was taken leave the game.
+   *
+   * @param snapshot the state to go back to.
+   * @throws IllegalArgumentException if the snapshot is of another map, or has
+   *                                  players this game does not know.
+   */
+  void restore(GameState snapshot);
+
+  /**
+   * Make an independent copy of this game on the same map, with copies of
+   * its players, for trying out moves without touching this game.
+   *
+   * @return the copy.
+   */
+  WorldModel fork();
+
 }
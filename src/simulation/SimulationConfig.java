@@ -0,0 +1,140 @@
+package simulation;
+
+import java.util.Arrays;
+import model.ComputerStrategies;
+
+/**
+ * The {@code SimulationConfig} class describes one headless game: the map to
+ * play on, the computer players taking part and the strategy each plays
+ * with, the turn limit and the seed of the computer players' random choices.
+ */
+public class SimulationConfig {
+  private final String pathToFile;
+  private final String[] names;
+  private final int[] startingRooms;
+  private final String[] strategies;
+  private final int maxTurn;
+  private final long seed;
+
+  /**
+   * Constructs a new simulation config.
+   *
+   * @param pathToFile    The path to the file that contains the world configuration.
+   * @param names         Names of the computer players, in turn order.
+   * @param startingRooms Zero based starting room of each player.
+   * @param maxTurn       The max turn number of the game.
+   * @param seed          The seed of the computer players' random choices.
+   * @throws IllegalArgumentException if the roster is empty or inconsistent,
+   *                                  or the max turn is not positive.
+   */
+  public SimulationConfig(String pathToFile, String[] names, int[] startingRooms,
+                          int maxTurn, long seed) {
+    this(pathToFile, names, startingRooms, null, maxTurn, seed);
+  }
+
+  /**
+   * Constructs a new simulation config where every player chooses its
+   * commands with a named strategy.
+   *
+   * @param pathToFile    The path to the file that contains the world configuration.
+   * @param names         Names of the computer players, in turn order.
+   * @param startingRooms Zero based starting room of each player.
+   * @param strategies    Name of each player's strategy, as registered in
+   *                      {@link model.ComputerStrategies}, or null for all "Random".
+   * @param maxTurn       The max turn number of the game.
+   * @param seed          The seed of the computer players' random choices.
+   * @throws IllegalArgumentException if the roster is empty or inconsistent,
+   *                                  or the max turn is not positive.
+   */
+  public SimulationConfig(String pathToFile, String[] names, int[] startingRooms,
+                          String[] strategies, int maxTurn, long seed) {
+    if (pathToFile == null) {
+      throw new IllegalArgumentException("Path to file should not be null.");
+    }
+    if (names == null || startingRooms == null || names.length == 0
+        || names.length != startingRooms.length) {
+      throw new IllegalArgumentException("Every player needs a name and a starting room.");
+    }
+    if (strategies != null && strategies.length != names.length) {
+      throw new IllegalArgumentException("Every player needs a strategy.");
+    }
+    if (maxTurn <= 0) {
+      throw new IllegalArgumentException("Max turn should be positive.");
+    }
+    this.pathToFile = pathToFile;
+    this.names = Arrays.copyOf(names, names.length);
+    this.startingRooms = Arrays.copyOf(startingRooms, startingRooms.length);
+    this.strategies = new String[names.length];
+    for (int i = 0; i < names.length; i++) {
+      this.strategies[i] = strategies == null ? ComputerStrategies.DEFAULT : strategies[i];
+    }
+    this.maxTurn = maxTurn;
+    this.seed = seed;
+  }
+
+  /**
+   * Gets the path to the map file.
+   *
+   * @return The path to the map file.
+   */
+  public String getPathToFile() {
+    return pathToFile;
+  }
+
+  /**
+   * Gets the number of players in the roster.
+   *
+   * @return The number of players.
+   */
+  public int getPlayerCount() {
+    return names.length;
+  }
+
+  /**
+   * Gets the name of a player.
+   *
+   * @param index Index of the player in turn order.
+   * @return The name of the player.
+   */
+  public String getName(int index) {
+    return names[index];
+  }
+
+  /**
+   * Gets the zero based starting room of a player.
+   *
+   * @param index Index of the player in turn order.
+   * @return The starting room of the player.
+   */
+  public int getStartingRoom(int index) {
+    return startingRooms[index];
+  }
+
+  /**
+   * Gets the name of the strategy a player chooses its commands with.
+   *
+   * @param index Index of the player in turn order.
+   * @return The name of the strategy.
+   */
+  public String getStrategy(int index) {
+    return strategies[index];
+  }
+
+  /**
+   * Gets the max turn of the game.
+   *
+   * @return The max turn.
+   */
+  public int getMaxTurn() {
+    return maxTurn;
+  }
+
+  /**
+   * Gets the seed of the computer players' random choices.
+   *
+   * @return The seed.
+   */
+  public long getSeed() {
+    return seed;
+  }
+}
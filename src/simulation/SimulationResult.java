@@ -0,0 +1,71 @@
+package simulation;
+
+import java.util.Arrays;
+
+/**
+ * The {@code SimulationResult} class is the outcome of one headless game. It
+ * keeps only the winner, the number of turns played and the remaining health
+ * of the target after each turn.
+ */
+public class SimulationResult {
+  private final String winner;
+  private final int turnsTaken;
+  private final int[] targetHealthHistory;
+
+  /**
+   * Constructs a new simulation result.
+   *
+   * @param winner              Name of the player who killed the target, null if it escaped.
+   * @param turnsTaken          Number of turns played.
+   * @param targetHealthHistory Target's health before the first turn and after each turn.
+   */
+  public SimulationResult(String winner, int turnsTaken, int[] targetHealthHistory) {
+    this.winner = winner;
+    this.turnsTaken = turnsTaken;
+    this.targetHealthHistory = targetHealthHistory;
+  }
+
+  /**
+   * Gets the name of the winner.
+   *
+   * @return The winner's name, or null if the target escaped.
+   */
+  public String getWinner() {
+    return winner;
+  }
+
+  /**
+   * Return whether the target was killed.
+   *
+   * @return Whether the target was killed.
+   */
+  public boolean isTargetKilled() {
+    return winner != null;
+  }
+
+  /**
+   * Gets the number of turns played.
+   *
+   * @return The number of turns played.
+   */
+  public int getTurnsTaken() {
+    return turnsTaken;
+  }
+
+  /**
+   * Gets the target's health before the first turn and after each turn.
+   *
+   * @return A copy of the health history, of length turnsTaken + 1.
+   */
+  public int[] getTargetHealthHistory() {
+    return Arrays.copyOf(targetHealthHistory, targetHealthHistory.length);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("winner: %s, turns: %d, target health: %d",
+        winner == null ? "[None]" : winner,
+        turnsTaken,
+        targetHealthHistory[targetHealthHistory.length - 1]);
+  }
+}
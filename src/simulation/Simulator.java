@@ -0,0 +1,111 @@
+package simulation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import model.ComputerStrategies;
+import model.Player;
+import model.World;
+
+/**
+ * The {@code Simulator} plays computer-only games without any view, prompt or
+ * image output. Each game gets its own {@link World} and its own seeded random
+ * sequence, so many games can be played in parallel.
+ */
+public class Simulator {
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs a simulator that uses every available core.
+   */
+  public Simulator() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs a simulator that plays at most the given number of games at once.
+   *
+   * @param parallelism The number of games played at once.
+   * @throws IllegalArgumentException if parallelism is not positive.
+   */
+  public Simulator(int parallelism) {
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("Parallelism should be positive.");
+    }
+    this.pool = new ForkJoinPool(parallelism);
+  }
+
+  /**
+   * Play one game to the end.
+   *
+   * @param config The game to play.
+   * @return The outcome of the game.
+   * @throws IllegalArgumentException if the map can not be loaded or a
+   *                                  strategy is unknown.
+   */
+  public static SimulationResult run(SimulationConfig config) {
+    World world = new World(config.getSeed());
+    world.initializeWorld(config.getPathToFile());
+    if (!world.isInitialized()) {
+      throw new IllegalArgumentException("Can not load map " + config.getPathToFile());
+    }
+    world.setMaxTurn(config.getMaxTurn());
+    world.startGame();
+    for (int i = 0; i < config.getPlayerCount(); i++) {
+      world.addPlayer(config.getName(i), config.getStartingRoom(i),
+          ComputerStrategies.get(config.getStrategy(i)));
+    }
+
+    int[] history = new int[config.getMaxTurn() + 1];
+    history[0] = world.getTargetRemainingHealth();
+    int turnsTaken = 0;
+    String winner = null;
+
+    while (!world.checkTurnUsedUp()) {
+      Player player = world.getCurrentTurnPlayer();
+      int turn = world.getTurn();
+      world.playComputerTurn(player);
+
+      turnsTaken += 1;
+      history[turnsTaken] = world.getTargetRemainingHealth();
+      if (world.getTargetRemainingHealth() <= 0) {
+        winner = player.getName();
+        break;
+      }
+      if (world.getTurn() == turn) {
+        throw new IllegalStateException("Player " + player.getName() + " did not finish a turn.");
+      }
+    }
+    world.gameOver();
+
+    return new SimulationResult(winner, turnsTaken, Arrays.copyOf(history, turnsTaken + 1));
+  }
+
+  /**
+   * Play a batch of games in parallel.
+   *
+   * @param configs The games to play.
+   * @return The outcome of each game, in the same order as the configs.
+   */
+  public List<SimulationResult> runAll(List<SimulationConfig> configs) {
+    try {
+      return pool.submit(() -> configs.parallelStream()
+          .map(Simulator::run)
+          .collect(Collectors.toList())).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Simulation interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Simulation failed", e.getCause());
+    }
+  }
+
+  /**
+   * Stop the worker threads once all submitted games are done.
+   */
+  public void shutdown() {
+    pool.shutdown();
+  }
+}
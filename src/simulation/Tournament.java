@@ -0,0 +1,175 @@
+package simulation;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import model.ComputerStrategies;
+import model.MansionTemplateCache;
+
+/**
+ * The {@code Tournament} class plays every pair of computer strategies against
+ * each other on every map, a fixed number of games per pair and map, and adds
+ * up the outcomes in a {@link TournamentResult}. The two players of a game
+ * start in random rooms and take turns going first, and every game has its own
+ * seed, so the same tournament always has the same result.
+ *
+ * <p>The games are played on a {@link Simulator}, whose fork-join pool lets
+ * idle workers take over games from busy ones.
+ */
+public class Tournament {
+  /**
+   * The turn limit of the games when none is given.
+   */
+  public static final int DEFAULT_MAX_TURN = 200;
+
+  private final List<String> strategies;
+  private final List<String> maps;
+  private final int[] roomCounts;
+  private final int gamesPerPairing;
+  private final int maxTurn;
+  private final long seed;
+
+  /**
+   * Constructs a tournament.
+   *
+   * @param strategies      The names of the strategies, as registered in
+   *                        {@link ComputerStrategies}.
+   * @param maps            The paths of the map files.
+   * @param gamesPerPairing The number of games each pair plays on each map.
+   * @param maxTurn         The turn limit of every game.
+   * @param seed            The seed the seeds of the games are drawn from.
+   * @throws IllegalArgumentException if there are fewer than two different
+   *                                  strategies, a strategy is unknown, there
+   *                                  are no maps or one can not be loaded, or
+   *                                  the counts are not positive.
+   */
+  public Tournament(List<String> strategies, List<String> maps, int gamesPerPairing,
+                    int maxTurn, long seed) {
+    if (strategies == null || strategies.size() < 2) {
+      throw new IllegalArgumentException("A tournament needs at least two strategies.");
+    }
+    for (int i = 0; i < strategies.size(); i++) {
+      ComputerStrategies.get(strategies.get(i));
+      if (strategies.indexOf(strategies.get(i)) != i) {
+        throw new IllegalArgumentException("Strategy " + strategies.get(i) + " is given twice.");
+      }
+    }
+    if (maps == null || maps.isEmpty()) {
+      throw new IllegalArgumentException("A tournament needs at least one map.");
+    }
+    if (gamesPerPairing <= 0) {
+      throw new IllegalArgumentException("Games per pairing should be positive.");
+    }
+    if (maxTurn <= 0) {
+      throw new IllegalArgumentException("Max turn should be positive.");
+    }
+    this.strategies = new ArrayList<>(strategies);
+    this.maps = new ArrayList<>(maps);
+    this.roomCounts = new int[maps.size()];
+    for (int m = 0; m < maps.size(); m++) {
+      try {
+        roomCounts[m] = MansionTemplateCache.getShared().get(maps.get(m)).getRoomCount();
+      } catch (IOException ioe) {
+        throw new IllegalArgumentException("Can not load map " + maps.get(m), ioe);
+      }
+    }
+    this.gamesPerPairing = gamesPerPairing;
+    this.maxTurn = maxTurn;
+    this.seed = seed;
+  }
+
+  /**
+   * Gets the games of the tournament, map by map and pair by pair.
+   *
+   * @return The games to play.
+   */
+  public List<SimulationConfig> getGames() {
+    Random random = new Random(seed);
+    List<SimulationConfig> configs = new ArrayList<>();
+    for (int m = 0; m < maps.size(); m++) {
+      for (int a = 0; a < strategies.size(); a++) {
+        for (int b = a + 1; b < strategies.size(); b++) {
+          for (int game = 0; game < gamesPerPairing; game++) {
+            // every other game the second strategy goes first
+            String first = strategies.get(game % 2 == 0 ? a : b);
+            String second = strategies.get(game % 2 == 0 ? b : a);
+            int[] rooms = {random.nextInt(roomCounts[m]), random.nextInt(roomCounts[m])};
+            configs.add(new SimulationConfig(maps.get(m), new String[] {first, second}, rooms,
+                new String[] {first, second}, maxTurn, random.nextLong()));
+          }
+        }
+      }
+    }
+    return configs;
+  }
+
+  /**
+   * Plays every game of the tournament.
+   *
+   * @param simulator The simulator to play the games on.
+   * @return The outcome of the tournament.
+   */
+  public TournamentResult run(Simulator simulator) {
+    List<SimulationConfig> configs = getGames();
+    List<SimulationResult> results = simulator.runAll(configs);
+    TournamentResult result = new TournamentResult(strategies, maps, roomCounts);
+    for (int i = 0; i < configs.size(); i++) {
+      result.add(maps.indexOf(configs.get(i).getPathToFile()), configs.get(i), results.get(i));
+    }
+    return result;
+  }
+
+  /**
+   * Runs a tournament from the command line and prints its result as CSV.
+   * The arguments are the strategies separated by commas, the map files or
+   * folders of map files separated by commas, the games per pairing, and
+   * optionally the turn limit and the seed. For example
+   * {@code java simulation.Tournament Random,Greedy,Intercept res/map 50}.
+   *
+   * @param args The arguments.
+   */
+  public static void main(String[] args) {
+    if (args.length < 3) {
+      System.err.println("Usage: java simulation.Tournament <strategies> <maps> "
+          + "<games per pairing> [max turn] [seed]");
+      System.err.println("Strategies: " + String.join(",", ComputerStrategies.getNames()));
+      System.exit(1);
+    }
+    List<String> strategies = Arrays.asList(args[0].split(","));
+    List<String> maps = findMaps(args[1]);
+    int games = Integer.parseInt(args[2]);
+    int maxTurn = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_MAX_TURN;
+    long seed = args.length > 4 ? Long.parseLong(args[4]) : 1;
+
+    Simulator simulator = new Simulator();
+    try {
+      new Tournament(strategies, maps, games, maxTurn, seed).run(simulator).print(System.out);
+    } finally {
+      simulator.shutdown();
+    }
+  }
+
+  /**
+   * The map files named in a list separated by commas, with folders standing
+   * for the text files inside them.
+   */
+  static List<String> findMaps(String list) {
+    List<String> maps = new ArrayList<>();
+    for (String name : list.split(",")) {
+      File file = new File(name);
+      File[] files = file.listFiles((dir, child) -> child.endsWith(".txt"));
+      if (files == null) {
+        maps.add(name);
+      } else {
+        Arrays.sort(files);
+        for (File child : files) {
+          maps.add(child.getPath());
+        }
+      }
+    }
+    return maps;
+  }
+}
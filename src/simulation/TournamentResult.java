@@ -0,0 +1,301 @@
+package simulation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The {@code TournamentResult} class adds up the games of a
+ * {@link Tournament}: how often each strategy won, with a confidence interval
+ * for its win rate, how long the games on each map lasted, and how often each
+ * strategy won from each room it started in.
+ */
+public class TournamentResult {
+  /**
+   * The normal quantile of the 95% confidence intervals.
+   */
+  public static final double Z_95 = 1.959964;
+
+  private final List<String> strategies;
+  private final List<String> maps;
+  private final int[] games;
+  private final int[] wins;
+  private final int[] mapGames;
+  private final long[] mapTurns;
+  private final int[] mapEscapes;
+  // [map][strategy * rooms + room]
+  private final int[][] startGames;
+  private final int[][] startWins;
+
+  /**
+   * Constructs an empty result.
+   *
+   * @param strategies The names of the strategies taking part.
+   * @param maps       The paths of the maps played on.
+   * @param roomCounts The number of rooms of each map.
+   */
+  TournamentResult(List<String> strategies, List<String> maps, int[] roomCounts) {
+    this.strategies = Collections.unmodifiableList(new ArrayList<>(strategies));
+    this.maps = Collections.unmodifiableList(new ArrayList<>(maps));
+    this.games = new int[strategies.size()];
+    this.wins = new int[strategies.size()];
+    this.mapGames = new int[maps.size()];
+    this.mapTurns = new long[maps.size()];
+    this.mapEscapes = new int[maps.size()];
+    this.startGames = new int[maps.size()][];
+    this.startWins = new int[maps.size()][];
+    for (int m = 0; m < maps.size(); m++) {
+      startGames[m] = new int[strategies.size() * roomCounts[m]];
+      startWins[m] = new int[strategies.size() * roomCounts[m]];
+    }
+  }
+
+  /**
+   * Counts one game.
+   *
+   * @param map    The index of the map.
+   * @param config The game.
+   * @param result Its outcome.
+   */
+  void add(int map, SimulationConfig config, SimulationResult result) {
+    mapGames[map]++;
+    mapTurns[map] += result.getTurnsTaken();
+    if (!result.isTargetKilled()) {
+      mapEscapes[map]++;
+    }
+    int rooms = startGames[map].length / strategies.size();
+    for (int i = 0; i < config.getPlayerCount(); i++) {
+      int strategy = strategies.indexOf(config.getStrategy(i));
+      int start = strategy * rooms + config.getStartingRoom(i);
+      games[strategy]++;
+      startGames[map][start]++;
+      if (config.getName(i).equals(result.getWinner())) {
+        wins[strategy]++;
+        startWins[map][start]++;
+      }
+    }
+  }
+
+  /**
+   * Gets the names of the strategies taking part.
+   *
+   * @return The names, in the order they were given.
+   */
+  public List<String> getStrategies() {
+    return strategies;
+  }
+
+  /**
+   * Gets the paths of the maps played on.
+   *
+   * @return The paths, in the order they were given.
+   */
+  public List<String> getMaps() {
+    return maps;
+  }
+
+  /**
+   * Gets the number of games a strategy played.
+   *
+   * @param strategy The name of the strategy.
+   * @return The number of games.
+   */
+  public int getGames(String strategy) {
+    return games[indexOf(strategy)];
+  }
+
+  /**
+   * Gets the number of games a strategy won.
+   *
+   * @param strategy The name of the strategy.
+   * @return The number of wins.
+   */
+  public int getWins(String strategy) {
+    return wins[indexOf(strategy)];
+  }
+
+  /**
+   * Gets the share of its games a strategy won.
+   *
+   * @param strategy The name of the strategy.
+   * @return The win rate, 0 if it played no games.
+   */
+  public double getWinRate(String strategy) {
+    int index = indexOf(strategy);
+    return games[index] == 0 ? 0 : (double) wins[index] / games[index];
+  }
+
+  /**
+   * Gets the 95% Wilson score interval of a strategy's win rate.
+   *
+   * @param strategy The name of the strategy.
+   * @return The lower and upper bound.
+   */
+  public double[] getConfidenceInterval(String strategy) {
+    int index = indexOf(strategy);
+    return wilsonInterval(wins[index], games[index], Z_95);
+  }
+
+  /**
+   * Gets the number of turns the games lasted on average.
+   *
+   * @return The average game length, 0 if no game was played.
+   */
+  public double getAverageGameLength() {
+    long turns = 0;
+    int count = 0;
+    for (int m = 0; m < maps.size(); m++) {
+      turns += mapTurns[m];
+      count += mapGames[m];
+    }
+    return count == 0 ? 0 : (double) turns / count;
+  }
+
+  /**
+   * Gets the number of turns the games on a map lasted on average.
+   *
+   * @param map The path of the map.
+   * @return The average game length, 0 if no game was played.
+   */
+  public double getAverageGameLength(String map) {
+    int index = indexOfMap(map);
+    return mapGames[index] == 0 ? 0 : (double) mapTurns[index] / mapGames[index];
+  }
+
+  /**
+   * Gets the number of games a strategy played from a starting room.
+   *
+   * @param map      The path of the map.
+   * @param strategy The name of the strategy.
+   * @param room     The zero based starting room.
+   * @return The number of games.
+   */
+  public int getStartRoomGames(String map, String strategy, int room) {
+    int m = indexOfMap(map);
+    return startGames[m][startIndex(m, strategy, room)];
+  }
+
+  /**
+   * Gets the number of games a strategy won from a starting room.
+   *
+   * @param map      The path of the map.
+   * @param strategy The name of the strategy.
+   * @param room     The zero based starting room.
+   * @return The number of wins.
+   */
+  public int getStartRoomWins(String map, String strategy, int room) {
+    int m = indexOfMap(map);
+    return startWins[m][startIndex(m, strategy, room)];
+  }
+
+  /**
+   * Computes the Wilson score interval of a win rate, which stays within 0
+   * and 1 and is sensible for few games or rates near either end.
+   *
+   * @param wins  The number of wins.
+   * @param games The number of games.
+   * @param z     The normal quantile of the confidence level.
+   * @return The lower and upper bound, 0 and 1 if no game was played.
+   */
+  public static double[] wilsonInterval(int wins, int games, double z) {
+    if (games == 0) {
+      return new double[] {0, 1};
+    }
+    double rate = (double) wins / games;
+    double z2 = z * z;
+    double denominator = 1 + z2 / games;
+    double center = (rate + z2 / (2.0 * games)) / denominator;
+    double half = z * Math.sqrt(rate * (1 - rate) / games + z2 / (4.0 * games * games))
+        / denominator;
+    // the bounds reach 0 and 1 exactly, without rounding errors, at either end
+    double low = wins == 0 ? 0 : center - half;
+    double high = wins == games ? 1 : center + half;
+    return new double[] {low, high};
+  }
+
+  /**
+   * Writes the result as three CSV tables separated by blank lines: the win
+   * rates of the strategies, the game lengths on each map, and the win rates
+   * from every starting room a strategy started in.
+   *
+   * @param out Where to write.
+   * @throws IllegalStateException if writing fails.
+   */
+  public void print(Appendable out) {
+    try {
+      out.append("strategy,games,wins,win_rate,ci_low,ci_high\n");
+      for (String strategy : strategies) {
+        double[] interval = getConfidenceInterval(strategy);
+        out.append(String.format(Locale.ROOT, "%s,%d,%d,%.4f,%.4f,%.4f\n", strategy,
+            getGames(strategy), getWins(strategy), getWinRate(strategy), interval[0],
+            interval[1]));
+      }
+
+      out.append("\nmap,games,average_turns,escaped\n");
+      for (int m = 0; m < maps.size(); m++) {
+        out.append(String.format(Locale.ROOT, "%s,%d,%.2f,%d\n", maps.get(m), mapGames[m],
+            getAverageGameLength(maps.get(m)), mapEscapes[m]));
+      }
+      out.append(String.format(Locale.ROOT, "all,%d,%.2f,%d\n", sum(mapGames),
+          getAverageGameLength(), sum(mapEscapes)));
+
+      out.append("\nmap,strategy,start_room,games,wins,win_rate\n");
+      for (int m = 0; m < maps.size(); m++) {
+        int rooms = startGames[m].length / strategies.size();
+        for (int s = 0; s < strategies.size(); s++) {
+          for (int room = 0; room < rooms; room++) {
+            int played = startGames[m][s * rooms + room];
+            if (played > 0) {
+              int won = startWins[m][s * rooms + room];
+              out.append(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.4f\n", maps.get(m),
+                  strategies.get(s), room, played, won, (double) won / played));
+            }
+          }
+        }
+      }
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Append failed", ioe);
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    print(sb);
+    return sb.toString();
+  }
+
+  private static int sum(int[] values) {
+    int total = 0;
+    for (int value : values) {
+      total += value;
+    }
+    return total;
+  }
+
+  private int indexOf(String strategy) {
+    int index = strategies.indexOf(strategy);
+    if (index < 0) {
+      throw new IllegalArgumentException("Strategy " + strategy + " did not take part.");
+    }
+    return index;
+  }
+
+  private int indexOfMap(String map) {
+    int index = maps.indexOf(map);
+    if (index < 0) {
+      throw new IllegalArgumentException("Map " + map + " was not played on.");
+    }
+    return index;
+  }
+
+  private int startIndex(int map, String strategy, int room) {
+    int rooms = startGames[map].length / strategies.size();
+    if (room < 0 || room >= rooms) {
+      throw new IllegalArgumentException("Room " + room + " does not exist.");
+    }
+    return indexOf(strategy) * rooms + room;
+  }
+}
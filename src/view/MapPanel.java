@@ -4,6 +4,9 @@ import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
@@ -14,11 +17,20 @@ import model.ReadOnlyModel;
 
 /**
  * The MapPanel class represents the map panel.
+ *
+ * <p>The map is drawn in two layers. The rooms and their names only change
+ * when another map is loaded, so they are drawn once into an image compatible
+ * with the screen, which can be kept in video memory. Each repaint copies that
+ * image and draws the target and players on top of it.
  */
 public class MapPanel extends JPanel {
   public static int WIDTH = 800;
   public static int HEIGHT = 900;
+  private static final Font NAME_FONT = new Font("Arial", Font.BOLD, 22);
+  private static final BufferedImage TARGET_SPRITE = loadSprite("res/img/Dr.lucky.png");
   private ReadOnlyModel readOnlyModel;
+  private Image mapLayer;
+  private int mapVersion;
 
   /**
    * Constructor for MapPanel.
@@ -30,31 +42,62 @@ public class MapPanel extends JPanel {
     setPreferredSize(new Dimension(800, 900));
   }
 
+  private static BufferedImage loadSprite(String path) {
+    try {
+      return ImageIO.read(new File(path));
+    } catch (IOException e) {
+      System.out.println("failed to find the file for Dr.lucky");
+      return null;
+    }
+  }
+
   @Override
   public void paintComponent(Graphics g) {
     Graphics2D g2d = (Graphics2D) g;
     if (readOnlyModel.isInitialized()) {
-      BufferedImage bufferedImage = readOnlyModel.drawMap();
-      setPreferredSize(new Dimension(bufferedImage.getWidth(), bufferedImage.getHeight()));
-      g2d.drawImage(bufferedImage, 0, 0, this);
+      g2d.drawImage(getMapLayer(), 0, 0, this);
       drawObjects(readOnlyModel.getPositions(), g2d);
     }
   }
 
-  private void drawObjects(Map<String, int[]> positions, Graphics2D g2d) {
-    for (Map.Entry<String, int[]> entry : positions.entrySet()) {
-      String name = entry.getKey();
-      int[] position = entry.getValue();
+  /**
+   * Get the static layer of the map, drawing it again only if another map
+   * has been loaded since it was last drawn.
+   */
+  private Image getMapLayer() {
+    int version = readOnlyModel.getMapVersion();
+    if (mapLayer != null && version == mapVersion) {
+      return mapLayer;
     }
 
-    try {
-      g2d.drawImage(ImageIO.read(new File("res/img/Dr.lucky.png")),
+    BufferedImage map = readOnlyModel.drawMap();
+    int width = map.getWidth();
+    int height = map.getHeight();
+    GraphicsConfiguration configuration = getGraphicsConfiguration();
+    if (configuration == null) {
+      mapLayer = map;
+    } else {
+      BufferedImage compatible = configuration.createCompatibleImage(
+          width, height, Transparency.OPAQUE);
+      Graphics2D layer = compatible.createGraphics();
+      layer.drawImage(map, 0, 0, null);
+      layer.dispose();
+      mapLayer = compatible;
+    }
+    mapVersion = version;
+
+    setPreferredSize(new Dimension(width, height));
+    revalidate();
+    return mapLayer;
+  }
+
+  private void drawObjects(Map<String, int[]> positions, Graphics2D g2d) {
+    if (TARGET_SPRITE != null) {
+      g2d.drawImage(TARGET_SPRITE,
           positions.get("target")[0], positions.get("target")[1], 50, 50, this);
-    } catch (IOException e) {
-      System.out.println("failed to find the file for Dr.lucky");
     }
 
-    g2d.setFont(new Font("Arial", Font.BOLD, 22));
+    g2d.setFont(NAME_FONT);
     for (Map.Entry<String, int[]> entry : positions.entrySet()) {
       String name = entry.getKey();
       if ("target".equals(name) || "pet".equals(name)) {
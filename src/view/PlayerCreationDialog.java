@@ -15,6 +15,7 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JTextField;
+import model.ComputerStrategies;
 import model.ReadOnlyModel;
 
 /**
@@ -27,6 +28,7 @@ public class PlayerCreationDialog extends JDialog {
   private JTextField initialLocationField;
   private JComboBox<Integer> itemCapacityField;
   private JComboBox<String> controlModeComboBox;
+  private JComboBox<String> strategyComboBox;
   private JButton addButton;
   private ReadOnlyModel model;
 
@@ -54,6 +56,9 @@ public class PlayerCreationDialog extends JDialog {
     itemCapacityField = new JComboBox<Integer>(capacities);
     itemCapacityField.setSelectedItem(DEFAULT_CAPACITY);
     controlModeComboBox = new JComboBox<>(new String[] { "Human", "Computer" });
+    strategyComboBox = new JComboBox<>(ComputerStrategies.getNames().toArray(new String[0]));
+    strategyComboBox.setSelectedItem(ComputerStrategies.DEFAULT);
+    strategyComboBox.setEnabled(false);
     addButton = new JButton("Add Player");
 
     // Set initial width for text fields
@@ -98,20 +103,41 @@ public class PlayerCreationDialog extends JDialog {
     constraints.gridx = 1;
     add(controlModeComboBox, constraints);
 
-    // Add Button
+    // Label and Combo Box for the strategy of a computer player
     constraints.gridx = 0;
     constraints.gridy = 4;
+    add(new JLabel("Strategy:"), constraints);
+
+    constraints.gridx = 1;
+    add(strategyComboBox, constraints);
+
+    // Add Button
+    constraints.gridx = 0;
+    constraints.gridy = 5;
     constraints.gridwidth = 2;
     constraints.anchor = GridBagConstraints.CENTER;
     add(addButton, constraints);
   }
 
   private void addListeners(Controller controller) {
+    controlModeComboBox.addActionListener(new ActionListener() {
+      @Override
+      public void actionPerformed(ActionEvent e) {
+        strategyComboBox.setEnabled(!getControlMode());
+      }
+    });
+
     addButton.addActionListener(new ActionListener() {
       @Override
       public void actionPerformed(ActionEvent e) {
-        boolean addedSuccessfully = controller.addPlayerGui(getPlayerName(), getInitialLocation(),
-            getItemCapacity(), getControlMode());
+        boolean addedSuccessfully;
+        if (getControlMode()) {
+          addedSuccessfully = controller.addPlayerGui(getPlayerName(), getInitialLocation(),
+              getItemCapacity(), true);
+        } else {
+          addedSuccessfully = controller.addPlayerGui(getPlayerName(), getInitialLocation(),
+              getItemCapacity(), getStrategy());
+        }
         if (addedSuccessfully) {
           int option = JOptionPane.showConfirmDialog(PlayerCreationDialog.this,
               String.format("Player added successfully! "
@@ -228,4 +254,13 @@ public class PlayerCreationDialog extends JDialog {
     return controlModeComboBox.getSelectedItem().equals("Human");
   }
 
+  /**
+   * Returns the strategy chosen for a computer player.
+   *
+   * @return the name of the strategy chosen by the user
+   */
+  public String getStrategy() {
+    return (String) strategyComboBox.getSelectedItem();
+  }
+
 }
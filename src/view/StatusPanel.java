@@ -11,6 +11,12 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
@@ -18,6 +24,7 @@ import java.util.function.Function;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
+import javax.swing.Timer;
 import javax.swing.border.EmptyBorder;
 import javax.swing.text.BadLocationException;
 import javax.swing.text.Document;
@@ -34,11 +41,12 @@ public class StatusPanel extends JPanel {
   private static final int BASE_OPTION = 240;
   private static final int INTERVAL_OPTION = 35;
   private static final int BASE_CONSOLE = 460;
+  private static final int MAX_CONSOLE_CHARS = 64 * 1024;
+  private static final int FRAME_MILLIS = 16;
   private ReadOnlyModel readOnlyModel;
   private Controller controller;
   private JTextArea consoleTextArea;
   private JScrollPane consoleTextAreaScrollPane;
-  private float cnt;
 
   /**
    * Constructor for StatusPanel.
@@ -50,19 +58,18 @@ public class StatusPanel extends JPanel {
 
     consoleTextArea = new JTextArea();
     consoleTextArea.setEditable(false);
-    consoleTextArea.setPreferredSize(new Dimension(800, 300));
     consoleTextArea.setTabSize(2);
 
     Font font = new Font("Arial", Font.PLAIN, 18);
     consoleTextArea.setFont(font);
 
     // Redirect System.out to the custom PrintStream
-    System.setOut(new PrintStream(new TextAreaOutputStream(consoleTextArea)));
+    System.setOut(new PrintStream(new TextAreaOutputStream(consoleTextArea), true,
+        StandardCharsets.UTF_8));
 
     consoleTextAreaScrollPane = new JScrollPane(consoleTextArea);
     consoleTextAreaScrollPane.setPreferredSize(new Dimension(350, 340));
 
-    cnt = 0;
     int topMargin = 40;
     int leftMargin = 25;
     int bottomMargin = 30;
@@ -75,10 +82,22 @@ public class StatusPanel extends JPanel {
   }
 
   /**
-   * Redirect System.out to the custom PrintStream.
+   * Redirect System.out to the custom PrintStream. The bytes written are
+   * decoded as UTF-8 into a buffer, which is moved into the text area on the
+   * event dispatch thread at most once per frame. Only the last
+   * {@link #MAX_CONSOLE_CHARS} characters are kept in the text area.
    */
-  public class TextAreaOutputStream extends OutputStream {
-    private final Document document;
+  public static class TextAreaOutputStream extends OutputStream {
+    private final JTextArea textArea;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    // bytes of a character split across writes stay here until the rest arrives
+    private final ByteBuffer bytes = ByteBuffer.allocate(1024);
+    private final CharBuffer chars = CharBuffer.allocate(1024);
+    private final StringBuilder pending = new StringBuilder();
+    private final Timer flushTimer;
+    private boolean flushScheduled;
 
     /**
      * Constructor for TextAreaOutputStream.
@@ -86,19 +105,70 @@ public class StatusPanel extends JPanel {
      * @param textArea   the text area
      */
     public TextAreaOutputStream(JTextArea textArea) {
-      this.document = textArea.getDocument();
+      this.textArea = textArea;
+      this.flushTimer = new Timer(FRAME_MILLIS, e -> flushToTextArea());
+      this.flushTimer.setRepeats(false);
+      // a coalescing timer may drop a tick restarted while its last one still runs
+      this.flushTimer.setCoalesce(false);
     }
 
     @Override
     public void write(int b) {
-      try {
-        document.insertString(document.getLength(), String.valueOf((char) b), null);
-        consoleTextArea.setPreferredSize(new Dimension(800, 300 + (int) cnt));
-        cnt += 1;
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+      while (len > 0) {
+        int n = Math.min(len, bytes.remaining());
+        bytes.put(b, off, n);
+        off += n;
+        len -= n;
+        bytes.flip();
+        CoderResult result;
+        do {
+          result = decoder.decode(bytes, chars, false);
+          chars.flip();
+          pending.append(chars);
+          chars.clear();
+        } while (result.isOverflow());
+        bytes.compact();
+      }
+      // older text would be cut from the text area anyway
+      if (pending.length() > MAX_CONSOLE_CHARS) {
+        pending.delete(0, pending.length() - MAX_CONSOLE_CHARS);
+      }
+      if (!flushScheduled && pending.length() > 0) {
+        flushScheduled = true;
+        flushTimer.restart();
+      }
+    }
+
+    private void flushToTextArea() {
+      String text;
+      synchronized (this) {
+        text = pending.toString();
+        pending.setLength(0);
+        flushScheduled = false;
+      }
+      if (text.isEmpty()) {
+        return;
+      }
 
+      Document document = textArea.getDocument();
+      try {
+        document.insertString(document.getLength(), text, null);
+        int excess = document.getLength() - MAX_CONSOLE_CHARS;
+        if (excess > 0) {
+          // cut whole lines from the start
+          String head = document.getText(0, Math.min(document.getLength(), excess + 200));
+          int lineEnd = head.indexOf('\n', excess - 1);
+          document.remove(0, lineEnd == -1 ? excess : lineEnd + 1);
+        }
       } catch (BadLocationException e) {
-        throw new RuntimeException(e);
+        throw new IllegalStateException(e);
       }
+      textArea.setCaretPosition(document.getLength());
     }
   }
 
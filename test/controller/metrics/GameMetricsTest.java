@@ -0,0 +1,156 @@
+package controller.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import controller.metrics.GameMetrics.Phase;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link LatencyHistogram} and
+ * {@link GameMetrics} classes and their reporters.
+ */
+public class GameMetricsTest {
+
+  @Test
+  public void testSmallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 10; i++) {
+      histogram.record(i);
+    }
+    assertEquals(10, histogram.getCount());
+    assertEquals(55, histogram.getTotal());
+    assertEquals(1, histogram.getMin());
+    assertEquals(10, histogram.getMax());
+    assertEquals(5, histogram.getPercentile(50));
+    assertEquals(9, histogram.getPercentile(90));
+    assertEquals(10, histogram.getPercentile(100));
+  }
+
+  @Test
+  public void testPercentilesWithinBucketError() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long i = 1; i <= 100_000; i++) {
+      histogram.record(i * 1000);
+    }
+    long p50 = histogram.getPercentile(50);
+    long p99 = histogram.getPercentile(99);
+    assertTrue(p50 >= 50_000_000 && p50 <= 50_000_000 * 17 / 16);
+    assertTrue(p99 >= 99_000_000 && p99 <= 100_000_000);
+    assertEquals(100_000_000, histogram.getMax());
+  }
+
+  @Test
+  public void testBucketsCoverEveryValue() {
+    long[] values = {0, 15, 16, 31, 32, 1000, 1L << 40, Long.MAX_VALUE};
+    for (long value : values) {
+      int bucket = LatencyHistogram.bucketOf(value);
+      assertTrue(value <= LatencyHistogram.upperBoundOf(bucket));
+      assertTrue(bucket == 0 || value > LatencyHistogram.upperBoundOf(bucket - 1));
+    }
+  }
+
+  @Test
+  public void testCommandsAndTurns() {
+    GameMetrics metrics = new GameMetrics();
+    metrics.turnReached(0);
+    metrics.recordCommand("Move", metrics.start());
+    metrics.recordCommand("Move", metrics.start());
+    metrics.recordCommand("Attack", metrics.start());
+    metrics.turnReached(1);
+    metrics.turnReached(3);
+    metrics.turnReached(3);
+    metrics.record(Phase.REFRESH, metrics.start());
+
+    assertEquals(2, metrics.getCommandCount("Move"));
+    assertEquals(1, metrics.getCommandCount("Attack"));
+    assertEquals(0, metrics.getCommandCount("Look"));
+    assertEquals(3, metrics.getHistogram(Phase.COMMAND).getCount());
+    assertEquals(1, metrics.getHistogram(Phase.REFRESH).getCount());
+    assertEquals(3, metrics.getTurns());
+    assertTrue(metrics.getTurnsPerSecond() > 0);
+
+    metrics.reset();
+    assertEquals(0, metrics.getTurns());
+    assertEquals(0, metrics.getCommandTypes().size());
+  }
+
+  @Test
+  public void testCsvReport() {
+    GameMetrics metrics = new GameMetrics();
+    metrics.recordCommand("Move", metrics.start());
+    StringBuilder out = new StringBuilder();
+    MetricsReporter reporter = new CsvMetricsReporter(out, "v1", true);
+    reporter.report(metrics);
+    reporter.report(metrics);
+
+    String[] lines = out.toString().split("\n");
+    assertEquals(CsvMetricsReporter.HEADER, lines[0]);
+    // four phases, one command type and the turns, twice
+    assertEquals(1 + 2 * 6, lines.length);
+    assertTrue(lines[1].startsWith("v1,command,1,"));
+    assertTrue(lines[5].startsWith("v1,command:Move,1,"));
+    assertTrue(lines[6].startsWith("v1,turns,0,"));
+    for (int i = 1; i < lines.length; i++) {
+      assertEquals(8, lines[i].split(",", -1).length);
+    }
+  }
+
+  @Test
+  public void testCsvReportIgnoresDefaultLocale() {
+    Locale locale = Locale.getDefault();
+    try {
+      Locale.setDefault(Locale.GERMANY);
+      GameMetrics metrics = new GameMetrics();
+      metrics.recordCommand("Move", metrics.start());
+      StringBuilder out = new StringBuilder();
+      new CsvMetricsReporter(out, "v1", true).report(metrics);
+
+      String[] lines = out.toString().split("\n");
+      for (int i = 1; i < lines.length; i++) {
+        assertEquals(lines[i], 8, lines[i].split(",", -1).length);
+      }
+      String[] turns = lines[lines.length - 1].split(",");
+      assertEquals(0, Double.parseDouble(turns[3]), 1e-9);
+      assertTrue(turns[3].contains("."));
+    } finally {
+      Locale.setDefault(locale);
+    }
+  }
+
+  @Test
+  public void testCsvFileKeepsOneHeader() throws IOException {
+    Path file = Files.createTempFile("metrics", ".csv");
+    try {
+      GameMetrics metrics = new GameMetrics();
+      new CsvMetricsReporter(file, "v1").report(metrics);
+      new CsvMetricsReporter(file, "v2").report(metrics);
+      List<String> lines = Files.readAllLines(file);
+      assertEquals(1 + 2 * 5, lines.size());
+      assertEquals(CsvMetricsReporter.HEADER, lines.get(0));
+      assertTrue(lines.get(6).startsWith("v2,"));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testConsoleReport() {
+    GameMetrics metrics = new GameMetrics();
+    metrics.recordCommand("LookAround", metrics.start());
+    StringBuilder out = new StringBuilder();
+    new ConsoleMetricsReporter(out).report(metrics);
+    assertTrue(out.toString().contains("check_turn"));
+    assertTrue(out.toString().contains("LookAround"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCsvLabelWithComma() {
+    new CsvMetricsReporter(new StringBuilder(), "a,b", true);
+  }
+}
@@ -0,0 +1,243 @@
+package controller.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import controller.server.ProtocolClient.Reply;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import model.World;
+import model.WorldModel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link ProtocolServer} class
+ * and its {@link ProtocolClient}.
+ */
+public class ProtocolServerTest {
+  private ProtocolServer server;
+
+  @Before
+  public void setUp() throws IOException {
+    server = new ProtocolServer(0);
+    server.start();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    server.close();
+  }
+
+  @Test
+  public void testPipelinedGame() throws IOException {
+    try (ProtocolClient client = new ProtocolClient(server.getPort())) {
+      client.send("map 1000 res/map/mansion.txt");
+      client.send("add human 1 Alice");
+      client.send("add computer 3 Bot");
+      client.send("start");
+      for (int i = 0; i < 50; i++) {
+        client.send("look around");
+      }
+      client.send("turn");
+      assertEquals(55, client.getPending());
+
+      List<Reply> replies = new ArrayList<>();
+      while (client.getPending() > 0) {
+        replies.add(client.receive());
+      }
+      for (Reply reply : replies) {
+        assertTrue(reply.toString(), reply.isOk());
+      }
+      assertEquals("Successfully read in the file with 21 rooms.\n", replies.get(0).getText());
+      assertEquals("One player added successfully!\n", replies.get(1).getText());
+      assertTrue(replies.get(3).getText().contains("Turn 1: Alice in room 1"));
+      // the computer player's turn is part of the reply to the command before
+      assertTrue(replies.get(4).getText().contains("Bot"));
+      assertTrue(replies.get(54).getText().startsWith("Turn 101: Alice in room 1"));
+    }
+    assertTrue(server.getRequestCount() == 55);
+    assertTrue(server.getWriteCount() < 55);
+  }
+
+  @Test
+  public void testErrorsAnswerInOrder() throws IOException {
+    try (ProtocolClient client = new ProtocolClient(server.getPort())) {
+      client.send("look around");
+      client.send("map 10 res/map/noSuchMansion.txt");
+      client.send("map ten res/map/mansion.txt");
+      client.send("map 10 res/map/mansion.txt");
+      client.send("add human 99 Alice");
+      client.send("add robot 1 Alice");
+      client.send("start");
+      client.send("add human 1 Alice");
+      client.send("dance");
+      client.send("start");
+      client.send("move 21");
+      client.send("move 4");
+      client.send("attack 3");
+
+      assertEquals("The game has not started, send start first.\n",
+          client.receive().getText());
+      assertEquals("There are problems with path to file.\n", client.receive().getText());
+      assertEquals("Invalid number: ten, integer expected.\n", client.receive().getText());
+      assertTrue(client.receive().isOk());
+      assertFalse(client.receive().isOk());
+      assertEquals("Undetectable input: robot\n", client.receive().getText());
+      assertEquals("Add a player before starting.\n", client.receive().getText());
+      assertTrue(client.receive().isOk());
+      assertTrue(client.receive().getText().startsWith("Invalid input."));
+      assertTrue(client.receive().isOk());
+
+      Reply move = client.receive();
+      assertFalse(move.isOk());
+      assertEquals("Can not move to room 21, not neighbor of current room.\n", move.getText());
+      Reply moved = client.receive();
+      assertTrue(moved.isOk());
+      assertEquals("Successfully moved to room 4.\n", moved.getText());
+      assertEquals("Index out of bound.\n", client.receive().getText());
+    }
+  }
+
+  @Test
+  public void testGameOver() throws IOException {
+    try (ProtocolClient client = new ProtocolClient(server.getPort())) {
+      client.send("map 3 res/map/mansion.txt");
+      client.send("add human 1 Alice");
+      client.send("start");
+      client.send("look around");
+      client.send("look around");
+      client.send("look around");
+      client.send("look around");
+      for (int i = 0; i < 5; i++) {
+        client.receive();
+      }
+      Reply last = client.receive();
+      assertTrue(last.getText().contains("Maximum turn reached! Doctor lucky escaped!"));
+      assertEquals("The game is over.\n", client.receive().getText());
+    }
+  }
+
+  @Test(expected = EOFException.class)
+  public void testQuitClosesConnection() throws IOException {
+    try (ProtocolClient client = new ProtocolClient(server.getPort())) {
+      client.send("quit");
+      client.send("turn");
+      assertEquals("Exit game, have a nice day~\n", client.receive().getText());
+      client.receive();
+    }
+  }
+
+  @Test
+  public void testLongRequestRefused() throws IOException {
+    try (ProtocolClient client = new ProtocolClient(server.getPort())) {
+      StringBuilder request = new StringBuilder("map 10 ");
+      while (request.length() <= ProtocolServer.MAX_LINE) {
+        request.append("very/");
+      }
+      client.send(request.toString());
+      Reply reply = client.receive();
+      assertFalse(reply.isOk());
+      assertEquals("Request longer than 4096 bytes.\n", reply.getText());
+    }
+  }
+
+  @Test
+  public void testCommandsIgnoreDefaultLocale() throws IOException {
+    Locale locale = Locale.getDefault();
+    try (ProtocolClient client = new ProtocolClient(server.getPort())) {
+      // a Turkish locale lowercases the I of PICK to a dotless one
+      Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+      client.send("map 100 res/map/mansion.txt");
+      client.send("add human 1 Alice");
+      client.send("start");
+      client.send("PICK ITEM 1");
+      for (int i = 0; i < 4; i++) {
+        Reply reply = client.receive();
+        assertTrue(reply.toString(), reply.isOk());
+      }
+    } finally {
+      Locale.setDefault(locale);
+    }
+  }
+
+  @Test(timeout = 30000)
+  public void testLongGameHoldsUpNoOtherConnection() throws Exception {
+    CountDownLatch playing = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    // a game whose computer players take until released to play
+    Supplier<WorldModel> models = () -> new World() {
+      @Override
+      public void startGame() {
+        super.startGame();
+        if ("Slow".equals(getCurrentTurnPlayer().getName())) {
+          playing.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      }
+    };
+    try (ProtocolServer slowServer = new ProtocolServer(0, models)) {
+      slowServer.start();
+      try (ProtocolClient slow = new ProtocolClient(slowServer.getPort());
+          ProtocolClient other = new ProtocolClient(slowServer.getPort())) {
+        slow.send("map 100 res/map/mansion.txt");
+        slow.send("add computer 1 Slow");
+        assertTrue(slow.receive().isOk());
+        assertTrue(slow.receive().isOk());
+        slow.send("start");
+        slow.flush();
+        assertTrue(playing.await(10, TimeUnit.SECONDS));
+
+        other.send("map 100 res/map/mansion.txt");
+        other.send("add human 1 Alice");
+        for (int i = 0; i < 2; i++) {
+          Reply reply = other.receive();
+          assertTrue(reply.toString(), reply.isOk());
+        }
+
+        release.countDown();
+        Reply started = slow.receive();
+        assertTrue(started.toString(), started.getText().contains("Slow"));
+      } finally {
+        release.countDown();
+      }
+    }
+  }
+
+  @Test
+  public void testManyConnections() throws IOException {
+    List<ProtocolClient> clients = new ArrayList<>();
+    try {
+      for (int i = 0; i < 50; i++) {
+        ProtocolClient client = new ProtocolClient(server.getPort());
+        clients.add(client);
+        client.send("map 100 res/map/easyMansion.txt");
+        client.send("add human 1 Player" + i);
+        client.send("start");
+        client.send("look around");
+      }
+      for (ProtocolClient client : clients) {
+        while (client.getPending() > 0) {
+          assertTrue(client.receive().isOk());
+        }
+      }
+      assertEquals(50, server.getConnectionCount());
+    } finally {
+      for (ProtocolClient client : clients) {
+        client.close();
+      }
+    }
+  }
+}
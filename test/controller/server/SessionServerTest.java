@@ -0,0 +1,167 @@
+package controller.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link SessionServer} class,
+ * playing games with clients over the loopback address.
+ */
+public class SessionServerTest {
+  private SessionServer server;
+
+  @Before
+  public void setUp() throws IOException {
+    server = new SessionServer(0);
+    server.start();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    server.close();
+  }
+
+  private Socket connect() throws IOException {
+    Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+    socket.setSoTimeout(10_000);
+    return socket;
+  }
+
+  private static BufferedReader reader(Socket socket) throws IOException {
+    return new BufferedReader(
+        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+  }
+
+  private static void send(Socket socket, String lines) throws IOException {
+    OutputStream out = socket.getOutputStream();
+    out.write(lines.getBytes(StandardCharsets.UTF_8));
+    out.flush();
+  }
+
+  private static String readAll(BufferedReader reader) throws IOException {
+    StringBuilder text = new StringBuilder();
+    String line;
+    while ((line = reader.readLine()) != null) {
+      text.append(line).append('\n');
+    }
+    return text.toString();
+  }
+
+  private void awaitActive(int sessions) throws InterruptedException {
+    for (int i = 0; i < 500 && server.getActiveSessions() != sessions; i++) {
+      Thread.sleep(10);
+    }
+    assertEquals(sessions, server.getActiveSessions());
+  }
+
+  @Test
+  public void testComputerGameOverSocket() throws Exception {
+    try (Socket socket = connect()) {
+      BufferedReader reader = reader(socket);
+      assertEquals("Please input path to the file: ", reader.readLine());
+      send(socket, "res/map/mansion.txt\n5\ny\nC\nBot\n3\nn\n");
+      String output = readAll(reader);
+      assertTrue(output.contains("Successfully read in the file!"));
+      assertTrue(output.contains("Name: Bot"));
+      assertTrue(output.contains("Maximum turn reached! Doctor lucky escaped!"));
+      assertTrue(!output.contains("map.png"));
+    }
+    awaitActive(0);
+  }
+
+  @Test
+  public void testManySessionsAtOnce() throws Exception {
+    List<Socket> sockets = new ArrayList<>();
+    List<BufferedReader> readers = new ArrayList<>();
+    try {
+      for (int i = 0; i < 100; i++) {
+        Socket socket = connect();
+        sockets.add(socket);
+        readers.add(reader(socket));
+      }
+      for (BufferedReader reader : readers) {
+        assertEquals("Please input path to the file: ", reader.readLine());
+      }
+      awaitActive(100);
+      assertEquals(100, server.getPeakSessions());
+      assertEquals(100.0 / Runtime.getRuntime().availableProcessors(),
+          server.getSessionsPerCore(), 1e-9);
+
+      for (Socket socket : sockets) {
+        send(socket, "res/map/easyMansion.txt\n10\nq\n");
+      }
+      for (BufferedReader reader : readers) {
+        assertTrue(readAll(reader).endsWith("Exit game, have a nice day~\n"));
+      }
+    } finally {
+      for (Socket socket : sockets) {
+        socket.close();
+      }
+    }
+    awaitActive(0);
+    assertEquals(100, server.getSessionCount());
+  }
+
+  @Test
+  public void testBadPathOnlyEndsItsSession() throws Exception {
+    try (Socket idle = connect(); Socket socket = connect()) {
+      BufferedReader idleReader = reader(idle);
+      assertEquals("Please input path to the file: ", idleReader.readLine());
+      BufferedReader reader = reader(socket);
+      reader.readLine();
+      send(socket, "res/map/noSuchMansion.txt\n");
+      assertEquals("There are problems with path to file, exit now.\n", readAll(reader));
+      awaitActive(1);
+
+      send(idle, "res/map/easyMansion.txt\nq\n");
+      assertTrue(readAll(idleReader).contains("Exit game"));
+    }
+    awaitActive(0);
+  }
+
+  @Test
+  public void testClientHangingUpEndsSession() throws Exception {
+    try (Socket socket = connect()) {
+      reader(socket).readLine();
+      awaitActive(1);
+    }
+    awaitActive(0);
+  }
+
+  @Test
+  public void testReport() throws IOException {
+    Locale locale = Locale.getDefault();
+    StringBuilder out = new StringBuilder();
+    try {
+      // a comma before the decimals would add a column
+      Locale.setDefault(Locale.GERMANY);
+      server.report(out, true);
+    } finally {
+      Locale.setDefault(locale);
+    }
+    String[] lines = out.toString().split("\n");
+    assertEquals(2, lines.length);
+    assertEquals("sessions,active,peak,cores,sessions_per_core,virtual_threads", lines[0]);
+    assertTrue(lines[1].startsWith("0,0,0,"));
+    assertEquals(6, lines[1].trim().split(",").length);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testStartTwice() {
+    server.start();
+  }
+}
@@ -0,0 +1,66 @@
+package model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link AdjacencyBuilder} class,
+ * checking that the sweep finds exactly the neighbors that
+ * {@link World#isNeighbor(Room, Room)} does.
+ */
+public class AdjacencyBuilderTest {
+
+  private void assertSameAdjacency(List<Room> roomList) {
+    int[][] expected = AdjacencyBuilder.pairwise(roomList);
+    int[][] actual = AdjacencyBuilder.sweep(roomList);
+    assertEquals(expected.length, actual.length);
+    for (int i = 0; i < expected.length; i++) {
+      assertArrayEquals(expected[i], actual[i]);
+    }
+  }
+
+  @Test
+  public void testShippedMap() {
+    World world = new World();
+    world.initializeWorld("res/map/mansion.txt");
+    List<Room> roomList = world.getMansion().getRoomList();
+    int[][] adjacency = AdjacencyBuilder.sweep(roomList);
+
+    assertEquals(8, adjacency[3].length);
+    assertSameAdjacency(roomList);
+  }
+
+  @Test
+  public void testTouchingCorners() {
+    List<Room> roomList = new ArrayList<>();
+    roomList.add(new Room("A", new int[] {0, 0, 1, 1}, 0));
+    roomList.add(new Room("B", new int[] {2, 2, 3, 3}, 1));
+    roomList.add(new Room("C", new int[] {2, 1, 3, 1}, 2));
+    roomList.add(new Room("D", new int[] {0, 2, 1, 5}, 3));
+    int[][] adjacency = AdjacencyBuilder.sweep(roomList);
+
+    assertArrayEquals(new int[] {2, 3}, adjacency[0]);
+    assertArrayEquals(new int[] {2, 3}, adjacency[1]);
+    assertSameAdjacency(roomList);
+  }
+
+  @Test
+  public void testRandomRooms() {
+    Random random = new Random(5010);
+    for (int round = 0; round < 50; round++) {
+      List<Room> roomList = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        int row = random.nextInt(40);
+        int col = random.nextInt(40);
+        roomList.add(new Room("Room " + i, new int[] {row, col,
+            row + random.nextInt(4), col + random.nextInt(4)}, i));
+      }
+      assertSameAdjacency(roomList);
+    }
+  }
+}
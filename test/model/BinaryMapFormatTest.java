@@ -0,0 +1,79 @@
+package model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link BinaryMapFormat} class,
+ * checking that a compiled map reads back the same as the text map.
+ */
+public class BinaryMapFormatTest {
+  private File compiled;
+
+  @Before
+  public void setUp() throws IOException {
+    compiled = File.createTempFile("mansion", ".map");
+  }
+
+  @After
+  public void tearDown() {
+    compiled.delete();
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    MansionTemplate text = MansionTemplate.load("res/map/mansion.txt");
+    assertFalse(BinaryMapFormat.isCompiled("res/map/mansion.txt"));
+    BinaryMapFormat.write(text, compiled.getPath());
+    assertTrue(BinaryMapFormat.isCompiled(compiled.getPath()));
+
+    MansionTemplate binary = MansionTemplate.load(compiled.getPath());
+    assertEquals(text.getName(), binary.getName());
+    assertEquals(text.getRows(), binary.getRows());
+    assertEquals(text.getColumns(), binary.getColumns());
+    assertEquals(text.getTargetName(), binary.getTargetName());
+    assertEquals(text.getTargetHealth(), binary.getTargetHealth());
+    assertEquals(text.getPetName(), binary.getPetName());
+    assertEquals(text.getRoomCount(), binary.getRoomCount());
+    for (int i = 0; i < text.getRoomCount(); i++) {
+      assertEquals(text.getRoomName(i), binary.getRoomName(i));
+      assertArrayEquals(text.getRoomLocation(i), binary.getRoomLocation(i));
+      assertArrayEquals(text.getNeighbors(i), binary.getNeighbors(i));
+    }
+    assertEquals(text.getItemCount(), binary.getItemCount());
+    for (int i = 0; i < text.getItemCount(); i++) {
+      assertEquals(text.getItemName(i), binary.getItemName(i));
+      assertEquals(text.getItemDamage(i), binary.getItemDamage(i));
+      assertEquals(text.getItemRoom(i), binary.getItemRoom(i));
+    }
+    assertArrayEquals(text.getPetRoute(), binary.getPetRoute());
+  }
+
+  @Test
+  public void testWorldFromCompiledMap() throws IOException {
+    BinaryMapFormat.write(MansionTemplate.load("res/map/mansion.txt"), compiled.getPath());
+    World fromText = new World();
+    fromText.initializeWorld("res/map/mansion.txt");
+    World fromBinary = new World();
+    fromBinary.initializeWorld(compiled.getPath());
+    assertEquals(fromText.toString(), fromBinary.toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTruncatedFile() throws IOException {
+    BinaryMapFormat.write(MansionTemplate.load("res/map/mansion.txt"), compiled.getPath());
+    byte[] bytes = Files.readAllBytes(compiled.toPath());
+    Files.write(compiled.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+    BinaryMapFormat.read(compiled.getPath());
+  }
+}
@@ -0,0 +1,72 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for {@link ComputerAction} and the
+ * decisions that {@link World} makes for its computer players.
+ */
+public class ComputerActionTest {
+
+  @Test
+  public void testAttackWithHand() {
+    assertEquals(ComputerAction.Type.ATTACK, ComputerAction.attack(-1).getType());
+    assertEquals(-1, ComputerAction.attack(-1).getArgument());
+    assertEquals(ComputerAction.attack(2), ComputerAction.attack(2));
+  }
+
+  @Test
+  public void testComputerAttacksUnseenTarget() {
+    World world = new World();
+    world.initializeWorld("res/map/mansion.txt");
+    world.startGame();
+    Player player = world.addPlayer("bot", 0, false);
+
+    assertEquals(ComputerAction.attack(-1), world.computerPlayerAction(player));
+  }
+
+  @Test
+  public void testComputerAttacksWithStrongestItem() {
+    World world = new World();
+    world.initializeWorld("res/map/mansion.txt");
+    world.startGame();
+    Player player = world.addPlayer("bot", 18, false);
+    // wait for the target to come, picking up the items of the Trophy Room
+    for (int i = 0; i < 16; i++) {
+      world.lookAround(player);
+    }
+    assertTrue(world.pickUpItem(player, 1));
+    assertTrue(world.pickUpItem(player, 0));
+    assertEquals(18, world.getTargetPosition());
+
+    GameState state = world.getState();
+    assertEquals(2, state.getHandSize(0));
+    // the Monkey Hand, then the Duck Decoy which does more damage
+    assertEquals(15, state.getHeldItem(0, 0));
+    assertEquals(13, state.getHeldItem(0, 1));
+    assertEquals(0, state.getItemHolder(13));
+    assertEquals(ComputerAction.attack(1), world.computerPlayerAction(player));
+
+    assertTrue(world.attackWithItem(player, 1)[0]);
+    assertEquals(1, state.getHandSize(0));
+    assertEquals(GameState.USED, state.getItemHolder(13));
+    assertEquals(1, player.getItemList().size());
+    assertEquals("Monkey Hand", player.getItemList().get(0).getName());
+  }
+
+  @Test
+  public void testComputerMovesToNeighbor() {
+    World world = new World();
+    world.initializeWorld("res/map/mansion.txt");
+    world.setComputerOption(1, 0);
+    world.startGame();
+    Player player = world.addPlayer("bot", 3, false);
+
+    ComputerAction action = world.computerPlayerAction(player);
+    assertEquals(ComputerAction.Type.MOVE, action.getType());
+    assertTrue(world.movePlayer(player, action.getArgument()));
+  }
+}
@@ -0,0 +1,137 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link ComputerStrategy}
+ * implementations and the {@link ComputerStrategies} that name them.
+ */
+public class ComputerStrategyTest {
+  private static final String MAP = "10 12 Tiny House\n"
+      + "20 Doctor Lucky\n"
+      + "Fortune the Cat\n"
+      + "3\n"
+      + "0 0 4 5     Left Wing\n"
+      + "5 0 9 5     Right Wing\n"
+      + "0 6 9 11    Hall\n"
+      + "6\n"
+      + "0 3 Old Boot\n"
+      + "0 1 Spoon\n"
+      + "0 2 Candle\n"
+      + "0 4 Rope\n"
+      + "0 5 Wrench\n"
+      + "1 2 Pipe\n";
+
+  private static World game() {
+    World world = new World(4);
+    world.initializeWorld(MansionTemplate.parse(MAP));
+    world.setMaxTurn(100);
+    world.startGame();
+    return world;
+  }
+
+  @Test
+  public void testRegisteredStrategies() {
+    assertEquals(Arrays.asList("Random", "Greedy", "Intercept", "Search"),
+        ComputerStrategies.getNames().subList(0, 4));
+    assertSame(RandomStrategy.INSTANCE, ComputerStrategies.get("Random"));
+    assertSame(GreedyDamageStrategy.INSTANCE, ComputerStrategies.get("Greedy"));
+    assertSame(InterceptStrategy.INSTANCE, ComputerStrategies.get("Intercept"));
+    assertEquals("Search", ComputerStrategies.get("Search").toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownStrategy() {
+    ComputerStrategies.get("Clairvoyant");
+  }
+
+  @Test
+  public void testRandomFollowsScriptedNumbers() {
+    World world = game();
+    Player player = world.addPlayer("bot", 2, false);
+    world.setComputerOption(1, 0);
+    assertEquals(ComputerAction.move(0), world.computerPlayerAction(player));
+    world.setComputerOption(0);
+    assertEquals(ComputerAction.lookAround(), world.computerPlayerAction(player));
+  }
+
+  @Test
+  public void testGreedyGoesForStrongestItem() {
+    World world = game();
+    Player hall = world.addPlayer("hall", 2, GreedyDamageStrategy.INSTANCE);
+    Player right = world.addPlayer("right", 1, GreedyDamageStrategy.INSTANCE);
+    // the wrench lies next door, the pipe in the player's own room
+    assertEquals(ComputerAction.move(0), world.computerPlayerAction(hall));
+    assertEquals(ComputerAction.pickItem(0), world.computerPlayerAction(right));
+  }
+
+  @Test
+  public void testGreedyAttacksUnseen() {
+    World world = game();
+    Player player = world.addPlayer("bot", 0, GreedyDamageStrategy.INSTANCE);
+    assertEquals(ComputerAction.attack(-1), world.computerPlayerAction(player));
+  }
+
+  @Test
+  public void testInterceptMeetsTarget() {
+    World world = game();
+    Player player = world.addPlayer("bot", 2, InterceptStrategy.INSTANCE);
+    // the target is in the left wing now and in the right wing next turn
+    assertEquals(ComputerAction.move(1), world.computerPlayerAction(player));
+  }
+
+  @Test
+  public void testInterceptBlocksView() {
+    World world = game();
+    Player first = world.addPlayer("first", 2, InterceptStrategy.INSTANCE);
+    Player second = world.addPlayer("second", 1, InterceptStrategy.INSTANCE);
+    assertTrue(world.movePet(2));
+    assertSame(second, world.getCurrentTurnPlayer());
+    assertEquals(1, world.getTargetPosition());
+    // the first player sees the right wing from the hall
+    assertTrue(world.canBeSeen(second));
+    assertEquals(ComputerAction.movePet(1), world.computerPlayerAction(second));
+    assertEquals(2, first.getCurrentRoom());
+  }
+
+  @Test
+  public void testStrategyPerPlayer() {
+    World world = game();
+    Player human = world.addPlayer("human", 0, true);
+    Player random = world.addPlayer("random", 0, false);
+    Player greedy = world.addPlayer("greedy", 2, GreedyDamageStrategy.INSTANCE);
+    assertNull(world.getStrategy(human));
+    assertSame(RandomStrategy.INSTANCE, world.getStrategy(random));
+    assertSame(GreedyDamageStrategy.INSTANCE, world.getStrategy(greedy));
+
+    World fork = world.fork(1);
+    Player forked = fork.getCurrentTurnPlayer();
+    assertEquals("human", forked.getName());
+    fork.updateTurn();
+    fork.updateTurn();
+    assertSame(GreedyDamageStrategy.INSTANCE, fork.getStrategy(fork.getCurrentTurnPlayer()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullStrategy() {
+    game().addPlayer("bot", 0, (ComputerStrategy) null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSearchNeedsWorld() {
+    MonteCarloSearch search = new MonteCarloSearch(100);
+    try {
+      MockWorld world = new MockWorld();
+      new SearchStrategy(search).chooseAction(world, null, new Random(1));
+    } finally {
+      search.shutdown();
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link GameJournal} class.
+ */
+public class GameJournalTest {
+  private static final String MAP = "res/map/mansion.txt";
+  private Path file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = Files.createTempFile("journal", ".bin");
+    Files.delete(file);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  /**
+   * A game of two computer players and a human player who only waits, with
+   * every call recorded.
+   */
+  private static World play(GameJournal journal, int turns) {
+    World world = new World(42);
+    world.initializeWorld(MAP);
+    world.setJournal(journal);
+    world.setMaxTurn(500);
+    world.addPlayer("Alice", 0, true);
+    world.addPlayer("Bot", 5, ComputerStrategies.get("Greedy"));
+    world.addPlayer("Rand", 10, false);
+    world.startGame();
+    for (int i = 0; i < turns && world.getTargetRemainingHealth() > 0; i++) {
+      Player player = world.getCurrentTurnPlayer();
+      if (player.isHuman()) {
+        world.lookAround(player);
+      } else {
+        int turn = world.getTurn();
+        world.playComputerTurn(player);
+        if (world.getTurn() == turn) {
+          world.updateTurn();
+        }
+      }
+    }
+    return world;
+  }
+
+  private static void assertSameGame(World expected, World actual) {
+    assertEquals(expected.toString(), actual.toString());
+    assertEquals(expected.getTurn(), actual.getTurn());
+    assertEquals(expected.getMaxTurn(), actual.getMaxTurn());
+    assertEquals(expected.getTargetRemainingHealth(), actual.getTargetRemainingHealth());
+    assertEquals(expected.getTargetPosition(), actual.getTargetPosition());
+    assertEquals(expected.getPetPosition(), actual.getPetPosition());
+    for (String name : new String[] {"Alice", "Bot", "Rand"}) {
+      assertEquals(expected.getPlayerDescription(name), actual.getPlayerDescription(name));
+    }
+  }
+
+  @Test
+  public void testRecoverRebuildsGame() throws IOException {
+    World world;
+    try (GameJournal journal = GameJournal.open(file)) {
+      world = play(journal, 300);
+      assertTrue(journal.getRecordCount() > 300);
+    }
+    assertSameGame(world, GameJournal.recover(MAP, file));
+  }
+
+  @Test
+  public void testSyncCommitsRecords() throws IOException {
+    try (GameJournal journal = GameJournal.open(file, 60000)) {
+      World world = play(journal, 20);
+      long size = Files.size(file);
+      journal.sync();
+      assertEquals(1, journal.getFlushCount());
+      assertTrue(Files.size(file) > size);
+      // a crash now loses nothing
+      assertSameGame(world, GameJournal.recover(MAP, file));
+      journal.sync();
+      assertEquals(1, journal.getFlushCount());
+    }
+  }
+
+  @Test
+  public void testTornRecordIsDropped() throws IOException {
+    World world;
+    try (GameJournal journal = GameJournal.open(file)) {
+      world = play(journal, 50);
+    }
+    world.setJournal(null);
+    long size = Files.size(file);
+    // half of a record, as a crash in the middle of a write leaves it
+    Files.write(file, new byte[] {GameJournal.MOVE_PLAYER, 0, 0, 0},
+        StandardOpenOption.APPEND);
+    assertSameGame(world, GameJournal.recover(MAP, file));
+
+    try (GameJournal journal = GameJournal.open(file)) {
+      assertEquals(size, Files.size(file));
+      World recovered = GameJournal.recover(MAP, file);
+      recovered.setJournal(journal);
+      recovered.lookAround(recovered.getCurrentTurnPlayer());
+      world.lookAround(world.getCurrentTurnPlayer());
+    }
+    assertSameGame(world, GameJournal.recover(MAP, file));
+  }
+
+  @Test(expected = IOException.class)
+  public void testNotAJournal() throws IOException {
+    Files.write(file, new byte[] {1, 2, 3, 4, 5});
+    GameJournal.recover(MAP, file);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testClosedJournalRefusesRecords() throws IOException {
+    World world = new World();
+    world.initializeWorld(MAP);
+    GameJournal journal = GameJournal.open(file);
+    world.setJournal(journal);
+    world.addPlayer("Alice", 0, true);
+    journal.close();
+    world.startGame();
+  }
+
+  @Test
+  public void testLongNamesAreRecorded() throws IOException {
+    StringBuilder name = new StringBuilder();
+    while (name.length() < 300000) {
+      name.append("Doctor Lucky's guest ");
+    }
+    World world = new World(3);
+    world.initializeWorld(MAP);
+    try (GameJournal journal = GameJournal.open(file)) {
+      world.setJournal(journal);
+      world.addPlayer(name.substring(0, 2000), 0, true);
+      world.addPlayer(name.toString(), 4, ComputerStrategies.get("Greedy"));
+      world.addPlayer("Rand", 10, false);
+      world.startGame();
+      world.lookAround(world.getCurrentTurnPlayer());
+    }
+    World recovered = GameJournal.recover(MAP, file);
+    assertEquals(world.toString(), recovered.toString());
+    assertEquals(name.toString(), recovered.getPlayer(1).getName());
+    assertEquals(world.getTurn(), recovered.getTurn());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRecordedGameIsNotRestored() throws IOException {
+    try (GameJournal journal = GameJournal.open(file)) {
+      World world = play(journal, 5);
+      GameState snapshot = world.snapshot();
+      world.restore(snapshot);
+    }
+  }
+
+  @Test
+  public void testForkIsNotRecorded() throws IOException {
+    World world;
+    try (GameJournal journal = GameJournal.open(file)) {
+      world = play(journal, 10);
+      long records = journal.getRecordCount();
+      World fork = world.fork(1);
+      fork.lookAround(fork.getCurrentTurnPlayer());
+      assertEquals(records, journal.getRecordCount());
+    }
+    assertSameGame(world, GameJournal.recover(MAP, file));
+  }
+}
@@ -0,0 +1,207 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link GameState} class and the
+ * games that share one {@link MansionTemplate}.
+ */
+public class GameStateTest {
+  private static final String MAP = "10 12 Tiny House\n"
+      + "20 Doctor Lucky\n"
+      + "Fortune the Cat\n"
+      + "3\n"
+      + "0 0 4 5     Left Wing\n"
+      + "5 0 9 5     Right Wing\n"
+      + "0 6 9 11    Hall\n"
+      + "6\n"
+      + "0 3 Old Boot\n"
+      + "0 1 Spoon\n"
+      + "0 2 Candle\n"
+      + "0 4 Rope\n"
+      + "0 5 Wrench\n"
+      + "1 2 Pipe\n";
+
+  @Test
+  public void testNewState() {
+    GameState state = new GameState(MansionTemplate.parse(MAP));
+    assertEquals(-1, state.getTurn());
+    assertEquals(0, state.getTargetRoom());
+    assertEquals(20, state.getTargetHealth());
+    assertEquals(0, state.getPetRoom());
+    assertEquals(0, state.getPlayerCount());
+    for (int i = 0; i < 6; i++) {
+      assertEquals(GameState.ON_FLOOR, state.getItemHolder(i));
+    }
+  }
+
+  @Test
+  public void testTurnOrder() {
+    GameState state = new GameState(MansionTemplate.parse(MAP));
+    state.addPlayer(0);
+    state.addPlayer(1);
+    state.addPlayer(2);
+    state.nextTurn();
+    assertEquals(1, state.getPlayerInTurn(0));
+
+    // a player joining later plays after everyone else
+    state.addPlayer(2);
+    assertEquals(1, state.getPlayerInTurn(0));
+    assertEquals(2, state.getPlayerInTurn(1));
+    assertEquals(0, state.getPlayerInTurn(2));
+    assertEquals(3, state.getPlayerInTurn(3));
+    state.nextTurn();
+    state.nextTurn();
+    state.nextTurn();
+    assertEquals(3, state.getPlayerInTurn(0));
+    assertEquals(3, state.getTurn());
+
+    state.moveTarget();
+    state.moveTarget();
+    state.moveTarget();
+    assertEquals(0, state.getTargetRoom());
+  }
+
+  @Test
+  public void testFullHandsDropFirstItem() {
+    GameState state = new GameState(MansionTemplate.parse(MAP));
+    int player = state.addPlayer(0);
+    for (int i = 0; i < 5; i++) {
+      state.pickUp(player, i);
+    }
+    assertEquals(GameState.HAND_SIZE, state.getHandSize(player));
+    assertEquals(4, state.getHeldItem(player, 0));
+    assertEquals(1, state.getHeldItem(player, 1));
+    assertEquals(GameState.USED, state.getItemHolder(0));
+    assertEquals(player, state.getItemHolder(4));
+
+    assertEquals(1, state.use(player, 1));
+    assertEquals(3, state.getHandSize(player));
+    assertEquals(2, state.getHeldItem(player, 1));
+    assertEquals(3, state.getHeldItem(player, 2));
+    assertEquals(GameState.USED, state.getItemHolder(1));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testPickUpTakenItem() {
+    GameState state = new GameState(MansionTemplate.parse(MAP));
+    state.addPlayer(0);
+    state.addPlayer(0);
+    state.pickUp(0, 2);
+    state.pickUp(1, 2);
+  }
+
+  @Test
+  public void testGamesShareTemplate() {
+    MansionTemplate template = MansionTemplate.parse(MAP);
+    World first = new World();
+    first.initializeWorld(template);
+    first.startGame();
+    World second = new World();
+    second.initializeWorld(template);
+    second.startGame();
+    assertSame(first.getMansion(), second.getMansion());
+    assertSame(first.getRoomAtCell(0, 0), second.getRoomAtCell(0, 0));
+
+    Player player = first.addPlayer("a", 0, true);
+    second.addPlayer("b", 0, true);
+    assertTrue(first.pickUpItem(player, 1));
+    assertEquals("Spoon", player.getItemList().get(0).getName());
+    assertEquals(player.getItemList().get(0), template.items()[1]);
+    assertEquals(0, first.getState().getItemHolder(1));
+    assertEquals(GameState.ON_FLOOR, second.getState().getItemHolder(1));
+    assertFalse(first.showItemsInRoom(player).contains("Spoon"));
+    assertTrue(second.getRoomInfo(0).contains("Spoon"));
+
+    // the shared rooms hold no items or players and can not change
+    Room room = first.getMansion().getRoom(0);
+    assertTrue(room.getItemList().isEmpty());
+    assertTrue(room.getPlayerList().isEmpty());
+    assertEquals(5, second.getItemsInRoom(0).size());
+    assertEquals(4, first.getItemsInRoom(0).size());
+    try {
+      room.addItem(template.items()[1]);
+      fail("A room of the template should not take items.");
+    } catch (UnsupportedOperationException expected) {
+      // the template is shared by every game
+    }
+    try {
+      room.getItemList().add(template.items()[1]);
+      fail("The items of a room of the template should not be modifiable.");
+    } catch (UnsupportedOperationException expected) {
+      // the template is shared by every game
+    }
+  }
+
+  private static World playedGame() {
+    World world = new World(7);
+    world.initializeWorld("res/map/mansion.txt");
+    world.setMaxTurn(1000);
+    world.startGame();
+    world.addPlayer("a", 0, false);
+    world.addPlayer("b", 5, false);
+    world.addPlayer("c", 9, false);
+    for (int i = 0; i < 40; i++) {
+      world.playComputerTurn(world.getCurrentTurnPlayer());
+    }
+    return world;
+  }
+
+  @Test
+  public void testSnapshotAndRestore() {
+    World world = playedGame();
+    GameState snapshot = world.snapshot();
+    String before = world.toString();
+    Player current = world.getCurrentTurnPlayer();
+    String holds = world.showItemsHold(current);
+
+    for (int i = 0; i < 60; i++) {
+      world.playComputerTurn(world.getCurrentTurnPlayer());
+    }
+    world.addPlayer("d", 2, false);
+    world.restore(snapshot);
+
+    assertEquals(before, world.toString());
+    assertSame(current, world.getCurrentTurnPlayer());
+    assertEquals(holds, world.showItemsHold(current));
+    assertEquals(snapshot.getTurn(), world.getTurn());
+    assertEquals(3, world.getState().getPlayerCount());
+    assertEquals(null, world.getPlayerDescription("d"));
+
+    // the snapshot is still the same and can be restored again
+    world.playComputerTurn(world.getCurrentTurnPlayer());
+    world.restore(snapshot);
+    assertEquals(before, world.toString());
+  }
+
+  @Test
+  public void testForkIsIndependent() {
+    World world = playedGame();
+    String before = world.toString();
+    World fork = world.fork(3);
+    assertEquals(before, fork.toString());
+    assertSame(world.getMansion(), fork.getMansion());
+
+    for (int i = 0; i < 60; i++) {
+      fork.playComputerTurn(fork.getCurrentTurnPlayer());
+    }
+    assertEquals(before, world.toString());
+    assertEquals(world.getTurn() + 60, fork.getTurn());
+
+    // a fork's snapshot can be restored in the game it came from
+    world.restore(fork.snapshot());
+    assertEquals(fork.toString(), world.toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRestoreOtherMap() {
+    World world = playedGame();
+    world.restore(new GameState(MansionTemplate.parse(MAP)));
+  }
+}
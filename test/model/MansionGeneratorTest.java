@@ -0,0 +1,152 @@
+package model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link MansionGenerator} class.
+ */
+public class MansionGeneratorTest {
+
+  private static String text(MansionGenerator generator) throws IOException {
+    StringBuilder out = new StringBuilder();
+    generator.write(out);
+    return out.toString();
+  }
+
+  /**
+   * Every room must be inside the grid and no two rooms may share a cell.
+   */
+  private static void assertNoOverlap(MansionTemplate template) {
+    int columns = template.getColumns();
+    int[] cells = new int[template.getRows() * columns];
+    Arrays.fill(cells, -1);
+    for (int room = 0; room < template.getRoomCount(); room++) {
+      int[] location = template.getRoomLocation(room);
+      assertTrue(location[2] < template.getRows() && location[3] < columns);
+      for (int r = location[0]; r <= location[2]; r++) {
+        for (int c = location[1]; c <= location[3]; c++) {
+          assertEquals("cell " + r + "," + c, -1, cells[r * columns + c]);
+          cells[r * columns + c] = room;
+        }
+      }
+    }
+  }
+
+  private static int reachable(MansionTemplate template) {
+    boolean[] seen = new boolean[template.getRoomCount()];
+    Deque<Integer> queue = new ArrayDeque<>();
+    queue.add(0);
+    seen[0] = true;
+    int count = 1;
+    while (!queue.isEmpty()) {
+      for (int neighbor : template.getNeighbors(queue.poll())) {
+        if (!seen[neighbor]) {
+          seen[neighbor] = true;
+          count++;
+          queue.add(neighbor);
+        }
+      }
+    }
+    return count;
+  }
+
+  @Test
+  public void testSameSeedSameMansion() throws IOException {
+    MansionGenerator generator = new MansionGenerator(11).withRoomCount(300);
+    assertEquals(text(generator), text(new MansionGenerator(11).withRoomCount(300)));
+    assertTrue(!text(generator).equals(text(new MansionGenerator(12).withRoomCount(300))));
+  }
+
+  @Test
+  public void testTextParsesToSameMansion() throws IOException {
+    MansionGenerator generator = new MansionGenerator(5).withRoomCount(200)
+        .withItemDensity(1.5).withConnectivity(0.3);
+    MansionTemplate parsed = MansionTemplate.parse(text(generator));
+    MansionTemplate generated = generator.generate();
+    assertEquals(200, parsed.getRoomCount());
+    assertEquals(300, parsed.getItemCount());
+    assertEquals(generated.getRows(), parsed.getRows());
+    assertEquals(generated.getColumns(), parsed.getColumns());
+    for (int room = 0; room < 200; room++) {
+      assertArrayEquals(generated.getRoomLocation(room), parsed.getRoomLocation(room));
+      assertArrayEquals(generated.getNeighbors(room), parsed.getNeighbors(room));
+    }
+    for (int item = 0; item < 300; item++) {
+      assertEquals(generated.getItemRoom(item), parsed.getItemRoom(item));
+      assertEquals(generated.getItemDamage(item), parsed.getItemDamage(item));
+    }
+  }
+
+  @Test
+  public void testRoomsDoNotOverlapAndAreConnected() {
+    double[] connectivities = {0, 0.5, 1};
+    for (double connectivity : connectivities) {
+      for (long seed = 0; seed < 20; seed++) {
+        MansionTemplate template = new MansionGenerator(seed).withRoomCount(150)
+            .withRoomSize(1, 5, 2).withConnectivity(connectivity).generate();
+        assertNoOverlap(template);
+        assertEquals(150, reachable(template));
+      }
+    }
+  }
+
+  @Test
+  public void testNeighborsFollowConnectivity() {
+    MansionTemplate open = new MansionGenerator(3).withRoomCount(1000).generate();
+    MansionTemplate closed = new MansionGenerator(3).withRoomCount(1000)
+        .withConnectivity(0).generate();
+    int openEdges = 0;
+    int closedEdges = 0;
+    for (int room = 0; room < 1000; room++) {
+      openEdges += open.getNeighbors(room).length;
+      closedEdges += closed.getNeighbors(room).length;
+    }
+    assertTrue(closedEdges < openEdges);
+  }
+
+  @Test
+  public void testRoomSizesAndGrid() {
+    MansionTemplate template = new MansionGenerator(8).withRoomCount(500)
+        .withGrid(400, 60).withRoomSize(3, 4, 1).generate();
+    assertEquals(400, template.getRows());
+    assertEquals(60, template.getColumns());
+    for (int room = 0; room < 500; room++) {
+      int[] location = template.getRoomLocation(room);
+      int height = location[2] - location[0] + 1;
+      assertTrue(height >= 3 && height <= 4);
+      assertTrue(location[3] - location[1] + 1 >= 3);
+    }
+    assertNoOverlap(template);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGridTooSmall() {
+    new MansionGenerator(1).withRoomCount(500).withGrid(10, 10).generate();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBadConnectivity() {
+    new MansionGenerator(1).withConnectivity(1.5);
+  }
+
+  @Test
+  public void testLargeMansion() throws IOException {
+    MansionGenerator generator = new MansionGenerator(2).withRoomCount(100000)
+        .withConnectivity(0.7);
+    long start = System.nanoTime();
+    MansionTemplate template = MansionTemplate.parse(text(generator));
+    assertTrue((System.nanoTime() - start) / 1_000_000_000.0 < 10);
+    assertEquals(100000, template.getRoomCount());
+    assertEquals(50000, template.getItemCount());
+    assertNoOverlap(template);
+    assertEquals(100000, reachable(template));
+  }
+}
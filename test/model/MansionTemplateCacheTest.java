@@ -0,0 +1,94 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link MansionTemplateCache} class.
+ */
+public class MansionTemplateCacheTest {
+
+  @Test
+  public void testHitAndMiss() throws IOException {
+    MansionTemplateCache cache = new MansionTemplateCache(4);
+    MansionTemplate first = cache.get("res/map/mansion.txt");
+    MansionTemplate second = cache.get("res/map/../map/mansion.txt");
+    assertSame(first, second);
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedIsDropped() throws IOException {
+    MansionTemplateCache cache = new MansionTemplateCache(2);
+    MansionTemplate mansion = cache.get("res/map/mansion.txt");
+    cache.get("res/map/easyMansion.txt");
+    cache.get("res/map/mansion.txt");
+    cache.get("res/map/easyMansion2.txt");
+    assertEquals(2, cache.size());
+    assertSame(mansion, cache.get("res/map/mansion.txt"));
+    assertEquals(3, cache.getMissCount());
+
+    cache.get("res/map/easyMansion.txt");
+    assertEquals(4, cache.getMissCount());
+  }
+
+  @Test
+  public void testChangedFileIsLoadedAgain() throws IOException {
+    File copy = File.createTempFile("mansion", ".txt");
+    try {
+      Files.copy(Paths.get("res/map/mansion.txt"), copy.toPath(),
+          StandardCopyOption.REPLACE_EXISTING);
+      MansionTemplateCache cache = new MansionTemplateCache(4);
+      MansionTemplate before = cache.get(copy.getPath());
+      Files.setLastModifiedTime(copy.toPath(),
+          FileTime.fromMillis(copy.lastModified() + 60_000));
+      MansionTemplate after = cache.get(copy.getPath());
+      assertNotSame(before, after);
+      assertEquals(2, cache.getMissCount());
+      assertEquals(1, cache.size());
+    } finally {
+      copy.delete();
+    }
+  }
+
+  @Test
+  public void testConcurrentGetsLoadOnce() throws Exception {
+    MansionTemplateCache cache = new MansionTemplateCache(4);
+    ExecutorService pool = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<MansionTemplate>> results = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        results.add(pool.submit(() -> cache.get("res/map/mansion.txt")));
+      }
+      MansionTemplate template = results.get(0).get();
+      for (Future<MansionTemplate> result : results) {
+        assertSame(template, result.get());
+      }
+    } finally {
+      pool.shutdown();
+    }
+    assertEquals(1, cache.getMissCount());
+    assertEquals(31, cache.getHitCount());
+  }
+
+  @Test(expected = IOException.class)
+  public void testMissingFile() throws IOException {
+    new MansionTemplateCache(4).get("res/map/noSuchMansion.txt");
+  }
+}
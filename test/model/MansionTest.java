@@ -3,6 +3,7 @@ package model;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -180,4 +181,30 @@ public class MansionTest {
 
     assertEquals(Objects.hash("My Mansion", roomList, 30, 40), mansion.hashCode());
   }
-}
\ No newline at end of file
+
+  /**
+   * Test the {@link Mansion#getRoom(int)}, {@link Mansion#getRoomCount()} and
+   * {@link Mansion#getRooms()} methods read the rooms without copying them.
+   */
+  @Test
+  public void testGetRoomWithoutCopy() {
+    List<Room> roomList = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      roomList.add(new Room("Room " + i, new int[] {i, 0, i, 3}, i));
+    }
+    Mansion mansion = new Mansion(30, 40, "My Mansion", roomList);
+
+    assertEquals(5, mansion.getRoomCount());
+    assertTrue(mansion.getRoom(3) == roomList.get(3));
+    assertTrue(mansion.getRooms().get(4) == roomList.get(4));
+
+    roomList.add(new Room("Room 5", new int[] {5, 0, 5, 3}, 5));
+    assertEquals(6, mansion.getRooms().size());
+    try {
+      mansion.getRooms().remove(0);
+      fail("The room list should not be modifiable.");
+    } catch (UnsupportedOperationException e) {
+      assertEquals(6, mansion.getRoomCount());
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the text map parser, reached
+ * through {@link MansionTemplate#parse(String)}.
+ */
+public class MapParserTest {
+  private static final String MAP = "10 12 Tiny House\n"
+      + "20 Doctor Lucky\n"
+      + "Fortune the Cat\n"
+      + "2\n"
+      + "0 0 4 5     Left Wing\n"
+      + " 5 0 9 5    Right Wing\n"
+      + "1\n"
+      + "1 3 Old Boot\n";
+
+  private void assertError(String map, int line, int column) {
+    try {
+      MansionTemplate.parse(map);
+      fail("Map should be rejected: " + map);
+    } catch (MapFormatException e) {
+      assertEquals(e.getMessage(), line, e.getLine());
+      assertEquals(e.getMessage(), column, e.getColumn());
+    }
+  }
+
+  @Test
+  public void testParse() {
+    MansionTemplate template = MansionTemplate.parse(MAP);
+    assertEquals("Tiny House", template.getName());
+    assertEquals(10, template.getRows());
+    assertEquals(12, template.getColumns());
+    assertEquals("Doctor Lucky", template.getTargetName());
+    assertEquals(20, template.getTargetHealth());
+    assertEquals("Fortune the Cat", template.getPetName());
+    assertEquals(2, template.getRoomCount());
+    assertEquals("Right Wing", template.getRoomName(1));
+    assertArrayEquals(new int[] {5, 0, 9, 5}, template.getRoomLocation(1));
+    assertArrayEquals(new int[] {1}, template.getNeighbors(0));
+    assertEquals("Old Boot", template.getItemName(0));
+    assertEquals(3, template.getItemDamage(0));
+    assertEquals(1, template.getItemRoom(0));
+  }
+
+  @Test
+  public void testWindowsLineEndings() {
+    MansionTemplate template = MansionTemplate.parse(MAP.replace("\n", "\r\n"));
+    assertEquals("Tiny House", template.getName());
+    assertEquals("Old Boot", template.getItemName(0));
+  }
+
+  @Test
+  public void testShippedMaps() throws IOException {
+    for (File file : new File("res/map").listFiles()) {
+      if (file.getName().endsWith(".txt")) {
+        MansionTemplate template = MansionTemplate.load(file.getPath());
+        assertTrue(file.getName(), template.getRoomCount() > 0);
+      }
+    }
+
+    MansionTemplate myMansion = MansionTemplate.load("res/map/myMansion.txt");
+    assertEquals("Zack's Head", myMansion.getName());
+    assertEquals("Zombie Zack", myMansion.getTargetName());
+    assertEquals(MapParser.DEFAULT_PET_NAME, myMansion.getPetName());
+    assertEquals(25, myMansion.getRoomCount());
+    assertEquals("QUA Right", myMansion.getRoomName(12));
+  }
+
+  @Test
+  public void testMalformedMaps() {
+    assertError("10 x Tiny House\n", 1, 4);
+    assertError("10 12\n", 1, 6);
+    assertError(MAP.replace("20 Doctor", "0 Doctor"), 2, 1);
+    assertError(MAP.replace(" 5 0 9 5 ", " 5 0 9 x "), 6, 8);
+    assertError(MAP.replace(" 5 0 9 5 ", " 5 0 3 5 "), 6, 1);
+    assertError(MAP.replace("1\n1 3", "1 item\n1 3"), 7, 3);
+    assertError(MAP.replace("1 3 Old", "2 3 Old"), 8, 1);
+    assertError(MAP.replace("1 3 Old", "1 0 Old"), 8, 3);
+    assertError(MAP + "1 3 Extra Boot\n", 9, 1);
+    assertError(MAP.substring(0, MAP.indexOf(" Right Wing")), 6, 12);
+    assertError("10 12 Tiny House\n20 Doctor Lucky\n0\n1\n", 3, 1);
+  }
+}
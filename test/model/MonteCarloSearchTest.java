@@ -0,0 +1,96 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link MonteCarloSearch} class.
+ */
+public class MonteCarloSearchTest {
+
+  private static World game() {
+    World world = new World(5);
+    world.initializeWorld("res/map/mansion.txt");
+    world.setMaxTurn(200);
+    world.startGame();
+    return world;
+  }
+
+  @Test
+  public void testAttacksUnseenTarget() {
+    World world = game();
+    Player player = world.addPlayer("bot", 0, false);
+    world.addPlayer("other", 15, false);
+    MonteCarloSearch search = new MonteCarloSearch(10_000, 400, 2, 1);
+    try {
+      ComputerAction action = search.chooseAction(world, player);
+      assertEquals(ComputerAction.Type.ATTACK, action.getType());
+      assertEquals(400, search.getLastPlayouts());
+      assertTrue(search.getLastPlayoutsPerSecond() > 0);
+    } finally {
+      search.shutdown();
+    }
+  }
+
+  @Test
+  public void testSearchLeavesGameAlone() {
+    World world = game();
+    Player player = world.addPlayer("bot", 3, false);
+    world.addPlayer("other", 7, false);
+    String before = world.toString();
+    int turn = world.getTurn();
+    MonteCarloSearch search = new MonteCarloSearch(10_000, 200, 3, 2);
+    try {
+      ComputerAction action = search.chooseAction(world, player);
+      assertTrue(MonteCarloSearch.legalActions(world, player).contains(action));
+      assertEquals(before, world.toString());
+      assertEquals(turn, world.getTurn());
+      assertEquals(200, search.getTotalPlayouts());
+    } finally {
+      search.shutdown();
+    }
+  }
+
+  @Test
+  public void testSameSeedSameChoice() {
+    World world = game();
+    Player player = world.addPlayer("bot", 3, false);
+    world.addPlayer("other", 7, false);
+    MonteCarloSearch first = new MonteCarloSearch(10_000, 300, 2, 9);
+    MonteCarloSearch second = new MonteCarloSearch(10_000, 300, 2, 9);
+    try {
+      assertEquals(first.chooseAction(world, player), second.chooseAction(world, player));
+    } finally {
+      first.shutdown();
+      second.shutdown();
+    }
+  }
+
+  @Test
+  public void testPlaysWholeGame() {
+    World world = game();
+    MonteCarloSearch search = new MonteCarloSearch(10_000, 50, 2, 3);
+    world.addPlayer("bot", 3, new SearchStrategy(search));
+    world.addPlayer("other", 7, new SearchStrategy(search));
+    try {
+      for (int i = 0; i < 20 && world.getTargetRemainingHealth() > 0; i++) {
+        int turn = world.getTurn();
+        world.playComputerTurn(world.getCurrentTurnPlayer());
+        assertNotEquals(turn, world.getTurn());
+      }
+    } finally {
+      search.shutdown();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNotPlayersTurn() {
+    World world = game();
+    world.addPlayer("bot", 3, false);
+    Player other = world.addPlayer("other", 7, false);
+    new MonteCarloSearch(100).chooseAction(world, other);
+  }
+}
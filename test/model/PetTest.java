@@ -1,5 +1,6 @@
 package model;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import controller.Controller;
@@ -75,4 +76,47 @@ public class PetTest {
     expectedOutput = "Turn 5: Doctor Lucky[50] at room 5, Fortune the Cat at room 4\n";
     assertTrue(output.toString().contains(expectedOutput));
   }
+
+  /**
+   * Test the default move follows the routine in order and wraps around.
+   */
+  @Test
+  public void testDefaultMoveFollowsRoutine() {
+    Pet pet = new Pet("Fortune the Cat", 0, new int[] {0, 3, 1, 2});
+    pet.move();
+    assertEquals(3, pet.getCurrentRoom());
+    pet.move();
+    assertEquals(1, pet.getCurrentRoom());
+    pet.move();
+    pet.move();
+    assertEquals(0, pet.getCurrentRoom());
+  }
+
+  /**
+   * Test the forecast of pet's position matches stepping it.
+   */
+  @Test
+  public void testRoomAfter() {
+    int[] routine = {0, 4, 2, 5, 1, 3};
+    Pet pet = new Pet("Fortune the Cat", 2, routine);
+    Pet stepped = new Pet("Fortune the Cat", 2, routine);
+    for (int k = 0; k < 20; k++) {
+      assertEquals(stepped.getCurrentRoom(), pet.roomAfter(k));
+      stepped.move();
+    }
+    assertEquals(2, pet.getCurrentRoom());
+    assertEquals(pet.roomAfter(2), pet.roomAfter(2 + 6 * 1000000));
+  }
+
+  /**
+   * Test a pet moved off its routine stays where it is.
+   */
+  @Test
+  public void testMoveOffRoutine() {
+    Pet pet = new Pet("Fortune the Cat", 0, new int[] {0, 1});
+    pet.move(5);
+    pet.move();
+    assertEquals(5, pet.getCurrentRoom());
+    assertEquals(5, pet.roomAfter(3));
+  }
 }
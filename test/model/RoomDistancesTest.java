@@ -0,0 +1,66 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link RoomDistances} class,
+ * for both the full matrix and the cache of search trees.
+ */
+public class RoomDistancesTest {
+
+  // a path 0 - 1 - 2 - 3 with a shortcut 0 - 3, and an isolated room 4
+  private final int[][] adjacency = {{1, 3}, {0, 2}, {1, 3}, {0, 2}, {}};
+
+  @Test
+  public void testFullMatrix() {
+    RoomDistances distances = new RoomDistances(adjacency);
+    assertTrue(distances.isFullMatrix());
+    assertEquals(0, distances.getDistance(2, 2));
+    assertEquals(1, distances.getDistance(0, 3));
+    assertEquals(2, distances.getDistance(0, 2));
+    assertEquals(-1, distances.getDistance(0, 4));
+    assertEquals(2, distances.getNextHop(1, 2));
+    assertEquals(2, distances.getNextHop(2, 2));
+    assertEquals(-1, distances.getNextHop(4, 0));
+  }
+
+  @Test
+  public void testTreeCacheMatchesMatrix() {
+    World world = new World();
+    world.initializeWorld("res/map/mansion.txt");
+    int roomCnt = world.getRoomCnt();
+    int[][] mansion = new int[roomCnt][];
+    for (int i = 0; i < roomCnt; i++) {
+      mansion[i] = world.getMansion().getRoom(i).getNeightborList().stream()
+          .mapToInt(Room::getId).toArray();
+    }
+
+    RoomDistances full = new RoomDistances(mansion);
+    RoomDistances cached = new RoomDistances(mansion, 0, 3);
+    assertFalse(cached.isFullMatrix());
+    for (int from = 0; from < roomCnt; from++) {
+      for (int to = 0; to < roomCnt; to++) {
+        int distance = full.getDistance(from, to);
+        assertEquals(distance, cached.getDistance(from, to));
+        assertEquals(distance, full.getDistance(to, from));
+        assertEquals(full.getNextHop(from, to), cached.getNextHop(from, to));
+        if (from != to) {
+          int hop = full.getNextHop(from, to);
+          assertTrue(Arrays.stream(mansion[from]).anyMatch(n -> n == hop));
+          assertEquals(distance - 1, full.getDistance(hop, to));
+        }
+      }
+    }
+    assertEquals(world.getDistance(0, 20), full.getDistance(0, 20));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidRoom() {
+    new RoomDistances(adjacency).getDistance(0, 5);
+  }
+}
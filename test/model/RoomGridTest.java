@@ -0,0 +1,79 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link RoomGrid} class, which
+ * finds the room under a grid cell or a pixel of the drawn map.
+ */
+public class RoomGridTest {
+
+  private RoomGrid createGrid() {
+    List<Room> roomList = new ArrayList<>();
+    roomList.add(new Room("Armory", new int[] {0, 0, 1, 2}, 0));
+    roomList.add(new Room("Kitchen", new int[] {2, 0, 4, 4}, 1));
+    roomList.add(new Room("Library", new int[] {0, 3, 1, 4}, 2));
+    return new RoomGrid(5, 6, roomList);
+  }
+
+  @Test
+  public void testRoomAtCell() {
+    RoomGrid grid = createGrid();
+    assertEquals("Armory", grid.roomAt(0, 0).getName());
+    assertEquals("Armory", grid.roomAt(1, 2).getName());
+    assertEquals("Library", grid.roomAt(1, 3).getName());
+    assertEquals("Kitchen", grid.roomAt(4, 4).getName());
+    assertEquals(-1, grid.roomIdAt(0, 5));
+    assertNull(grid.roomAt(-1, 0));
+    assertNull(grid.roomAt(5, 0));
+  }
+
+  @Test
+  public void testRoomAtPixel() {
+    RoomGrid grid = createGrid();
+    assertNull(grid.roomAtPixel(10, 10, 25));
+    assertEquals("Armory", grid.roomAtPixel(30, 30, 25).getName());
+    assertEquals("Library", grid.roomAtPixel(4 * 25 + 1, 2 * 25 + 24, 25).getName());
+    assertEquals("Kitchen", grid.roomAtPixel(5 * 25 + 24, 5 * 25 + 24, 25).getName());
+    assertNull(grid.roomAtPixel(6 * 25 + 1, 30, 25));
+  }
+
+  @Test
+  public void testGridGrowsToFitRooms() {
+    List<Room> roomList = new ArrayList<>();
+    roomList.add(new Room("Attic", new int[] {3, 3, 7, 9}, 0));
+    RoomGrid grid = new RoomGrid(4, 4, roomList);
+    assertEquals(8, grid.getRows());
+    assertEquals(10, grid.getColumns());
+    assertEquals("Attic", grid.roomAt(7, 9).getName());
+  }
+
+  @Test
+  public void testSharedCells() {
+    RoomGrid ids = new RoomGrid(5, 6, new int[] {0, 0, 1, 2, 2, 0, 4, 4, 0, 3, 1, 4});
+    assertEquals(2, ids.roomIdAt(1, 3));
+    assertNull(ids.roomAt(1, 3));
+
+    List<Room> roomList = new ArrayList<>();
+    roomList.add(new Room("Armory", new int[] {0, 0, 1, 2}, 0));
+    roomList.add(new Room("Kitchen", new int[] {2, 0, 4, 4}, 1));
+    roomList.add(new Room("Library", new int[] {0, 3, 1, 4}, 2));
+    RoomGrid grid = ids.withRooms(roomList);
+    assertEquals("Library", grid.roomAt(1, 3).getName());
+    assertEquals("Kitchen", grid.roomAtPixel(5 * 25 + 24, 5 * 25 + 24, 25).getName());
+  }
+
+  @Test
+  public void testWorldLookup() {
+    World world = new World();
+    world.initializeWorld("res/map/mansion.txt");
+    assertEquals("Dining Hall", world.getRoomAtCell(12, 11).getName());
+    assertEquals("Dining Hall", world.getRoom(13 * 25 + 5, 22 * 25 + 5).getName());
+    assertNull(world.getRoomAtCell(0, 0));
+  }
+}
@@ -0,0 +1,107 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link RoomOccupancy} class.
+ */
+public class RoomOccupancyTest {
+
+  @Test
+  public void testCountAndNeighbors() {
+    // room 0 borders rooms 1 and 130, which lie in different 64-bit words
+    int[][] adjacency = new int[131][0];
+    adjacency[0] = new int[] {1, 130};
+    adjacency[1] = new int[] {0};
+    adjacency[130] = new int[] {0};
+    RoomOccupancy occupancy = new RoomOccupancy(adjacency);
+
+    assertFalse(occupancy.isAnyNeighborOccupied(0));
+    occupancy.add(130);
+    assertTrue(occupancy.isAnyNeighborOccupied(0));
+    assertFalse(occupancy.isAnyNeighborOccupied(1));
+
+    occupancy.add(0);
+    occupancy.add(0);
+    assertEquals(2, occupancy.getCount(0));
+    assertTrue(occupancy.isAnyNeighborOccupied(1));
+
+    occupancy.move(130, 64);
+    assertFalse(occupancy.isAnyNeighborOccupied(0));
+    occupancy.remove(0);
+    assertTrue(occupancy.isAnyNeighborOccupied(1));
+    occupancy.remove(0);
+    assertFalse(occupancy.isAnyNeighborOccupied(1));
+
+    occupancy.clear();
+    assertEquals(0, occupancy.getCount(64));
+  }
+
+  @Test
+  public void testManyPlayersAndCopy() {
+    int roomCnt = 5000;
+    int[][] adjacency = new int[roomCnt][];
+    for (int i = 0; i < roomCnt; i++) {
+      adjacency[i] = i + 1 < roomCnt ? new int[] {i + 1} : new int[0];
+    }
+    RoomOccupancy occupancy = new RoomOccupancy(adjacency);
+    int[] expected = new int[roomCnt];
+    int[] rooms = new int[300];
+    Random random = new Random(3);
+    for (int i = 0; i < rooms.length; i++) {
+      rooms[i] = random.nextInt(40);
+      occupancy.add(rooms[i]);
+      expected[rooms[i]]++;
+    }
+    RoomOccupancy copy = occupancy.copy();
+    for (int step = 0; step < 20000; step++) {
+      int player = random.nextInt(rooms.length);
+      int to = random.nextInt(step % 2 == 0 ? 40 : roomCnt);
+      occupancy.move(rooms[player], to);
+      expected[rooms[player]]--;
+      expected[to]++;
+      rooms[player] = to;
+    }
+    for (int room = 0; room < roomCnt; room++) {
+      assertEquals(expected[room], occupancy.getCount(room));
+      assertEquals(room + 1 < roomCnt && expected[room + 1] > 0,
+          occupancy.isAnyNeighborOccupied(room));
+    }
+
+    // the copy did not see any of the moves
+    int total = 0;
+    for (int room = 0; room < 40; room++) {
+      total += copy.getCount(room);
+    }
+    assertEquals(rooms.length, total);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRemoveFromEmptyRoom() {
+    new RoomOccupancy(new int[][] {{}}).remove(0);
+  }
+
+  @Test
+  public void testAttackCheck() {
+    World world = new World();
+    world.initializeWorld("res/map/mansion.txt");
+    int[][] adjacency = new int[world.getRoomCnt()][];
+    for (int i = 0; i < adjacency.length; i++) {
+      adjacency[i] = world.getMansion().getRoom(i).getNeightborList().stream()
+          .mapToInt(Room::getId).toArray();
+    }
+    int room = 0;
+    while (adjacency[room].length == 0 || world.getPetPosition() == room) {
+      room++;
+    }
+    Player attacker = world.addPlayer("a", room, true);
+    assertFalse(world.attackCheck(attacker));
+    world.addPlayer("b", adjacency[room][0], true);
+    assertTrue(world.attackCheck(attacker));
+  }
+}
@@ -232,4 +232,21 @@ public class RoomTest {
     assertEquals(Objects.hash(name, location, room.getItemList(),
         room.getNeightborList()), room.hashCode());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testGetPlayers() {
+    Room room = new Room("FOO", new int[] {1, 2, 3, 4}, 1);
+    Player player = new Player("bob", 1, true);
+    room.addPlayer(player);
+
+    assertEquals(1, room.getPlayers().size());
+    room.deletePlayer(player);
+    assertTrue(room.getPlayers().isEmpty());
+    try {
+      room.getPlayers().add(player);
+      fail("The view should be read only.");
+    } catch (UnsupportedOperationException e) {
+      assertTrue(room.getPlayers().isEmpty());
+    }
+  }
+}
@@ -125,4 +125,31 @@ public class TargetTest {
     assertEquals(Objects.hash(a.getName(), a.getCurrentRoom(),
         10, a.getHealth()), a.hashCode());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testRoomAfter() {
+    Target a = new Target(10, "Bob", 5);
+    Target b = new Target(10, "Bob", 5);
+    for (int k = 0; k < 12; k++) {
+      assertEquals(b.getCurrentRoom(), a.roomAfter(k));
+      b.move();
+    }
+    assertEquals(0, a.getCurrentRoom());
+  }
+
+  @Test
+  public void testMovesUntil() {
+    Target a = new Target(10, "Bob", 5);
+    a.move();
+    a.move();
+    assertEquals(0, a.movesUntil(2));
+    assertEquals(2, a.movesUntil(4));
+    assertEquals(3, a.movesUntil(0));
+    assertEquals(4, a.movesUntil(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMovesUntilInvalidRoom() {
+    new Target(10, "Bob", 5).movesUntil(5);
+  }
+}
@@ -24,11 +24,15 @@ public class WorldTest {
   @Test
   public void testParseString() throws IOException {
     World world = new World();
+    world.initializeWorld("res/map/mansion.txt");
     assertEquals(36, world.getMansion().getRow());
     assertEquals(30, world.getMansion().getColumn());
     assertEquals("Doctor Lucky's world.Mansion", world.getMansion().getName());
     assertEquals(21, world.getMansion().getRoomList().size());
-    assertEquals(2, world.getMansion().getRoomList().get(8).getItemList().size());
+    // the rooms of the map are shared, the items lying in them belong to the game
+    assertTrue(world.getMansion().getRoomList().get(8).getItemList().isEmpty());
+    assertEquals(2, world.getItemsInRoom(8).size());
+    assertEquals("Crepe Pan", world.getItemsInRoom(8).get(0).getName());
     assertEquals(8, world.getMansion().getRoomList().get(3).getNeightborList().size());
   }
 
@@ -47,4 +51,24 @@ public class WorldTest {
     assertEquals("Doctor Lucky", world.getTarget().getName());
     assertEquals(0, world.getTarget().getCurrentRoom());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testTargetForecast() {
+    World world = new World(3);
+    world.initializeWorld("res/map/mansion.txt");
+    world.setMaxTurn(100);
+    world.startGame();
+    world.addPlayer("bot", 4, false);
+
+    int[] forecast = new int[30];
+    for (int turn = 0; turn < 30; turn++) {
+      forecast[turn] = world.getTargetPositionAt(turn);
+    }
+    assertEquals(13, world.getTurnsUntilTargetEnters(13));
+
+    while (world.getTurn() < 30 && world.getTargetRemainingHealth() > 0) {
+      assertEquals(forecast[world.getTurn()], world.getTargetPosition());
+      world.playComputerTurn(world.getCurrentTurnPlayer());
+    }
+  }
+}
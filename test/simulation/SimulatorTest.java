@@ -0,0 +1,74 @@
+package simulation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link Simulator} class, which
+ * plays computer-only games without any input or output.
+ */
+public class SimulatorTest {
+
+  private SimulationConfig config(String path, int maxTurn, long seed) {
+    return new SimulationConfig(path, new String[] {"bot1", "bot2", "bot3"},
+        new int[] {0, 5, 10}, maxTurn, seed);
+  }
+
+  @Test
+  public void testSameSeedSameResult() {
+    SimulationResult a = Simulator.run(config("res/map/mansion.txt", 100, 42));
+    SimulationResult b = Simulator.run(config("res/map/mansion.txt", 100, 42));
+
+    assertEquals(a.getWinner(), b.getWinner());
+    assertEquals(a.getTurnsTaken(), b.getTurnsTaken());
+    assertArrayEquals(a.getTargetHealthHistory(), b.getTargetHealthHistory());
+  }
+
+  @Test
+  public void testEscapedTargetUsesAllTurns() {
+    SimulationResult result = Simulator.run(config("res/map/mansion.txt", 5, 1));
+
+    assertEquals(null, result.getWinner());
+    assertEquals(5, result.getTurnsTaken());
+    assertEquals(6, result.getTargetHealthHistory().length);
+    assertEquals(50, result.getTargetHealthHistory()[0]);
+  }
+
+  @Test
+  public void testKilledTargetEndsGame() {
+    SimulationResult result = Simulator.run(config("res/map/easyMansion.txt", 500, 7));
+    int[] history = result.getTargetHealthHistory();
+
+    assertTrue(result.isTargetKilled());
+    assertTrue(history[history.length - 1] <= 0);
+    assertEquals(result.getTurnsTaken() + 1, history.length);
+  }
+
+  @Test
+  public void testRunAllKeepsOrder() {
+    List<SimulationConfig> configs = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      configs.add(config("res/map/easyMansion2.txt", 300, i));
+    }
+    Simulator simulator = new Simulator(4);
+    List<SimulationResult> results = simulator.runAll(configs);
+    simulator.shutdown();
+
+    assertEquals(20, results.size());
+    for (int i = 0; i < 20; i++) {
+      SimulationResult expected = Simulator.run(configs.get(i));
+      assertEquals(expected.getWinner(), results.get(i).getWinner());
+      assertEquals(expected.getTurnsTaken(), results.get(i).getTurnsTaken());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptyRoster() {
+    new SimulationConfig("res/map/mansion.txt", new String[0], new int[0], 10, 1);
+  }
+}
@@ -0,0 +1,123 @@
+package simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import org.junit.Test;
+
+/**
+ * This class contains JUnit test cases for the {@link Tournament} and
+ * {@link TournamentResult} classes.
+ */
+public class TournamentTest {
+  private static final List<String> STRATEGIES = Arrays.asList("Random", "Greedy", "Intercept");
+  private static final List<String> MAPS =
+      Arrays.asList("res/map/easyMansion.txt", "res/map/easyMansion2.txt");
+
+  @Test
+  public void testWilsonInterval() {
+    double[] interval = TournamentResult.wilsonInterval(5, 10, TournamentResult.Z_95);
+    assertEquals(0.2366, interval[0], 1e-4);
+    assertEquals(0.7634, interval[1], 1e-4);
+
+    interval = TournamentResult.wilsonInterval(0, 20, TournamentResult.Z_95);
+    assertEquals(0, interval[0], 1e-9);
+    assertEquals(0.1611, interval[1], 1e-4);
+  }
+
+  @Test
+  public void testEveryPairingPlays() {
+    Tournament tournament = new Tournament(STRATEGIES, MAPS, 6, 300, 3);
+    assertEquals(2 * 3 * 6, tournament.getGames().size());
+
+    Simulator simulator = new Simulator(2);
+    TournamentResult result;
+    try {
+      result = tournament.run(simulator);
+    } finally {
+      simulator.shutdown();
+    }
+    int wins = 0;
+    for (String strategy : STRATEGIES) {
+      // two opponents on two maps
+      assertEquals(2 * 2 * 6, result.getGames(strategy));
+      double[] interval = result.getConfidenceInterval(strategy);
+      assertTrue(interval[0] <= result.getWinRate(strategy));
+      assertTrue(result.getWinRate(strategy) <= interval[1]);
+      wins += result.getWins(strategy);
+
+      int starts = 0;
+      for (String map : MAPS) {
+        for (int room = 0; room < 21; room++) {
+          starts += result.getStartRoomGames(map, strategy, room);
+          assertTrue(result.getStartRoomWins(map, strategy, room)
+              <= result.getStartRoomGames(map, strategy, room));
+        }
+      }
+      assertEquals(result.getGames(strategy), starts);
+    }
+    // the target can not escape within 300 turns on the easy maps
+    assertEquals(2 * 3 * 6, wins);
+    assertTrue(result.getAverageGameLength() > 0);
+    assertTrue(result.toString().startsWith("strategy,games,wins,win_rate,ci_low,ci_high\n"));
+  }
+
+  @Test
+  public void testSameSeedSameResult() {
+    Simulator simulator = new Simulator(2);
+    try {
+      String first = new Tournament(STRATEGIES, MAPS, 4, 300, 9).run(simulator).toString();
+      String second = new Tournament(STRATEGIES, MAPS, 4, 300, 9).run(simulator).toString();
+      assertEquals(first, second);
+    } finally {
+      simulator.shutdown();
+    }
+  }
+
+  @Test
+  public void testPrintIgnoresDefaultLocale() {
+    Locale locale = Locale.getDefault();
+    Simulator simulator = new Simulator(2);
+    try {
+      Locale.setDefault(Locale.GERMANY);
+      String printed = new Tournament(STRATEGIES, MAPS, 2, 300, 5).run(simulator).toString();
+      for (String table : printed.split("\n\n")) {
+        String[] lines = table.split("\n");
+        int columns = lines[0].split(",").length;
+        for (String line : lines) {
+          assertEquals(line, columns, line.split(",").length);
+        }
+      }
+      assertTrue(printed.contains(".0000"));
+    } finally {
+      Locale.setDefault(locale);
+      simulator.shutdown();
+    }
+  }
+
+  @Test
+  public void testFindMapsInFolder() {
+    List<String> maps = Tournament.findMaps("res/map");
+    assertTrue(maps.size() >= 4);
+    assertTrue(maps.contains(MAPS.get(0).replace('/', File.separatorChar)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSingleStrategy() {
+    new Tournament(Arrays.asList("Random"), MAPS, 4, 100, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownStrategy() {
+    new Tournament(Arrays.asList("Random", "Clairvoyant"), MAPS, 4, 100, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMissingMap() {
+    new Tournament(STRATEGIES, Arrays.asList("res/map/noSuchMansion.txt"), 4, 100, 1);
+  }
+}